@@ -0,0 +1,202 @@
+package com.AdvancedMath.EqTree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.AdvancedMath.Functionalities.Operators;
+import com.AdvancedMath.Numbers.Number;
+
+/**
+ * Class that prints a tree in a single pass to an {@code Appendable}, e.g. a {@code StringBuilder} or a {@code Writer}, without building
+ * the string of each subtree. The tree is walked without recursion, and the subclasses decide what is written for each node
+ *
+ * <p>Printers do not hold any state, so one instance can be shared between threads
+ *
+ * @see InfixPrinter
+ * @see LatexPrinter
+ * @see MathMLPrinter
+ */
+public abstract class ExpressionPrinter
+{
+	/**
+	 * Prints the given tree
+	 *
+	 * @param root The root {@code Node} of the tree
+	 * @param out Where the tree is written
+	 * @throws UncheckedIOException if {@code out} throws an {@code IOException}
+	 */
+	public void print (Node root, Appendable out)
+	{
+		try
+		{
+			begin (out);
+			root.walk
+			(
+				new Node.Walker()
+				{
+					@Override
+					public void enter (Node node)
+					{
+						try
+						{
+							if (node instanceof OperatorNode o)
+								ExpressionPrinter.this.enter (o, out);
+							else
+								leaf (node, out);
+						}
+						catch (IOException e)
+						{
+							throw new UncheckedIOException (e);
+						}
+					}
+
+					@Override
+					public void between (Node node)
+					{
+						try
+						{
+							if (node instanceof OperatorNode o)
+								ExpressionPrinter.this.between (o, out);
+						}
+						catch (IOException e)
+						{
+							throw new UncheckedIOException (e);
+						}
+					}
+
+					@Override
+					public void exit (Node node)
+					{
+						try
+						{
+							if (node instanceof OperatorNode o)
+								ExpressionPrinter.this.exit (o, out);
+						}
+						catch (IOException e)
+						{
+							throw new UncheckedIOException (e);
+						}
+					}
+				}
+			);
+			end (out);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException (e);
+		}
+	}
+
+	/**
+	 * Prints the given tree into a {@code String}
+	 *
+	 * @param root The root {@code Node} of the tree
+	 * @return The printed tree
+	 */
+	public String print (Node root)
+	{
+		StringBuilder sb = new StringBuilder();
+		print (root, sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Writes what comes before the tree. Writes nothing by default
+	 */
+	protected void begin (Appendable out) throws IOException {}
+
+	/**
+	 * Writes what comes after the tree. Writes nothing by default
+	 */
+	protected void end (Appendable out) throws IOException {}
+
+	/**
+	 * Writes a node that is not an {@code OperatorNode}, i.e., a {@code NumberNode} or a {@code VariableNode}
+	 */
+	protected abstract void leaf (Node node, Appendable out) throws IOException;
+
+	/**
+	 * Writes what comes before the left operand of {@code node}
+	 */
+	protected abstract void enter (OperatorNode node, Appendable out) throws IOException;
+
+	/**
+	 * Writes what comes between the operands of {@code node}
+	 */
+	protected abstract void between (OperatorNode node, Appendable out) throws IOException;
+
+	/**
+	 * Writes what comes after the right operand of {@code node}
+	 */
+	protected abstract void exit (OperatorNode node, Appendable out) throws IOException;
+
+	/**
+	 * Gets how tightly a node binds when printed, used to decide where parentheses are needed. Numbers that are written with a sign
+	 * or two parts (e.g. 1 + 2*i) and negations bind like a sum, while variables and other numbers never need parentheses
+	 *
+	 * @param node The node to get the priority of
+	 * @return The priority of the operator of {@code node}, or {@code Integer.MAX_VALUE} if it never needs parentheses
+	 */
+	protected static int priority (Node node)
+	{
+		if (node instanceof OperatorNode o)
+			return o.getLeft() == null && o.getOperator() == Operators.SUB ? Operators.SUB.pri() : o.getOperator().pri();
+
+		if (node instanceof NumberNode n)
+		{
+			Number value = n.getValue();
+			if (value.getX().getDoubleValue() != 0 && value.getY().getDoubleValue() != 0 || value.getX().getDoubleValue() < 0 || value.getY().getDoubleValue() < 0)
+				return Operators.ADD.pri();
+		}
+
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Checks if an operand of {@code node} needs parentheses in a notation where fractions, powers and functions already delimit
+	 * their operands, e.g. LaTeX or MathML
+	 *
+	 * @param node The operation
+	 * @param right {@code true} to check the right operand, {@code false} to check the left one
+	 * @return {@code true} if the operand must be wrapped in parentheses to keep the meaning of the tree
+	 */
+	protected static boolean needsParentheses (OperatorNode node, boolean right)
+	{
+		Node operand = right ? node.getRight() : node.getLeft();
+		if (operand == null)
+			return false;
+
+		int pri = priority (operand);
+		boolean signed = pri == Operators.ADD.pri() && !(operand instanceof OperatorNode o && o.getLeft() != null);
+
+		switch (node.getOperator())
+		{
+			case ADD: return right ? pri < Operators.ADD.pri() || signed : pri < Operators.ADD.pri();
+			case SUB: return right ? pri <= Operators.SUB.pri() : pri < Operators.SUB.pri();
+			case MUL: return pri < Operators.MUL.pri();
+			case POW: return !right && (pri <= Operators.POW.pri() || operand instanceof OperatorNode o && o.getOperator() == Operators.EXP);
+			case FAC: return pri < 5;
+			default: return false;
+		}
+	}
+
+	/**
+	 * Gets the usual name of a function, e.g. arcsin for {@code Operators.ASIN}
+	 *
+	 * @param function An operator of priority 5
+	 * @return The name of the function
+	 */
+	protected static String functionName (Operators function)
+	{
+		switch (function)
+		{
+			case ASIN: return "arcsin";
+			case ACOS: return "arccos";
+			case ATAN: return "arctan";
+			case ASH: return "arsinh";
+			case ACH: return "arcosh";
+			case ATH: return "artanh";
+			default: return function.toString();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.AdvancedMath.EqTree;
+
+import java.io.IOException;
+
+import com.AdvancedMath.Functionalities.Operators;
+
+/**
+ * Prints a tree in the notation read by {@link Node#parse(String)}, as returned by {@code toString}
+ *
+ * <p>e.g. (x+1)*sin(x)
+ */
+public class InfixPrinter extends ExpressionPrinter
+{
+	@Override
+	protected void leaf (Node node, Appendable out) throws IOException
+	{
+		out.append (node.toString());
+	}
+
+	@Override
+	protected void enter (OperatorNode node, Appendable out) throws IOException
+	{
+		if (parenthesiseLeft (node))
+			out.append ('(');
+	}
+
+	@Override
+	protected void between (OperatorNode node, Appendable out) throws IOException
+	{
+		if (parenthesiseLeft (node))
+			out.append (')');
+
+		out.append (node.getOperator().toString());
+
+		if (parenthesiseRight (node))
+			out.append ('(');
+	}
+
+	@Override
+	protected void exit (OperatorNode node, Appendable out) throws IOException
+	{
+		if (parenthesiseRight (node))
+			out.append (')');
+	}
+
+	private static boolean parenthesiseLeft (OperatorNode node)
+	{
+		return node.getOperator() == Operators.MUL && (node.getLeft() instanceof OperatorNode l && (l.getOperator() == Operators.ADD || l.getOperator() == Operators.SUB));
+	}
+
+	private static boolean parenthesiseRight (OperatorNode node)
+	{
+		return node.getOperator() == Operators.MUL && (node.getRight() instanceof OperatorNode r && (r.getOperator() == Operators.ADD || r.getOperator() == Operators.SUB))
+			|| node.getOperator().pri() == 5;
+	}
+}
@@ -0,0 +1,74 @@
+package com.AdvancedMath.EqTree;
+
+import java.io.IOException;
+
+import com.AdvancedMath.Functionalities.Operators;
+
+/**
+ * Prints a tree as a LaTeX formula, without the surrounding math delimiters
+ *
+ * <p>e.g. (x+1)/x^2 is printed as \frac{x+1}{{x}^{2}}
+ */
+public class LatexPrinter extends ExpressionPrinter
+{
+	@Override
+	protected void leaf (Node node, Appendable out) throws IOException
+	{
+		if (node instanceof NumberNode n)
+			out.append (n.getValue().toString().replace ("*i", "i").replace ("π", "\\pi ").replace ("phi", "\\varphi "));
+		else
+			out.append (node.toString());
+	}
+
+	@Override
+	protected void enter (OperatorNode node, Appendable out) throws IOException
+	{
+		if (node.getOperator() == Operators.DIV)
+			out.append ("\\frac{");
+		else if (node.getOperator() == Operators.POW)
+			out.append ('{');
+
+		if (needsParentheses (node, false))
+			out.append ("\\left(");
+	}
+
+	@Override
+	protected void between (OperatorNode node, Appendable out) throws IOException
+	{
+		if (needsParentheses (node, false))
+			out.append ("\\right)");
+
+		switch (node.getOperator())
+		{
+			case DIV: out.append ("}{"); break;
+			case POW: out.append ("}^{"); break;
+			case MUL: out.append (" \\cdot "); break;
+			case EXP: out.append ("e^{"); break;
+			case ABS: out.append ("\\left|"); break;
+			case ADD: case SUB: case EQU: case FAC: out.append (node.getOperator().toString()); break;
+			case LN: case SIN: case COS: case TAN: case ASIN: case ACOS: case ATAN: case SINH: case COSH: case TANH:
+				out.append ('\\').append (functionName (node.getOperator())).append ("\\left(");
+				break;
+			default:
+				out.append ("\\operatorname{").append (functionName (node.getOperator())).append ("}\\left(");
+		}
+
+		if (needsParentheses (node, true))
+			out.append ("\\left(");
+	}
+
+	@Override
+	protected void exit (OperatorNode node, Appendable out) throws IOException
+	{
+		if (needsParentheses (node, true))
+			out.append ("\\right)");
+
+		switch (node.getOperator())
+		{
+			case DIV: case POW: case EXP: out.append ('}'); break;
+			case ABS: out.append ("\\right|"); break;
+			case ADD: case SUB: case MUL: case EQU: case FAC: break;
+			default: out.append ("\\right)");
+		}
+	}
+}
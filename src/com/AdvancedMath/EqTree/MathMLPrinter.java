@@ -0,0 +1,107 @@
+package com.AdvancedMath.EqTree;
+
+import java.io.IOException;
+
+import com.AdvancedMath.Functionalities.Operators;
+
+/**
+ * Prints a tree as a Presentation MathML {@code <math>} element
+ *
+ * <p>e.g. x^2 is printed as an {@code <msup>} element holding x and 2
+ */
+public class MathMLPrinter extends ExpressionPrinter
+{
+	@Override
+	protected void begin (Appendable out) throws IOException
+	{
+		out.append ("<math xmlns=\"http://www.w3.org/1998/Math/MathML\">");
+	}
+
+	@Override
+	protected void end (Appendable out) throws IOException
+	{
+		out.append ("</math>");
+	}
+
+	@Override
+	protected void leaf (Node node, Appendable out) throws IOException
+	{
+		if (node instanceof NumberNode n)
+			appendElement (out, "mn", n.getValue().toString().replace ("*i", "i"));
+		else
+			appendElement (out, "mi", node.toString());
+	}
+
+	@Override
+	protected void enter (OperatorNode node, Appendable out) throws IOException
+	{
+		if (node.getOperator() == Operators.DIV)
+			out.append ("<mfrac><mrow>");
+		else if (node.getOperator() == Operators.POW)
+			out.append ("<msup><mrow>");
+		else
+			out.append ("<mrow>");
+
+		if (needsParentheses (node, false))
+			out.append ("<mo>(</mo>");
+	}
+
+	@Override
+	protected void between (OperatorNode node, Appendable out) throws IOException
+	{
+		if (needsParentheses (node, false))
+			out.append ("<mo>)</mo>");
+
+		switch (node.getOperator())
+		{
+			case DIV: case POW: out.append ("</mrow><mrow>"); break;
+			case MUL: out.append ("<mo>&#xB7;</mo>"); break;
+			case SUB: out.append ("<mo>&#x2212;</mo>"); break;
+			case ADD: case EQU: case FAC: appendElement (out, "mo", node.getOperator().toString()); break;
+			case EXP: out.append ("<msup><mi>e</mi><mrow>"); break;
+			case ABS: out.append ("<mo>|</mo>"); break;
+			default:
+				appendElement (out, "mi", functionName (node.getOperator()));
+				out.append ("<mo>&#x2061;</mo><mrow><mo>(</mo>");
+		}
+
+		if (needsParentheses (node, true))
+			out.append ("<mo>(</mo>");
+	}
+
+	@Override
+	protected void exit (OperatorNode node, Appendable out) throws IOException
+	{
+		if (needsParentheses (node, true))
+			out.append ("<mo>)</mo>");
+
+		switch (node.getOperator())
+		{
+			case DIV: out.append ("</mrow></mfrac>"); break;
+			case POW: out.append ("</mrow></msup>"); break;
+			case EXP: out.append ("</mrow></msup></mrow>"); break;
+			case ABS: out.append ("<mo>|</mo></mrow>"); break;
+			case ADD: case SUB: case MUL: case EQU: case FAC: out.append ("</mrow>"); break;
+			default: out.append ("<mo>)</mo></mrow></mrow>");
+		}
+	}
+
+	private static void appendElement (Appendable out, String tag, String text) throws IOException
+	{
+		out.append ('<').append (tag).append ('>');
+
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt (i);
+			switch (c)
+			{
+				case '<': out.append ("&lt;"); break;
+				case '>': out.append ("&gt;"); break;
+				case '&': out.append ("&amp;"); break;
+				default: out.append (c);
+			}
+		}
+
+		out.append ("</").append (tag).append ('>');
+	}
+}
@@ -10,10 +10,19 @@ import com.AdvancedMath.Numbers.Number;
 
 /**
  * Class that represents a node in a binary tree
+ * 
+ * <p>A tree can be frozen with {@link #freeze()}, after which none of its nodes can be modified. A frozen tree can be read by any
+ * number of threads at the same time, e.g. evaluated with {@code Number.valueOf} or simplified with {@code OperatorNode.simplify},
+ * which never modify the trees they are given. A frozen tree is edited by copying the path to the edited node, with
+ * {@link #withLeft(Node)}, {@link #withRight(Node)} and {@link #replace(Node, Node)}, so the unchanged subtrees are shared
  */
 public abstract class Node
 {
+	private static final ExpressionPrinter INFIX = new InfixPrinter(), LATEX = new LatexPrinter(), MATHML = new MathMLPrinter();
+
 	private Node right, left;
+	// a frozen node is never modified again
+	private boolean frozen;
 
 	public Node () {}
 
@@ -28,8 +37,13 @@ public abstract class Node
 		return left;
 	}
 
+	/**
+	 * @throws UnsupportedOperationException if this node is frozen
+	 * @see #withLeft(Node)
+	 */
 	public void setLeft (Node left)
 	{
+		checkNotFrozen();
 		this.left = left;
 	}
 
@@ -38,11 +52,268 @@ public abstract class Node
 		return right;
 	}
 
+	/**
+	 * @throws UnsupportedOperationException if this node is frozen
+	 * @see #withRight(Node)
+	 */
 	public void setRight (Node right)
 	{
+		checkNotFrozen();
 		this.right = right;
 	}
 
+	/**
+	 * Freezes every node of this tree, so that none of them can be modified anymore. The tree must then be published to the other
+	 * threads safely, e.g. through a {@code final} field, as {@code Function} does
+	 * 
+	 * @return This node
+	 */
+	public Node freeze ()
+	{
+		walk
+		(
+			new Walker()
+			{
+				@Override
+				public void enter (Node node)
+				{
+					node.frozen = true;
+				}
+			}
+		);
+
+		return this;
+	}
+
+	/**
+	 * Gets a frozen copy of this tree, leaving this tree as it is. A frozen tree is returned as it is, as it cannot be modified anymore
+	 * 
+	 * @return A frozen tree equal to this one
+	 * @see #freeze()
+	 */
+	public Node frozenCopy ()
+	{
+		if (frozen)
+			return this;
+
+		return this.<Node>accept ((node, left, right) -> node.copy (left, right)).freeze();
+	}
+
+	public boolean isFrozen ()
+	{
+		return frozen;
+	}
+
+	/**
+	 * @throws UnsupportedOperationException if this node is frozen
+	 */
+	protected void checkNotFrozen ()
+	{
+		if (frozen)
+			throw new UnsupportedOperationException ("A frozen tree cannot be modified, use withLeft, withRight or replace");
+	}
+
+	/**
+	 * Creates a node that holds the same operator, number or variable as this node, with the given children
+	 * 
+	 * @param left The left child of the new node
+	 * @param right The right child of the new node
+	 * @return A new, not frozen, {@code Node}
+	 */
+	protected abstract Node copy (Node left, Node right);
+
+	/**
+	 * Gets a node equal to this node with {@code left} as its left child, without modifying this node
+	 * 
+	 * @param left The new left child
+	 * @return This node if {@code left} is already its left child, a copy otherwise
+	 */
+	public Node withLeft (Node left)
+	{
+		return left == this.left ? this : copy (left, right);
+	}
+
+	/**
+	 * Gets a node equal to this node with {@code right} as its right child, without modifying this node
+	 * 
+	 * @param right The new right child
+	 * @return This node if {@code right} is already its right child, a copy otherwise
+	 */
+	public Node withRight (Node right)
+	{
+		return right == this.right ? this : copy (left, right);
+	}
+
+	/**
+	 * Gets the tree in which the subtree {@code target} is replaced by {@code replacement}, without modifying this tree. Only the
+	 * ancestors of {@code target} are copied, the other subtrees are shared with this tree
+	 * 
+	 * @param target The root of the subtree to replace, compared by identity
+	 * @param replacement The subtree put in its place
+	 * @return The edited tree, or this tree if it does not contain {@code target}
+	 */
+	public Node replace (Node target, Node replacement)
+	{
+		return this.<Node>accept
+		(
+			(node, left, right) ->
+			{
+				if (node == target)
+					return replacement;
+
+				return left == node.left && right == node.right ? node : node.copy (left, right);
+			}
+		);
+	}
+
+	/**
+	 * Receives the nodes of a tree while it is walked from left to right. All the methods do nothing by default
+	 * 
+	 * @see Node#walk(Walker)
+	 */
+	public interface Walker
+	{
+		/**
+		 * Called when {@code node} is reached, before its left subtree is walked
+		 */
+		public default void enter (Node node) {}
+
+		/**
+		 * Called after the left subtree of {@code node} is walked, before its right subtree
+		 */
+		public default void between (Node node) {}
+
+		/**
+		 * Called after both subtrees of {@code node} are walked
+		 */
+		public default void exit (Node node) {}
+	}
+
+	/**
+	 * Computes a result for each node of a tree from the results of its children
+	 * 
+	 * @param <T> The type of the result
+	 * @see Node#accept(Visitor)
+	 */
+	public interface Visitor<T>
+	{
+		/**
+		 * @param node The current node
+		 * @param left The result of the left child, {@code null} if there is no left child
+		 * @param right The result of the right child, {@code null} if there is no right child
+		 * @return The result of {@code node}
+		 */
+		public T visit (Node node, T left, T right);
+	}
+
+	/**
+	 * Walks the tree from left to right without recursion, so trees of any depth can be walked with the default thread stack
+	 * 
+	 * @param walker The {@code Walker} notified of every node
+	 */
+	public void walk (Walker walker)
+	{
+		Node[] nodes = new Node [16];
+		byte[] states = new byte [16]; // 0: not entered, 1: left walked, 2: right walked
+		int top = 0;
+		nodes[0] = this;
+
+		while (top >= 0)
+		{
+			Node cur = nodes[top];
+			Node next = null;
+
+			switch (states[top])
+			{
+				case 0:
+					walker.enter (cur);
+					states[top] = 1;
+					next = cur.left;
+					break;
+				case 1:
+					walker.between (cur);
+					states[top] = 2;
+					next = cur.right;
+					break;
+				default:
+					walker.exit (cur);
+					nodes[top--] = null;
+			}
+
+			if (next != null)
+			{
+				if (++top == nodes.length)
+				{
+					nodes = Arrays.copyOf (nodes, top * 2);
+					states = Arrays.copyOf (states, top * 2);
+				}
+				nodes[top] = next;
+				states[top] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Computes a result for the tree by visiting every node after its children, without recursion
+	 * 
+	 * @param <T> The type of the result
+	 * @param visitor The {@code Visitor} computing the result of every node
+	 * @return The result of this node
+	 */
+	public <T> T accept (Visitor<T> visitor)
+	{
+		ArrayList<T> results = new ArrayList<>();
+		walk
+		(
+			new Walker()
+			{
+				@Override
+				public void exit (Node node)
+				{
+					T right = node.right != null ? results.remove (results.size() - 1) : null;
+					T left = node.left != null ? results.remove (results.size() - 1) : null;
+					results.add (visitor.visit (node, left, right));
+				}
+			}
+		);
+
+		return results.get (0);
+	}
+
+	/**
+	 * Prints this tree in the notation of {@code toString}, in time linear in the size of the tree
+	 * 
+	 * @param out Where the tree is written, e.g. a {@code StringBuilder} or a {@code Writer}
+	 * @throws java.io.UncheckedIOException if {@code out} throws an {@code IOException}
+	 * @see InfixPrinter
+	 */
+	public void print (Appendable out)
+	{
+		INFIX.print (this, out);
+	}
+
+	/**
+	 * Gets the LaTeX formula of this tree
+	 * 
+	 * @return The LaTeX code, without the surrounding math delimiters
+	 * @see LatexPrinter
+	 */
+	public String toLatex ()
+	{
+		return LATEX.print (this);
+	}
+
+	/**
+	 * Gets the MathML representation of this tree
+	 * 
+	 * @return A MathML {@code <math>} element
+	 * @see MathMLPrinter
+	 */
+	public String toMathML ()
+	{
+		return MATHML.print (this);
+	}
+
 	/**
 	 * Counts the number of nodes in a tree including root and all parent nodes
 	 * 
@@ -50,18 +321,23 @@ public abstract class Node
 	 */
 	public int countNodes ()
 	{
-		if (this.left == null && this.right == null)
-			return 1;
-
 		int count = 0;
+		Stack<Node> stack = new Stack<>();
+		stack.push (this);
 
-		if (this.left != null)
-			count += this.left.countNodes();
+		while (!stack.empty())
+		{
+			Node cur = stack.pop();
+			count++;
+
+			if (cur.left != null)
+				stack.push (cur.left);
 
-		if (this.right != null)
-			count += this.right.countNodes();
+			if (cur.right != null)
+				stack.push (cur.right);
+		}
 
-		return 1 + count;
+		return count;
 	}
 
 	/**
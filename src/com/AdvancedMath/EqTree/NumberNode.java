@@ -15,7 +15,7 @@ public class NumberNode extends Node
 	 * @param real The real part of the number
 	 * @param imaginary The imaginary part of the number
 	 */
-	public NumberNode (Double real, Double imaginary)
+	public NumberNode (double real, double imaginary)
 	{
 		super();
 
@@ -34,6 +34,19 @@ public class NumberNode extends Node
 		this.number = n;
 	}
 
+	private NumberNode (Number n, Node left, Node right)
+	{
+		super (left, right);
+
+		this.number = n;
+	}
+
+	@Override
+	protected Node copy (Node left, Node right)
+	{
+		return new NumberNode (number, left, right);
+	}
+
 	/**
 	 * Get the {@code Number} held in this node
 	 * 
@@ -48,9 +61,11 @@ public class NumberNode extends Node
 	 * Changes the {@code Number} held in this node
 	 * 
 	 * @param value The new number
+	 * @throws UnsupportedOperationException if this node is frozen
 	 */
 	public void setValue (Number value) 
 	{
+		checkNotFrozen();
 		this.number = value;
 	}
 
@@ -3,12 +3,14 @@ package com.AdvancedMath.EqTree;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.AdvancedMath.Functionalities.Operators;
-import com.AdvancedMath.Numbers.FloatValue;
-import com.AdvancedMath.Numbers.FractionValue;
+import com.AdvancedMath.Numbers.ArithmeticContext;
 import com.AdvancedMath.Numbers.Number;
 
 /**
@@ -19,6 +21,20 @@ public class OperatorNode extends Node
 	private Operators operator;
 	// used for the case of division (simplify)
 	private static final HashMap<String, HashSet<String>> NUM_EQUIVALENCY_TABLE = new HashMap<>(), DEN_EQUIVALENCY_TABLE = new HashMap<>();
+	// listener of the simplification running on the current thread
+	private static final ThreadLocal<SimplificationListener> LISTENER = new ThreadLocal<>();
+	// subtrees already simplified (without variables) by the parallel simplification running on the current thread
+	private static final ThreadLocal<IdentityHashMap<Node, Node>> SIMPLIFIED = new ThreadLocal<>();
+	// number of nodes of the subtrees counted by the simplification running on the current thread. The trees are never modified while they
+	// are simplified, and the candidates share most of their subtrees, so each subtree is only counted once
+	private static final ThreadLocal<IdentityHashMap<Node, Integer>> SIZES = new ThreadLocal<>();
+
+	/**
+	 * Default number of nodes under which a subtree is not worth simplifying in its own task
+	 * 
+	 * @see OperatorNode#simplifyParallel(Node, HashMap, int)
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
 
 	static
 	{
@@ -51,11 +67,21 @@ public class OperatorNode extends Node
 		return this.operator;
 	}
 
+	/**
+	 * @throws UnsupportedOperationException if this node is frozen
+	 */
 	public void setOperator (Operators operator) 
 	{
+		checkNotFrozen();
 		this.operator = operator;
 	}
 
+	@Override
+	protected Node copy (Node left, Node right)
+	{
+		return new OperatorNode (operator, left, right);
+	}
+
 	private static void createMapping (String[] values, boolean isNum)
 	{
 		for (int i = 0; i < values.length; i++)
@@ -79,6 +105,9 @@ public class OperatorNode extends Node
 	 * 
 	 * <p>e.g. provided (10*x)/(2*x), 5 is returned
 	 * 
+	 * <p>The given tree is never modified and the result can share its subtrees, so a frozen tree can be simplified while other
+	 * threads read it
+	 * 
 	 * @param root The root {@code Node} of the given tree
 	 * @return The simplified tree, either a {@code NumberNode} or an {@code OperatorNode}
 	 */
@@ -92,11 +121,308 @@ public class OperatorNode extends Node
 	 * 
 	 * <p>e.g. provided (10*x)/(2*x), 5 is returned
 	 * 
+	 * <p>As {@link #simplify(Node)}, the given tree is not modified
+	 * 
 	 * @param root The root {@code Node} of the given tree
 	 * @param variables The mapping between all the potential variables in the tree to a value
 	 * @return The simplified tree, either a {@code NumberNode} or an {@code OperatorNode}
 	 */
 	public static Node simplify (Node root, HashMap<String, Number> variables)
+	{
+		IdentityHashMap<Node, Node> simplified = SIMPLIFIED.get();
+		if (simplified == null)
+			return simplifyTree (root, variables, new IdentityHashMap<>());
+
+		if (variables != null)
+			return simplifyInstrumented (root, variables);
+
+		if (simplified.containsKey (root))
+			return simplified.get (root);
+
+		Node res = simplifyInstrumented (root, null);
+		simplified.put (root, res);
+		return res;
+	}
+
+	// simplifies the subtrees of root first, deepest first, then root itself. The nested calls of simplify then find their operands already
+	// simplified, so the depth of the recursion does not depend on the depth of the tree
+	private static Node simplifyTree (Node root, HashMap<String, Number> variables, IdentityHashMap<Node, Node> simplified)
+	{
+		IdentityHashMap<Node, Node> previous = SIMPLIFIED.get();
+		IdentityHashMap<Node, Integer> previousSizes = SIZES.get();
+		SIMPLIFIED.set (simplified);
+		SIZES.set (new IdentityHashMap<>());
+		try
+		{
+			if (root instanceof OperatorNode o && !isNumber (root, variables))
+			{
+				ArrayList<Node> subtrees = new ArrayList<>();
+				collectSubtrees (o, null, 0, simplified, subtrees);
+				for (int i = subtrees.size() - 1; i >= 0; i--)
+					simplify (subtrees.get (i), null);
+			}
+
+			return simplify (root, variables);
+		}
+		finally
+		{
+			if (previous == null)
+				SIMPLIFIED.remove();
+			else
+				SIMPLIFIED.set (previous);
+
+			if (previousSizes == null)
+				SIZES.remove();
+			else
+				SIZES.set (previousSizes);
+		}
+	}
+
+	private static boolean isNumber (Node root, HashMap<String, Number> variables)
+	{
+		try
+		{
+			return Number.valueOf (root, variables) != null;
+		}
+		catch (Exception e)
+		{
+			return false;
+		}
+	}
+
+	private static Node simplifyInstrumented (Node root, HashMap<String, Number> variables)
+	{
+		SimplificationListener listener = LISTENER.get();
+		SimplificationEvent event = new SimplificationEvent();
+		if (listener == null && !event.isEnabled())
+			return simplifyNode (root, variables);
+
+		SimplificationListener.Branch branch = branchOf (root);
+		int nodesBefore = root == null ? 0 : size (root);
+
+		event.begin();
+		long start = System.nanoTime();
+		Node res = simplifyNode (root, variables);
+		long nanos = System.nanoTime() - start;
+		event.end();
+
+		int nodesAfter = res == null ? 0 : size (res);
+		if (listener != null)
+			listener.treeSimplified (branch, nanos, nodesBefore, nodesAfter);
+
+		if (event.shouldCommit())
+		{
+			event.branch = branch.name();
+			event.nodesBefore = nodesBefore;
+			event.nodesAfter = nodesAfter;
+			event.commit();
+		}
+
+		return res;
+	}
+
+	/**
+	 * Simplifies the given binary tree and reports the work done to {@code listener}, as well as the nested simplifications
+	 * 
+	 * <p>e.g. provided (10*x)/(2*x), 5 is returned
+	 * 
+	 * @param root The root {@code Node} of the given tree
+	 * @param variables The mapping between all the potential variables in the tree to a value
+	 * @param listener The listener notified while the tree is simplified, can be {@code null}
+	 * @return The simplified tree, either a {@code NumberNode} or an {@code OperatorNode}
+	 * @see SimplificationStatistics
+	 */
+	public static Node simplify (Node root, HashMap<String, Number> variables, SimplificationListener listener)
+	{
+		SimplificationListener previous = LISTENER.get();
+		LISTENER.set (listener);
+		try
+		{
+			return simplify (root, variables);
+		}
+		finally
+		{
+			if (previous == null)
+				LISTENER.remove();
+			else
+				LISTENER.set (previous);
+		}
+	}
+
+	/**
+	 * Simplifies the given binary tree like {@link OperatorNode#simplify(Node, HashMap)}, using {@link OperatorNode#DEFAULT_PARALLEL_THRESHOLD}
+	 * 
+	 * @param root The root {@code Node} of the given tree
+	 * @param variables The mapping between all the potential variables in the tree to a value
+	 * @return The simplified tree, equal to the one returned by {@link OperatorNode#simplify(Node, HashMap)}
+	 * @see OperatorNode#simplifyParallel(Node, HashMap, int)
+	 */
+	public static Node simplifyParallel (Node root, HashMap<String, Number> variables)
+	{
+		return simplifyParallel (root, variables, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Simplifies the given binary tree like {@link OperatorNode#simplify(Node, HashMap)}, but the independent subtrees are simplified in parallel
+	 * in the {@code ForkJoinPool.commonPool()}.
+	 * 
+	 * <p>The subtrees that the simplification works on separately (the terms of a sum, the factors of a product, both sides of a division or 
+	 * a power) having less than {@code threshold} nodes are simplified first, in parallel. The tree is then simplified on the calling thread, 
+	 * reusing those results, so the result does not depend on the scheduling of the tasks. The tasks use the {@link ArithmeticContext} of the
+	 * calling thread
+	 * 
+	 * @param root The root {@code Node} of the given tree
+	 * @param variables The mapping between all the potential variables in the tree to a value
+	 * @param threshold The number of nodes under which a subtree is simplified in one task
+	 * @return The simplified tree, equal to the one returned by {@link OperatorNode#simplify(Node, HashMap)}
+	 * @throws IllegalArgumentException if {@code threshold} is less than 1
+	 */
+	public static Node simplifyParallel (Node root, HashMap<String, Number> variables, int threshold)
+	{
+		if (threshold < 1)
+			throw new IllegalArgumentException ("The threshold must be at least 1");
+
+		if (!(root instanceof OperatorNode o) || root.countNodes() < threshold)
+			return simplify (root, variables);
+
+		IdentityHashMap<Node, Integer> sizes = new IdentityHashMap<>();
+		root.<Integer>accept
+		(
+			(node, left, right) ->
+			{
+				int count = 1 + (left != null ? left : 0) + (right != null ? right : 0);
+				sizes.put (node, count);
+				return count;
+			}
+		);
+
+		ArrayList<Node> units = new ArrayList<>();
+		collectSubtrees (o, sizes, threshold, new IdentityHashMap<>(), units);
+
+		Node[] results = new Node [units.size()];
+		int[] prefixSizes = new int [units.size() + 1];
+		for (int i = 0; i < units.size(); i++)
+			prefixSizes[i + 1] = prefixSizes[i] + sizes.get (units.get (i));
+
+		ForkJoinPool.commonPool().invoke (new SimplifyTask (units, results, prefixSizes, 0, units.size(), threshold, LISTENER.get(), ArithmeticContext.current()));
+
+		IdentityHashMap<Node, Node> simplified = new IdentityHashMap<>();
+		for (int i = 0; i < results.length; i++)
+			simplified.put (units.get (i), results[i]);
+
+		return simplifyTree (root, variables, simplified);
+	}
+
+	// finds the subtrees that simplify works on separately when simplifying root, each one after its parent, skipping those already simplified.
+	// If sizes is given, only the subtrees having less than threshold nodes are kept, and they are not searched further
+	private static void collectSubtrees (OperatorNode root, IdentityHashMap<Node, Integer> sizes, int threshold, IdentityHashMap<Node, Node> simplified, ArrayList<Node> subtrees)
+	{
+		IdentityHashMap<Node, Node> seen = new IdentityHashMap<>();
+		Stack<OperatorNode> stack = new Stack<>();
+		stack.push (root);
+
+		while (!stack.empty())
+		{
+			OperatorNode o = stack.pop();
+			Node[] children;
+
+			switch (o.operator)
+			{
+				case ADD: case SUB: case MUL: case DIV: case POW:
+					children = new Node[] {o.getLeft(), o.getRight()};
+					break;
+				default:
+					// functions only simplify the argument of their inverse, e.g. x in ln(exp(x))
+					if (o.operator.pri() == 5 && o.getRight() instanceof OperatorNode arg && arg.operator == o.operator.inverse())
+						children = new Node[] {arg.getRight()};
+					else
+						children = new Node[0];
+			}
+
+			for (Node child : children)
+			{
+				if (!(child instanceof OperatorNode c) || simplified.containsKey (c) || seen.put (c, c) != null)
+					continue;
+
+				// products are flattened, so only their factors are simplified
+				if (o.operator == Operators.MUL && c.operator == Operators.MUL)
+				{
+					stack.push (c);
+					continue;
+				}
+
+				boolean small = sizes != null && sizes.get (c) < threshold;
+				if (sizes == null || small)
+					subtrees.add (c);
+				if (!small)
+					stack.push (c);
+			}
+		}
+	}
+
+	/**
+	 * Simplifies the subtrees in [from, to), splitting the range until it holds less than {@code threshold} nodes in total
+	 */
+	private static class SimplifyTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private ArrayList<Node> subtrees;
+		private Node[] results;
+		private int[] prefixSizes;
+		private int from, to, threshold;
+		private SimplificationListener listener;
+		private ArithmeticContext context;
+
+		SimplifyTask (ArrayList<Node> subtrees, Node[] results, int[] prefixSizes, int from, int to, int threshold, SimplificationListener listener,
+				ArithmeticContext context)
+		{
+			this.subtrees = subtrees;
+			this.results = results;
+			this.prefixSizes = prefixSizes;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.listener = listener;
+			this.context = context;
+		}
+
+		@Override
+		protected void compute ()
+		{
+			if (to - from > 1 && prefixSizes[to] - prefixSizes[from] > threshold)
+			{
+				int mid = (from + to) >>> 1;
+				invokeAll
+				(
+					new SimplifyTask (subtrees, results, prefixSizes, from, mid, threshold, listener, context),
+					new SimplifyTask (subtrees, results, prefixSizes, mid, to, threshold, listener, context)
+				);
+				return;
+			}
+
+			// the worker may be running another simplification, and the context of the calling thread is not bound to it
+			SimplificationListener previousListener = LISTENER.get();
+			IdentityHashMap<Node, Node> previousSimplified = SIMPLIFIED.get();
+			LISTENER.set (listener);
+			SIMPLIFIED.remove();
+			try
+			{
+				context.run (() ->
+				{
+					for (int i = from; i < to; i++)
+						results[i] = simplify (subtrees.get (i));
+				});
+			}
+			finally
+			{
+				LISTENER.set (previousListener);
+				SIMPLIFIED.set (previousSimplified);
+			}
+		}
+	}
+
+	private static Node simplifyNode (Node root, HashMap<String, Number> variables)
 	{
 		if (root == null)
 			return null;
@@ -143,6 +469,10 @@ public class OperatorNode extends Node
 						return simplifiedLeft;
 				}
 
+				Node cancelled = cancelCommonFactors (simplifiedLeft, simplifiedRight);
+				if (cancelled != null)
+					return cancelled;
+
 				// get the case
 				HashMap<Integer, Node> nodes = new HashMap<>();
 				OperatorNode newO = new OperatorNode (Operators.DIV, simplifiedLeft, simplifiedRight);
@@ -168,14 +498,16 @@ public class OperatorNode extends Node
 					for (String possib : DEN_EQUIVALENCY_TABLE.get (cases[1]))
 						casesNodes.add (construct (possib, nodes, true, false));
 
+				candidatesGenerated (SimplificationListener.Branch.DIV, casesNodes.size() - 1);
+
 				Iterator<Node> i = casesNodes.iterator();
 				Node currentBest = newO;
-				int currentBestFitness = newO.countNodes();
+				int currentBestFitness = countNodes (newO);
 				while (i.hasNext())
 				{
 					Node simplified = simplifyDiv (i.next());
 					
-					int fitness = simplified.countNodes();
+					int fitness = countNodes (simplified);
 					if (fitness < currentBestFitness)
 					{
 						currentBest = simplified;
@@ -217,14 +549,16 @@ public class OperatorNode extends Node
 						for (String possib : DEN_EQUIVALENCY_TABLE.get (cases[1]))
 							casesNodes.add (construct (possib, nodesMap, true, false));
 	
+					candidatesGenerated (SimplificationListener.Branch.MUL, casesNodes.size() - 1);
+
 					Iterator<Node> it = casesNodes.iterator();
 					Node currentBest = o;
-					int currentBestFitness = o.countNodes();
+					int currentBestFitness = countNodes (o);
 					while (it.hasNext())
 					{
 						Node simplified = simplifyDiv (it.next());
 						
-						int fitness = simplified.countNodes();
+						int fitness = countNodes (simplified);
 						if (fitness < currentBestFitness)
 						{
 							currentBest = simplified;
@@ -263,25 +597,25 @@ public class OperatorNode extends Node
 							idx = indexOfNodeToPower (nodes, cur);
 							if (idx > -1)
 							{
+								// the nodes in the list can belong to the original tree, so they are replaced instead of modified
 								OperatorNode found = (OperatorNode) nodes.get(idx);
-								Node pow = found.getRight();
+								Node pow = found.getRight(), newPow = null;
 
 								if (pow instanceof NumberNode n)
-								{
-									found.setRight (new NumberNode (n.getValue().add (Number.ONE)));
-								}
+									newPow = new NumberNode (n.getValue().add (Number.ONE));
 								else
 								{
 									try
 									{
-										Number powNb = Number.valueOf (pow, null);
-										found.setRight (new NumberNode (powNb.add (Number.ONE)));
-										continue;
+										newPow = new NumberNode (Number.valueOf (pow, null).add (Number.ONE));
+									}
+									catch (Exception e)
+									{
+										newPow = new OperatorNode (Operators.ADD, pow, new NumberNode (Number.ONE));
 									}
-									catch (Exception e) {}
-
-									found.setRight (new OperatorNode (Operators.ADD, pow, new NumberNode (Number.ONE)));
 								}
+
+								nodes.set (idx, new OperatorNode (Operators.POW, found.getLeft(), newPow));
 							}
 							else
 							{
@@ -291,7 +625,7 @@ public class OperatorNode extends Node
 								int numberIdx = containsNumber (nodes);
 								if (numberIdx > -1 && cur instanceof NumberNode n)
 								{
-									((NumberNode) nodes.get (numberIdx)).setValue (n.getValue().multiply (((NumberNode) nodes.get (numberIdx)).getValue()));
+									nodes.set (numberIdx, new NumberNode (n.getValue().multiply (((NumberNode) nodes.get (numberIdx)).getValue())));
 									cur = cur.getLeft();
 									continue;
 								}
@@ -345,14 +679,16 @@ public class OperatorNode extends Node
 						for (String possib : DEN_EQUIVALENCY_TABLE.get (cases[1]))
 							casesNodes.add (construct (possib, nodesMap, true, false));
 	
+					candidatesGenerated (SimplificationListener.Branch.ADD_SUB, casesNodes.size() - 1);
+
 					Iterator<Node> it = casesNodes.iterator();
 					Node currentBest = o;
-					int currentBestFitness = o.countNodes();
+					int currentBestFitness = countNodes (o);
 					while (it.hasNext())
 					{
 						Node simplified = simplifyDiv (it.next());
 						
-						int fitness = simplified.countNodes();
+						int fitness = countNodes (simplified);
 						if (fitness < currentBestFitness)
 						{
 							currentBest = simplified;
@@ -401,13 +737,7 @@ public class OperatorNode extends Node
 					if (!r.getValue().isPureReal())
 						return new NumberNode (Double.NaN, Double.NaN);
 					else
-					{
-						FractionValue power = new FloatValue(r.getValue().getX().getDoubleValue()).getFraction();
-						if (power.getDenomenator() == 1)
-							return new NumberNode (l.getValue().pow ((int) r.getValue().getX().getDoubleValue()));
-						else
-							return new NumberNode (l.getValue().pow(power.getNumerator()).nthRoot(power.getDenomenator()).get (0));
-					}
+						return new NumberNode (l.getValue().pow (r.getValue()));
 				
 				if (simplifiedRight instanceof NumberNode n)
 				{
@@ -430,6 +760,78 @@ public class OperatorNode extends Node
 		return root;
 	}
 
+	private static SimplificationListener.Branch branchOf (Node root)
+	{
+		if (!(root instanceof OperatorNode o))
+			return SimplificationListener.Branch.LEAF;
+
+		if (o.operator.pri() == 5 && o.getRight() instanceof OperatorNode arg && arg.operator == o.operator.inverse())
+			return SimplificationListener.Branch.INVERSE;
+
+		switch (o.operator)
+		{
+			case DIV: return SimplificationListener.Branch.DIV;
+			case MUL: return SimplificationListener.Branch.MUL;
+			case ADD: case SUB: return SimplificationListener.Branch.ADD_SUB;
+			case POW: return SimplificationListener.Branch.POW;
+			default: return SimplificationListener.Branch.OTHER;
+		}
+	}
+
+	// counts the nodes of a candidate and notifies the listener
+	private static int countNodes (Node n)
+	{
+		SimplificationListener listener = LISTENER.get();
+		if (listener != null)
+			listener.nodesCounted();
+
+		return size (n);
+	}
+
+	// counts the nodes of root, only visiting the subtrees that were not counted yet by the current simplification
+	private static int size (Node root)
+	{
+		IdentityHashMap<Node, Integer> sizes = SIZES.get();
+		if (sizes == null)
+			return root.countNodes();
+
+		Integer known = sizes.get (root);
+		if (known != null)
+			return known;
+
+		// a node is counted once both of its children are
+		Stack<Node> stack = new Stack<>();
+		stack.push (root);
+		while (!stack.empty())
+		{
+			Node cur = stack.peek();
+			Node left = cur.getLeft(), right = cur.getRight();
+			Integer leftSize = left == null ? Integer.valueOf (0) : sizes.get (left),
+					rightSize = right == null ? Integer.valueOf (0) : sizes.get (right);
+
+			if (leftSize != null && rightSize != null)
+			{
+				stack.pop();
+				sizes.put (cur, 1 + leftSize + rightSize);
+				continue;
+			}
+
+			if (leftSize == null)
+				stack.push (left);
+			if (rightSize == null)
+				stack.push (right);
+		}
+
+		return sizes.get (root);
+	}
+
+	private static void candidatesGenerated (SimplificationListener.Branch branch, int count)
+	{
+		SimplificationListener listener = LISTENER.get();
+		if (listener != null)
+			listener.candidatesGenerated (branch, count);
+	}
+
 	private static String[] getCase (OperatorNode n, HashMap<Integer, Node> nodes)
 	{
 		// nodes is used to extract the nodes a, b and c to be used in "construct" later
@@ -500,6 +902,39 @@ public class OperatorNode extends Node
 		return cases;
 	}
 
+	/**
+	 * Cancels the common factors of a rational expression using the GCD of the numerator and the denominator
+	 *
+	 * <p>e.g. provided (x^2-1) and (x-1), x+1 is returned
+	 *
+	 * @param numerator The tree of the numerator
+	 * @param denominator The tree of the denominator
+	 * @return The simplified quotient, or {@code null} if both are not polynomials of the same variable or if they have no common factor
+	 * @see Polynomial#gcd(Polynomial, Polynomial)
+	 */
+	private static Node cancelCommonFactors (Node numerator, Node denominator)
+	{
+		Polynomial num = Polynomial.fromNode (numerator), den = num == null ? null : Polynomial.fromNode (denominator);
+		if (den == null || num.isZero() || den.isZero())
+			return null;
+
+		Polynomial gcd = Polynomial.gcd (num, den);
+		if (gcd == null || gcd.degree() == 0)
+			return null;
+
+		Polynomial[] numDivided = num.divide (gcd), denDivided = den.divide (gcd);
+		if (!numDivided[1].isZero() || !denDivided[1].isZero())
+			return null;
+
+		num = numDivided[0];
+		den = denDivided[0];
+
+		if (den.degree() == 0)
+			return num.scale (1 / den.leadingCoefficient()).toNode();
+
+		return new OperatorNode (Operators.DIV, num.toNode(), den.toNode());
+	}
+
 	private static Node simplifyDiv (Node n)
 	{
 		if (n.getLeft() == null || n.getRight() == null)
@@ -626,38 +1061,9 @@ public class OperatorNode extends Node
 	@Override
 	public String toString ()
 	{
-		String s = "";
-		boolean openPar = false;
-		if (operator == Operators.MUL && (getLeft() instanceof OperatorNode l && (l.getOperator() == Operators.ADD || l.getOperator() == Operators.SUB)))
-		{
-			s += "(";
-			openPar = true;
-		}
-
-		if (this.getLeft() != null)
-			s += this.getLeft().toString();
-
-		if (openPar)
-		{
-			s += ")";
-			openPar = false;
-		}
-		
-		s += this.operator.toString();
-
-		if (operator == Operators.MUL && (getRight() instanceof OperatorNode r && (r.getOperator() == Operators.ADD || r.getOperator() == Operators.SUB))
-			|| operator.pri() == 5)
-		{
-			s += "(";
-			openPar = true;
-		}
-		
-		if (this.getRight() != null)
-			s += this.getRight().toString();
-		
-		if (openPar)
-			s += ")";
-		return s;
+		StringBuilder sb = new StringBuilder();
+		print (sb);
+		return sb.toString();
 	}
 
 	/**
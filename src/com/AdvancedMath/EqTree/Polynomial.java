@@ -0,0 +1,298 @@
+package com.AdvancedMath.EqTree;
+
+import com.AdvancedMath.Functionalities.Operators;
+import com.AdvancedMath.Numbers.Number;
+
+/**
+ * Class that represents a polynomial of one variable with real coefficients. Used to cancel common factors of rational expressions
+ *
+ * <p>e.g. (x^2-1)/(x-1) is turned into x+1
+ */
+class Polynomial
+{
+	// highest degree accepted when converting a tree, to avoid expanding huge powers
+	private static final int MAX_DEGREE = 64;
+	// relative precision under which a coefficient is considered to be 0
+	private static final double EPSILON = 1e-9;
+
+	private String variable;
+	private double[] coefficients; // coefficients[i] is the coefficient of variable^i
+
+	private Polynomial (String variable, double[] coefficients)
+	{
+		this.variable = variable;
+		this.coefficients = trim (coefficients);
+	}
+
+	private static Polynomial constant (double c)
+	{
+		return new Polynomial (null, new double[] {c});
+	}
+
+	public String getVariable ()
+	{
+		return this.variable;
+	}
+
+	/**
+	 * Gets the degree of this polynomial. The degree of the zero polynomial is considered to be 0
+	 *
+	 * @return The highest power of the variable with a non-zero coefficient
+	 */
+	public int degree ()
+	{
+		return coefficients.length - 1;
+	}
+
+	public double leadingCoefficient ()
+	{
+		return coefficients[degree()];
+	}
+
+	public boolean isZero ()
+	{
+		return coefficients.length == 1 && coefficients[0] == 0;
+	}
+
+	/**
+	 * Converts a tree into a polynomial, if the tree is only made of real numbers, one variable, +, -, *, division by a constant and powers to a natural number
+	 *
+	 * @param root The tree to convert
+	 * @return The equivalent {@code Polynomial}, or {@code null} if the tree is not a polynomial of one variable
+	 */
+	public static Polynomial fromNode (Node root)
+	{
+		return root == null ? null : root.accept (Polynomial::fromNode);
+	}
+
+	// converts one node from the already converted children, null meaning that the child is not a polynomial
+	private static Polynomial fromNode (Node node, Polynomial left, Polynomial right)
+	{
+		if (node instanceof NumberNode n)
+			return n.getValue().isPureReal() && n.getValue().isValid() ? constant (n.getValue().getX().getDoubleValue()) : null;
+
+		if (node instanceof VariableNode v)
+			return new Polynomial (v.getName(), new double[] {0, 1});
+
+		if (!(node instanceof OperatorNode o))
+			return null;
+
+		switch (o.getOperator())
+		{
+			case ADD: case SUB:
+			{
+				if (right == null)
+					return null;
+
+				if (o.getLeft() == null)
+					return o.getOperator() == Operators.SUB ? right.scale (-1) : right;
+
+				if (left == null || !sameVariable (left, right))
+					return null;
+
+				return o.getOperator() == Operators.ADD ? left.add (right) : left.subtract (right);
+			}
+			case MUL:
+			{
+				if (left == null || right == null || !sameVariable (left, right) || left.degree() + right.degree() > MAX_DEGREE)
+					return null;
+
+				return left.multiply (right);
+			}
+			case DIV:
+			{
+				if (left == null || right == null || right.degree() != 0 || right.isZero())
+					return null;
+
+				return left.scale (1 / right.coefficients[0]);
+			}
+			case POW:
+			{
+				if (left == null || right == null || right.degree() != 0)
+					return null;
+
+				double e = right.coefficients[0];
+				if (e < 0 || e != Math.floor (e) || e * Math.max (left.degree(), 1) > MAX_DEGREE)
+					return null;
+
+				Polynomial res = constant (1);
+				for (int i = 0; i < (int) e; i++)
+					res = res.multiply (left);
+				return res;
+			}
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Converts this polynomial into a tree, from the highest degree to the lowest
+	 *
+	 * <p>e.g. x^2 - 3x + 2 is turned into x^2-3*x+2
+	 *
+	 * @return The {@code Node} representing this polynomial
+	 */
+	public Node toNode ()
+	{
+		Node root = null;
+
+		for (int i = degree(); i >= 0; i--)
+		{
+			double c = coefficients[i];
+			if (c == 0 && (i != 0 || root != null))
+				continue;
+
+			if (root == null)
+				root = monomial (c, i);
+			else
+				root = new OperatorNode (c > 0 ? Operators.ADD : Operators.SUB, root, monomial (Math.abs (c), i));
+		}
+
+		return root;
+	}
+
+	private Node monomial (double c, int power)
+	{
+		if (power == 0)
+			return new NumberNode (Number.real (c));
+
+		Node var = new VariableNode (variable);
+		if (power > 1)
+			var = new OperatorNode (Operators.POW, var, new NumberNode (Number.real ((double) power)));
+
+		if (c == 1)
+			return var;
+		return new OperatorNode (Operators.MUL, new NumberNode (Number.real (c)), var);
+	}
+
+	/**
+	 * Gets the greatest common divisor of two polynomials using Euclid's algorithm. The result is monic, i.e., its leading coefficient is 1
+	 *
+	 * @param a
+	 * @param b
+	 * @return GCD of a and b, or {@code null} if they do not have the same variable
+	 */
+	public static Polynomial gcd (Polynomial a, Polynomial b)
+	{
+		if (!sameVariable (a, b))
+			return null;
+
+		while (!b.isZero())
+		{
+			Polynomial r = a.divide (b)[1];
+			a = b;
+			b = r;
+		}
+
+		return a.isZero() ? a : a.scale (1 / a.leadingCoefficient());
+	}
+
+	/**
+	 * Divides this polynomial by {@code p} using long division
+	 *
+	 * @param p The divisor
+	 * @return An array containing the quotient then the remainder
+	 * @throws ArithmeticException if {@code p} is the zero polynomial
+	 */
+	public Polynomial[] divide (Polynomial p)
+	{
+		if (p.isZero())
+			throw new ArithmeticException ("Cannot divide by zero");
+
+		double[] rem = coefficients.clone();
+		double[] quot = new double [Math.max (1, degree() - p.degree() + 1)];
+		double lead = p.leadingCoefficient(), scale = maxAbs (coefficients);
+
+		for (int i = degree() - p.degree(); i >= 0; i--)
+		{
+			double q = rem[i + p.degree()] / lead;
+			quot[i] = q;
+			for (int j = 0; j <= p.degree(); j++)
+				rem[i + j] -= q * p.coefficients[j];
+			rem[i + p.degree()] = 0;
+		}
+
+		// drop what is left of the cancelled terms
+		for (int i = 0; i < rem.length; i++)
+			if (Math.abs (rem[i]) <= EPSILON * scale)
+				rem[i] = 0;
+
+		String var = variable != null ? variable : p.variable;
+		return new Polynomial[] {new Polynomial (var, quot), new Polynomial (var, rem)};
+	}
+
+	public Polynomial add (Polynomial p)
+	{
+		double[] res = new double [Math.max (coefficients.length, p.coefficients.length)];
+		for (int i = 0; i < res.length; i++)
+			res[i] = (i < coefficients.length ? coefficients[i] : 0) + (i < p.coefficients.length ? p.coefficients[i] : 0);
+
+		return combine (p, res);
+	}
+
+	public Polynomial subtract (Polynomial p)
+	{
+		return add (p.scale (-1));
+	}
+
+	public Polynomial multiply (Polynomial p)
+	{
+		double[] res = new double [coefficients.length + p.coefficients.length - 1];
+		for (int i = 0; i < coefficients.length; i++)
+			for (int j = 0; j < p.coefficients.length; j++)
+				res[i + j] += coefficients[i] * p.coefficients[j];
+
+		return combine (p, res);
+	}
+
+	public Polynomial scale (double c)
+	{
+		double[] res = new double [coefficients.length];
+		for (int i = 0; i < res.length; i++)
+			res[i] = coefficients[i] * c;
+
+		return new Polynomial (variable, res);
+	}
+
+	private Polynomial combine (Polynomial p, double[] res)
+	{
+		if (!sameVariable (this, p))
+			throw new IllegalArgumentException ("Cannot combine polynomials of different variables");
+
+		return new Polynomial (variable != null ? variable : p.variable, res);
+	}
+
+	private static boolean sameVariable (Polynomial a, Polynomial b)
+	{
+		return a.variable == null || b.variable == null || a.variable.equals (b.variable);
+	}
+
+	private static double maxAbs (double[] arr)
+	{
+		double max = 0;
+		for (double d : arr)
+			max = Math.max (max, Math.abs (d));
+		return max;
+	}
+
+	// snaps the coefficients that are very close to an integer, relative to the largest one, then removes the leading zeros, so the
+	// leading coefficient is never 0. As in FloatValue, a coefficient is only snapped to 0 when it is strictly below the tolerance
+	private static double[] trim (double[] coefficients)
+	{
+		double tolerance = EPSILON * maxAbs (coefficients);
+		double[] snapped = new double [coefficients.length];
+		for (int i = 0; i < coefficients.length; i++)
+		{
+			double rounded = Math.rint (coefficients[i]);
+			snapped[i] = Math.abs (coefficients[i] - rounded) < tolerance ? rounded : coefficients[i];
+		}
+
+		int deg = snapped.length - 1;
+		while (deg > 0 && snapped[deg] == 0)
+			deg--;
+
+		double[] res = new double [deg + 1];
+		System.arraycopy (snapped, 0, res, 0, deg + 1);
+		return res;
+	}
+}
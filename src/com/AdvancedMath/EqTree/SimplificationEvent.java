@@ -0,0 +1,26 @@
+package com.AdvancedMath.EqTree;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event committed each time {@code OperatorNode.simplify} simplifies a tree, when the event is enabled in the recording
+ */
+@Name ("com.AdvancedMath.Simplification")
+@Label ("Simplification")
+@Category ("AdvancedMath")
+@Description ("Simplification of an expression tree by OperatorNode.simplify")
+class SimplificationEvent extends Event
+{
+	@Label ("Branch")
+	String branch;
+
+	@Label ("Nodes Before")
+	int nodesBefore;
+
+	@Label ("Nodes After")
+	int nodesAfter;
+}
@@ -0,0 +1,48 @@
+package com.AdvancedMath.EqTree;
+
+/**
+ * Receives the events raised while {@code OperatorNode.simplify} runs. All the methods do nothing by default
+ *
+ * @see OperatorNode#simplify(Node, java.util.HashMap, SimplificationListener)
+ * @see SimplificationStatistics
+ */
+public interface SimplificationListener
+{
+	/**
+	 * The branches of the simplification algorithm, chosen according to the root of the simplified tree
+	 */
+	public enum Branch
+	{
+		LEAF,		// number or variable
+		INVERSE,	// function applied to its inverse, e.g. ln(e^(x))
+		DIV,
+		MUL,
+		ADD_SUB,
+		POW,
+		OTHER		// any other operator
+	}
+
+	/**
+	 * Called each time a tree has been simplified. Nested simplifications are reported before the one that triggered them,
+	 * so {@code nanos} includes the time spent in those
+	 *
+	 * @param branch The branch taken for the root of the tree
+	 * @param nanos The time spent simplifying the tree, in nanoseconds
+	 * @param nodesBefore The number of nodes of the tree before it was simplified
+	 * @param nodesAfter The number of nodes of the simplified tree
+	 */
+	public default void treeSimplified (Branch branch, long nanos, int nodesBefore, int nodesAfter) {}
+
+	/**
+	 * Called when equivalent forms of a tree are generated from the equivalence tables
+	 *
+	 * @param branch The branch that generated the candidates
+	 * @param count The number of candidates generated, without the original tree
+	 */
+	public default void candidatesGenerated (Branch branch, int count) {}
+
+	/**
+	 * Called each time the simplification counts the nodes of a tree to compare candidates
+	 */
+	public default void nodesCounted () {}
+}
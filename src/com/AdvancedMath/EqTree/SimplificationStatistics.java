@@ -0,0 +1,129 @@
+package com.AdvancedMath.EqTree;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.AdvancedMath.EqTree.SimplificationListener.Branch;
+
+/**
+ * {@code SimplificationListener} that accumulates counters and timings for each branch of the simplification. Can be shared between threads
+ *
+ * <p>e.g.
+ * <pre>
+ * SimplificationStatistics stats = new SimplificationStatistics();
+ * OperatorNode.simplify (tree, null, stats);
+ * System.out.println (stats);
+ * </pre>
+ */
+public class SimplificationStatistics implements SimplificationListener
+{
+	private static final int BRANCHES = Branch.values().length;
+
+	private AtomicLongArray invocations = new AtomicLongArray (BRANCHES),
+							nanos = new AtomicLongArray (BRANCHES),
+							nodesRemoved = new AtomicLongArray (BRANCHES),
+							candidates = new AtomicLongArray (BRANCHES);
+	private LongAdder countNodesCalls = new LongAdder();
+
+	@Override
+	public void treeSimplified (Branch branch, long nanos, int nodesBefore, int nodesAfter)
+	{
+		invocations.incrementAndGet (branch.ordinal());
+		this.nanos.addAndGet (branch.ordinal(), nanos);
+		nodesRemoved.addAndGet (branch.ordinal(), nodesBefore - nodesAfter);
+	}
+
+	@Override
+	public void candidatesGenerated (Branch branch, int count)
+	{
+		candidates.addAndGet (branch.ordinal(), count);
+	}
+
+	@Override
+	public void nodesCounted ()
+	{
+		countNodesCalls.increment();
+	}
+
+	/**
+	 * @param branch
+	 * @return The number of trees simplified through {@code branch}
+	 */
+	public long getInvocations (Branch branch)
+	{
+		return invocations.get (branch.ordinal());
+	}
+
+	/**
+	 * @param branch
+	 * @return The total time spent in {@code branch} in nanoseconds, including the nested simplifications
+	 */
+	public long getNanos (Branch branch)
+	{
+		return nanos.get (branch.ordinal());
+	}
+
+	/**
+	 * @param branch
+	 * @return The total number of nodes removed by {@code branch}. Negative if the branch made the trees bigger
+	 */
+	public long getNodeReduction (Branch branch)
+	{
+		return nodesRemoved.get (branch.ordinal());
+	}
+
+	/**
+	 * @param branch
+	 * @return The number of candidates generated from the equivalence tables by {@code branch}
+	 */
+	public long getCandidates (Branch branch)
+	{
+		return candidates.get (branch.ordinal());
+	}
+
+	/**
+	 * @return The number of times the simplification counted the nodes of a tree
+	 */
+	public long getCountNodesCalls ()
+	{
+		return countNodesCalls.sum();
+	}
+
+	/**
+	 * Sets all the counters back to 0
+	 */
+	public void reset ()
+	{
+		for (int i = 0; i < BRANCHES; i++)
+		{
+			invocations.set (i, 0);
+			nanos.set (i, 0);
+			nodesRemoved.set (i, 0);
+			candidates.set (i, 0);
+		}
+		countNodesCalls.reset();
+	}
+
+	@Override
+	public String toString ()
+	{
+		StringBuilder sb = new StringBuilder ("branch\tcalls\tnanos\tremoved\tcandidates\n");
+		for (Branch b : Branch.values())
+		{
+			sb.append (b);
+			sb.append ("\t");
+			sb.append (getInvocations (b));
+			sb.append ("\t");
+			sb.append (getNanos (b));
+			sb.append ("\t");
+			sb.append (getNodeReduction (b));
+			sb.append ("\t");
+			sb.append (getCandidates (b));
+			sb.append ("\n");
+		}
+		sb.append ("countNodes calls: ");
+		sb.append (getCountNodesCalls());
+
+		return sb.toString();
+	}
+}
@@ -9,13 +9,30 @@ public class VariableNode extends Node
 		this.name = name;
 	}
 
+	private VariableNode (String name, Node left, Node right)
+	{
+		super (left, right);
+
+		this.name = name;
+	}
+
+	@Override
+	protected Node copy (Node left, Node right)
+	{
+		return new VariableNode (name, left, right);
+	}
+
 	public String getName ()
 	{
 		return this.name;
 	}
 
+	/**
+	 * @throws UnsupportedOperationException if this node is frozen
+	 */
 	public void setName (String name)
 	{
+		checkNotFrozen();
 		this.name = name;
 	}
 
@@ -33,7 +33,8 @@ public class Graph extends JPanel
 	private String title = "Graph";
 	private double xStep = 0.01;
 	private HashMap<Function, Color> fnColors = new HashMap<>();
-	private HashMap<Function, HashMap<Double, Double>> fnPoints = new HashMap<>();
+	// the y of each function at x = xRange[0] + i * xStep, NaN where it is not defined
+	private HashMap<Function, double[]> fnPoints = new HashMap<>();
 	private HashMap<Function, Integer> fnIndex = new HashMap<>();
 	private JButton legend = new JButton ("Legend");
 	private DefaultListModel<String> dlm = new DefaultListModel<>();
@@ -189,15 +190,27 @@ public class Graph extends JPanel
 	private void getPoints (Function f)
 	{
 		HashMap<String, Number> values = new HashMap<>();
-		for (double i = xRange[0]; i <= xRange[1] && i <= 1000; i += xStep)
-		{
-			values.put (f.getVariables().iterator().next(), Number.real (i));
-			
-			if (fnPoints.get (f) == null)
-				fnPoints.put (f, new HashMap<>());
+		String variable = f.getVariables().iterator().next();
 
-			fnPoints.get(f).put (i, Number.valueOf (f.toNode(), values).getX().getDoubleValue());
+		// x is computed from the index of the step rather than accumulated, so it does not drift from the x drawn
+		double[] points = new double [pointCount()];
+		for (int i = 0; i < points.length; i++)
+		{
+			values.put (variable, Number.real (xRange[0] + i * xStep));
+			points[i] = Number.valueOf (f.toNode(), values).getX().getDoubleValue();
 		}
+
+		fnPoints.put (f, points);
+	}
+
+	private int pointCount ()
+	{
+		double end = Math.min (xRange[1], 1000);
+		if (end < xRange[0])
+			return 0;
+
+		// the tolerance keeps the last point when the range is a multiple of the step up to rounding
+		return (int) Math.floor ((end - xRange[0]) / xStep + 1e-9) + 1;
 	}
 
 	/**
@@ -281,7 +294,7 @@ public class Graph extends JPanel
 		int nbDivs = (int) ((xRange[1] - xRange[0]));
 		double scaleX = (getWidth() - 20) / nbDivs;
 		double scaleY = (getHeight() - 20) / nbDivs;
-		Point O = new Point (new FloatValue (getWidth() / 2.0), new FloatValue (getHeight() / 2.0));
+		Point O = new Point (FloatValue.valueOf (getWidth() / 2.0), FloatValue.valueOf (getHeight() / 2.0));
 
 		FontMetrics metrics = g.getFontMetrics();
 		
@@ -321,22 +334,19 @@ public class Graph extends JPanel
 			count++;
 		}
 
-		double last = xRange[0];
-		
 		// draw curves
 		for (Function f : fnPoints.keySet())
-			for (double i = xRange[0] + xStep; i <= xRange[1]; i += xStep)
-			{
-				if (fnPoints.get(f).get (last) != null && fnPoints.get(f).get (i) != null)
+		{
+			double[] points = fnPoints.get (f);
+			g2d.setPaint (fnColors.get (f));
+
+			for (int i = 1; i < points.length; i++)
+				if (!Double.isNaN (points[i - 1]) && !Double.isNaN (points[i]))
 				{
-					g2d.setPaint (fnColors.get (f));
-					g2d.drawLine ((int) (O.getX().getDoubleValue() + last * scaleX), (int) (O.getY().getDoubleValue() - fnPoints.get(f).get (last) * scaleY), (int) (O.getX().getDoubleValue() + i * scaleX), (int) (O.getY().getDoubleValue() - fnPoints.get(f).get (i) * scaleY));
-					last = i;
+					double last = xRange[0] + (i - 1) * xStep, x = xRange[0] + i * xStep;
+					g2d.drawLine ((int) (O.getX().getDoubleValue() + last * scaleX), (int) (O.getY().getDoubleValue() - points[i - 1] * scaleY), (int) (O.getX().getDoubleValue() + x * scaleX), (int) (O.getY().getDoubleValue() - points[i] * scaleY));
 				}
-				
-				if (fnPoints.get(f).get (last) == null)
-					last = i;
-			}
+		}
 	}
 
 	/**
@@ -1,5 +1,6 @@
 package com.AdvancedMath.Functionalities;
 
+import com.AdvancedMath.Numbers.ArithmeticContext;
 import com.AdvancedMath.Numbers.ConstantValue;
 import com.AdvancedMath.Numbers.FractionValue;
 import com.AdvancedMath.Numbers.Matrix;
@@ -11,24 +12,52 @@ import com.AdvancedMath.Numbers.Number;
 public class Operations
 {
 	/**
-	 * Get the greatest common divisor (GCD) of 2 integers a and b using Euclid's algorithm
+	 * Get the greatest common divisor (GCD) of 2 integers a and b
 	 * 
 	 * @param a
 	 * @param b
 	 * @return GCD of |a| and |b|
+	 * @see Operations#gcd(long, long)
 	 */
 	public static int gcd (int a, int b)
 	{
+		return (int) gcd ((long) a, (long) b);
+	}
+
+	/**
+	 * Get the greatest common divisor (GCD) of 2 integers a and b using the binary GCD algorithm, which only uses shifts and subtractions
+	 * 
+	 * @param a
+	 * @param b
+	 * @return GCD of |a| and |b|, which is negative if it is 2^63, i.e., if a and b are in {0, Long.MIN_VALUE}
+	 */
+	public static long gcd (long a, long b)
+	{
+		if (a == 0)
+			return Math.abs (b);
 		if (b == 0)
-			return a;
+			return Math.abs (a);
 
-		if (a < 0)
-			a = Math.abs (a);
-		
-		if (b < 0)
-			b = Math.abs (b);
-		
-		return gcd (b, a % b);
+		int aZeros = Long.numberOfTrailingZeros (a), bZeros = Long.numberOfTrailingZeros (b), shift = Math.min (aZeros, bZeros);
+		a = Math.abs (a >> aZeros);
+		b = Math.abs (b >> bZeros);
+
+		// a and b are odd
+		while (a != b)
+		{
+			if (a > b)
+			{
+				a -= b;
+				a >>= Long.numberOfTrailingZeros (a);
+			}
+			else
+			{
+				b -= a;
+				b >>= Long.numberOfTrailingZeros (b);
+			}
+		}
+
+		return a << shift;
 	}
 	
 	/**
@@ -54,7 +83,7 @@ public class Operations
 			throw new IllegalArgumentException ("The input matrix must contain at least 3 elements");
 		
 		Number two = Number.real (2.0),
-				half = Number.real (new FractionValue (1, 2)),
+				half = Number.real (FractionValue.valueOf (1, 2)),
 				delta = input.getValueAt(0, 1).pow(two).subtract (input.getValueAt(0, 0).multiply (input.getValueAt(0, 2).multiply (Number.real (4.0))));
 
 		Matrix sol = new Matrix (1, 2);
@@ -63,6 +92,19 @@ public class Operations
 
 		return sol;
 	}
+
+	/**
+	 * Solves a quadratic equation as {@link #solveQuad(Matrix)} does, with the operations computed in the given arithmetic context
+	 * 
+	 * @param input {@code Matrix} as a row or column vector containing the coefficients
+	 * @param context The arithmetic of the computation
+	 * @return A {@code Matrix} as a row vector with the solutions to that equation
+	 * @see ArithmeticContext
+	 */
+	public static Matrix solveQuad (Matrix input, ArithmeticContext context)
+	{
+		return context.call (() -> solveQuad (input));
+	}
 	
 	/**
 	 * Solves a quadratic equation of the form ax^3 + bx^2 + cx + d = 0 by using the formulae of cubic roots
@@ -90,8 +132,8 @@ public class Operations
 		
 		// transform eq to x^3 + fx^2 + gx + h = 0
 		input = input.multiply (Number.ONE.divide (input.getValueAt (0, 0)));
-		Number 	negativeThirdF = Number.real(new FractionValue (-1, 3)).multiply (input.getValueAt (0, 1)),
-				half = Number.real (new FractionValue (1, 2)),
+		Number 	negativeThirdF = Number.real(FractionValue.valueOf (-1, 3)).multiply (input.getValueAt (0, 1)),
+				half = Number.real (FractionValue.valueOf (1, 2)),
 				two = Number.real (2.0),
 				three = Number.real (3.0),
 				q = three.multiply(input.getValueAt(0, 2)).subtract(input.getValueAt(0, 1).pow(two)).divide (9.0),
@@ -113,4 +155,17 @@ public class Operations
 			}
 		);
 	}
+
+	/**
+	 * Solves a cubic equation as {@link #solveCubic(Matrix)} does, with the operations computed in the given arithmetic context
+	 * 
+	 * @param input {@code Matrix} as a row or column vector containing the coefficients
+	 * @param context The arithmetic of the computation
+	 * @return A {@code Matrix} as a row vector with the solutions to that equation
+	 * @see ArithmeticContext
+	 */
+	public static Matrix solveCubic (Matrix input, ArithmeticContext context)
+	{
+		return context.call (() -> solveCubic (input));
+	}
 }
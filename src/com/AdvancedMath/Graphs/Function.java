@@ -8,6 +8,7 @@ import java.util.HashSet;
 import java.util.stream.Collectors;
 
 import com.AdvancedMath.Functionalities.Operators;
+import com.AdvancedMath.Numbers.ArithmeticContext;
 import com.AdvancedMath.Numbers.FractionValue;
 import com.AdvancedMath.Numbers.Number;
 
@@ -18,11 +19,16 @@ import com.AdvancedMath.EqTree.VariableNode;
 
 /**
  * Class that represents functions to be manipulated
+ * 
+ * <p>The tree of a function is frozen, so a {@code Function} can be evaluated, derived and simplified by several threads at the same time,
+ * as long as none of them changes its name or its variables
+ * 
+ * @see Node#freeze()
  */
 public class Function
 {
 	private HashSet<String> variables;
-	private Node tree;
+	private final Node tree;
 	private String name;
 
 	/**
@@ -35,7 +41,7 @@ public class Function
 	public Function (String name, HashSet<String> variables, String expression)
 	{
 		this.name = name;
-		this.tree = Node.parse (expression);
+		this.tree = Node.parse (expression).freeze();
 		this.variables = variables;
 	}
 
@@ -44,13 +50,13 @@ public class Function
 	 * 
 	 * @param name The name of the function (f(x), g(x, y), ...)
 	 * @param variables The set of variables that this function depends on
-	 * @param expression The {@code Node} that represents this function
+	 * @param expression The {@code Node} that represents this function. A frozen copy of it is kept, so it can still be modified
 	 */
 	public Function (String name, HashSet<String> variables, Node expression)
 	{
 		this.name = name;
 		this.variables = variables;
-		this.tree = expression;
+		this.tree = expression.frozenCopy();
 	}
 
 	/**
@@ -63,7 +69,7 @@ public class Function
 	public Function (String name, String[] variables, String expression)
 	{
 		this.name = name;
-		this.tree = Node.parse (expression + ")");
+		this.tree = Node.parse (expression + ")").freeze();
 		this.variables = new HashSet<> (Arrays.asList (variables));
 	}
 
@@ -72,13 +78,13 @@ public class Function
 	 * 
 	 * @param name The name of the function (f(x), g(x, y), ...)
 	 * @param variables An array of {@code String} containing the names of the variables that this function depends on
-	 * @param expression The {@code Node} that represents this function
+	 * @param expression The {@code Node} that represents this function. A frozen copy of it is kept, so it can still be modified
 	 */
 	public Function (String name, String[] variables, Node expression)
 	{
 		this.name = name;
 		this.variables = new HashSet<> (Arrays.asList (variables));
-		this.tree = expression;
+		this.tree = expression.frozenCopy();
 	}
 
 	/**
@@ -126,7 +132,7 @@ public class Function
 	/**
 	 * Gets the {@code Node} tree representing this function
 	 * 
-	 * @return The binary tree of this function
+	 * @return The binary tree of this function, which is frozen
 	 */
 	public Node toNode ()
 	{
@@ -142,12 +148,25 @@ public class Function
 	 */
 	public Number of (HashMap<String, Number> x)
 	{
-		if (x.keySet().containsAll (variables))
+		if (!x.keySet().containsAll (variables))
 			throw new IllegalArgumentException ("The provided mapping of the variables to values is incomplete");
 		
 		return Number.valueOf (tree, x);
 	}
 
+	/**
+	 * Get the value of f(a, b, ...) computed in the given arithmetic context, e.g. {@code ArithmeticContext.FAST_DOUBLE} to sample the function quickly
+	 * 
+	 * @param x The values mapped to the name of the variables at which we want to evaluate the function
+	 * @param context The arithmetic of the computation
+	 * @return The value of the function at the specified point
+	 * @throws IllegalArgumentException if no mapping between a used variable and a value is found
+	 */
+	public Number of (HashMap<String, Number> x, ArithmeticContext context)
+	{
+		return context.call (() -> of (x));
+	}
+
 	/**
 	 * Returns the first order derivative of this {@code Function}
 	 * 
@@ -163,227 +182,263 @@ public class Function
 	{
 		if (root == null)
 			return null;
-		
-		if (root instanceof NumberNode)
-			return new NumberNode (Number.ZERO);
+
+		return root.<Derivative>accept ((node, left, right) -> derive (node, left, right, var)).derivative();
+	}
+
+	// value of a subtree, null if it is not a number, and its derivative
+	private record Derivative (Number value, Node derivative) {}
+
+	// derives one node from the values and derivatives of its children
+	private static Derivative derive (Node root, Derivative l, Derivative r, String var)
+	{
+		if (root instanceof NumberNode n)
+			return new Derivative (n.getValue(), new NumberNode (Number.ZERO));
 		else if (root instanceof VariableNode v)
 		{
 			if (v.getName().equals (var))
-				return new NumberNode (Number.ONE);
+				return new Derivative (null, new NumberNode (Number.ONE));
 			else
-				return new NumberNode (Number.ZERO);
+				return new Derivative (null, new NumberNode (Number.ZERO));
 		}
 		else if (root instanceof OperatorNode o)
 		{
-			Number left = null, right = null;
+			Number left = l != null ? l.value() : null, right = r != null ? r.value() : null;
+			Number value = null;
 
-			try
-			{
-				left = Number.valueOf (o.getLeft(), null);
-			}
-			catch (Exception e){}
-			
-			try
+			if ((o.getLeft() == null || left != null) && (o.getRight() == null || right != null))
 			{
-				right = Number.valueOf (o.getRight(), null);
+				try
+				{
+					value = Number.apply (o.getOperator(), left, right);
+				}
+				catch (Exception e){}
 			}
-			catch (Exception e){}
 
-			// we are deriving a number
-			if (o.getOperator().nbParams() == 2 && left != null && right != null || o.getOperator().nbParams() == 1 && right != null)
-			{
-				return new NumberNode (Number.ZERO);
-			}
-			
-			switch (o.getOperator())
-			{
-				case ADD: case SUB: 
-					if (left != null)
-						return deriveNode (o.getRight(), var);
-					else if (right != null)
-						return deriveNode (o.getLeft(), var);
+			return new Derivative (value, deriveOperator (o, left, right, l != null ? l.derivative() : null, r != null ? r.derivative() : null, var));
+		}
 
-					return new OperatorNode (o.getOperator(), deriveNode (root.getLeft(), var), deriveNode (root.getRight(), var));
-				case MUL: 
-					Node derivLeft = null, derivRight = null;
-					if (left != null)
-					{
-						derivLeft = new NumberNode (left);
-						derivRight = deriveNode (o.getRight(), var);
-					}
-					else if (right != null)
-					{
-						derivLeft = new NumberNode (right);
-						derivRight = deriveNode (o.getLeft(), var);
-					}
-					else
+		return new Derivative (null, null);
+	}
+
+	private static Node deriveOperator (OperatorNode o, Number left, Number right, Node dLeft, Node dRight, String var)
+	{
+		// we are deriving a number
+		if (o.getOperator().nbParams() == 2 && left != null && right != null || o.getOperator().nbParams() == 1 && right != null)
+		{
+			return new NumberNode (Number.ZERO);
+		}
+		
+		switch (o.getOperator())
+		{
+			case ADD: case SUB: 
+				if (left != null)
+					return dRight;
+				else if (right != null)
+					return dLeft;
+
+				return new OperatorNode (o.getOperator(), dLeft, dRight);
+			case MUL: 
+				Node derivLeft = null, derivRight = null;
+				if (left != null)
+				{
+					derivLeft = new NumberNode (left);
+					derivRight = dRight;
+				}
+				else if (right != null)
+				{
+					derivLeft = new NumberNode (right);
+					derivRight = dLeft;
+				}
+				else
+				{
+					derivLeft = new OperatorNode (Operators.MUL, dLeft, o.getRight());
+					derivRight = new OperatorNode (Operators.MUL, o.getLeft(), dRight);
+				}
+
+				try
+				{
+					Number n = Number.valueOf (derivRight, null);
+					if (derivLeft instanceof NumberNode nb)
 					{
-						derivLeft = new OperatorNode (Operators.MUL, deriveNode (o.getLeft(), var), o.getRight());
-						derivRight = new OperatorNode (Operators.MUL, o.getLeft(), deriveNode (o.getRight(), var));
+						return new NumberNode (nb.getValue().multiply (n));
 					}
+				} 
+				catch (Exception e){}
+					
+				return new OperatorNode
+				(
+					right == null && left == null ? Operators.ADD : Operators.MUL,
+					derivLeft,
+					derivRight
+				);
+			case DIV: 
+				{
+					Number pow = Number.ONE.negate();
+					if (o.getRight() instanceof OperatorNode op && op.getOperator().equals (Operators.POW))
+						pow = ((NumberNode) op.getRight()).getValue();
 
-					try
-					{
-						Number n = Number.valueOf (derivRight, null);
-						if (derivLeft instanceof NumberNode nb)
-						{
-							return new NumberNode (nb.getValue().multiply (n));
-						}
-					} 
-					catch (Exception e){}
-						
-					return new OperatorNode
+					Node powNode = new OperatorNode
 					(
-						right == null && left == null ? Operators.ADD : Operators.MUL,
-						derivLeft,
-						derivRight
+						Operators.POW,
+						o.getRight(),
+						new NumberNode (pow)
 					);
-				case DIV: 
-					{
-						Number pow = Number.ONE.negate();
-						if (o.getRight() instanceof OperatorNode op && op.getOperator().equals (Operators.POW))
-							pow = ((NumberNode) op.getRight()).getValue();
-
-						Node equivalent = new OperatorNode
+					Node equivalent = new OperatorNode
+					(
+						Operators.MUL,
+						o.getLeft(),
+						powNode
+					);
+					Derivative power = derive (powNode, new Derivative (right, dRight), new Derivative (pow, new NumberNode (Number.ZERO)), var);
+					return derive (equivalent, new Derivative (left, dLeft), power, var).derivative();
+				}
+			case POW:
+				if (right != null) // Power is a number use n*f(x)^(n-1)*d_dx(f)
+				{
+					Number pow = right.subtract (Number.ONE);
+					Node powNode = null;
+					if (pow.equals (Number.ONE))
+						powNode = o.getLeft();
+					else
+						powNode = new OperatorNode
 						(
-							Operators.MUL,
+							Operators.POW,
 							o.getLeft(),
-							new OperatorNode
-							(
-								Operators.POW,
-								o.getRight(),
-								new NumberNode (pow)
-							)
+							new NumberNode (pow)
 						);
-						return deriveNode (equivalent, var);
-					}
-				case POW:
-					try // Power is a number use n*f(x)^(n-1)*d_dx(f)
-					{
-						Number pow = Number.valueOf (o.getRight(), null);
-						pow = pow.subtract (Number.ONE);
-						Node powNode = null;
-						if (pow.equals (Number.ONE))
-							powNode = o.getLeft();
-						else
-							powNode = new OperatorNode
-							(
-								Operators.POW,
-								o.getLeft(),
-								new NumberNode (pow)
-							);
 
-						return new OperatorNode
+					return new OperatorNode
+					(
+						Operators.MUL,
+						new NumberNode (pow.add (Number.ONE)),
+						new OperatorNode
 						(
 							Operators.MUL,
-							new NumberNode (pow.add (Number.ONE)),
-							new OperatorNode
-							(
-								Operators.MUL,
-								deriveNode (root.getLeft(), var),
-								powNode
-							)
-						);
-					}
-					catch (IllegalArgumentException iae) // use deriv (u^v) = u^v * (lnu * dv/dx + v/u * du/dx)
-					{
-						return new OperatorNode
+							dLeft,
+							powNode
+						)
+					);
+				}
+				else // use deriv (u^v) = u^v * (lnu * dv/dx + v/u * du/dx)
+				{
+					return new OperatorNode
+					(
+						Operators.MUL,
+						o,
+						new OperatorNode
 						(
-							Operators.MUL,
-							o,
+							Operators.ADD,
 							new OperatorNode
 							(
-								Operators.ADD,
+								Operators.MUL,
 								new OperatorNode
 								(
-									Operators.MUL,
-									new OperatorNode
-									(
-										Operators.LN,
-										null,
-										o.getLeft()
-									),
-									deriveNode (o.getRight(), var)
+									Operators.LN,
+									null,
+									o.getLeft()
 								),
+								dRight
+							),
+							new OperatorNode
+							(
+								Operators.MUL,
 								new OperatorNode
 								(
-									Operators.MUL,
-									new OperatorNode
-									(
-										Operators.DIV,
-										o.getRight(),
-										o.getLeft()
-									),
-									deriveNode (o.getLeft(), var)
-								)
+									Operators.DIV,
+									o.getRight(),
+									o.getLeft()
+								),
+								dLeft
 							)
-						);
-					}
-				case LN: return new OperatorNode
+						)
+					);
+				}
+			case LN: return new OperatorNode
+				(
+					Operators.DIV,
+					dRight,
+					o.getRight()
+				);
+			case EXP: return new OperatorNode
+				(
+					Operators.MUL,
+					dRight,
+					new OperatorNode
 					(
-						Operators.DIV,
-						deriveNode (o.getRight(), var),
+						Operators.EXP,
+						null,
 						o.getRight()
-					);
-				case EXP: return new OperatorNode
+					)
+				);
+			case ABS: return new OperatorNode
+				(
+					Operators.DIV,
+					o,
+					o.getRight()
+				);
+			case SIN: return new OperatorNode
+				(
+					Operators.MUL,
+					new OperatorNode
 					(
-						Operators.MUL,
-						deriveNode (o.getRight(), var),
-						new OperatorNode
-						(
-							Operators.EXP,
-							null,
-							o.getRight()
-						)
-					);
-				case ABS: return new OperatorNode
+						Operators.SUB,
+						null,
+						dRight
+					),
+					new OperatorNode
 					(
-						Operators.DIV,
-						o,
+						Operators.COS,
+						null,
 						o.getRight()
-					);
-				case SIN: return new OperatorNode
+					)
+				);
+			case COS: return new OperatorNode
+				(
+					Operators.MUL,
+					dRight,
+					new OperatorNode
 					(
-						Operators.MUL,
-						new OperatorNode
-						(
-							Operators.SUB,
-							null,
-							deriveNode (o.getRight(), var)
-						),
-						new OperatorNode
-						(
-							Operators.COS,
-							null,
-							o.getRight()
-						)
-					);
-				case COS: return new OperatorNode
+						Operators.SIN,
+						null,
+						o.getRight()
+					)
+				);
+			case TAN: return new OperatorNode
+				(
+					Operators.DIV,
+					dRight,
+					new OperatorNode
 					(
-						Operators.MUL,
-						deriveNode (o.getRight(), var),
-						new OperatorNode
-						(
-							Operators.SIN,
-							null,
-							o.getRight()
-						)
-					);
-				case TAN: return new OperatorNode
+						Operators.POW,
+						new OperatorNode (Operators.COS, null, o.getRight()),
+						new NumberNode (2.0, 0.0)
+					)
+				);
+			case ASIN: return new OperatorNode
+				(
+					Operators.DIV,
+					dRight,
+					new OperatorNode
 					(
-						Operators.DIV,
-						deriveNode (o.getRight(), var),
+						Operators.POW,
 						new OperatorNode
 						(
-							Operators.POW,
-							new OperatorNode (Operators.COS, null, o.getRight()),
-							new NumberNode (2.0, 0.0)
-						)
-					);
-				case ASIN: return new OperatorNode
+							Operators.SUB,
+							new NumberNode (Number.ONE),
+							new OperatorNode (Operators.POW, o.getRight(), new NumberNode (Number.real (2.0)))
+						),
+						new NumberNode (Number.real (FractionValue.valueOf (1, 5)))
+					)
+				);
+			case ACOS: return new OperatorNode
+				(
+					Operators.SUB,
+					new NumberNode (Number.ZERO),
+					new OperatorNode
 					(
 						Operators.DIV,
-						deriveNode (o.getRight(), var),
+						dRight,
 						new OperatorNode
 						(
 							Operators.POW,
@@ -391,140 +446,117 @@ public class Function
 							(
 								Operators.SUB,
 								new NumberNode (Number.ONE),
-								new OperatorNode (Operators.POW, o.getRight(), new NumberNode (Number.real (2.0)))
+								new OperatorNode (Operators.POW, o.getRight(), new NumberNode (2.0, 0.0))
 							),
-							new NumberNode (Number.real (new FractionValue (1, 5)))
+							new NumberNode (Number.real (FractionValue.valueOf (1, 5)))
 						)
-					);
-				case ACOS: return new OperatorNode
+					)
+				);
+			case ATAN: return new OperatorNode
+				(
+					Operators.DIV,
+					dRight,
+					new OperatorNode
 					(
-						Operators.SUB,
-						new NumberNode (Number.ZERO),
-						new OperatorNode
-						(
-							Operators.DIV,
-							deriveNode (o.getRight(), var),
-							new OperatorNode
-							(
-								Operators.POW,
-								new OperatorNode
-								(
-									Operators.SUB,
-									new NumberNode (Number.ONE),
-									new OperatorNode (Operators.POW, o.getRight(), new NumberNode (2.0, 0.0))
-								),
-								new NumberNode (Number.real (new FractionValue (1, 5)))
-							)
-						)
-					);
-				case ATAN: return new OperatorNode
+						Operators.ADD,
+						new NumberNode (Number.ONE),
+						new OperatorNode (Operators.POW, o.getRight(), new NumberNode (2.0, 0.0))
+					)
+				);
+			case SINH: return new OperatorNode
+				(
+					Operators.MUL,
+					dRight,
+					new OperatorNode
 					(
-						Operators.DIV,
-						deriveNode (o.getRight(), var),
+						Operators.COSH,
+						null,
+						o.getRight()
+					)
+				);
+			case COSH: return new OperatorNode
+				(
+					Operators.MUL,
+					dRight,
+					new OperatorNode
+					(
+						Operators.SINH,
+						null,
+						o.getRight()
+					)
+				);
+			case TANH: return new OperatorNode
+				(
+					Operators.DIV,
+					dRight,
+					new OperatorNode
+					(
+						Operators.POW,
+						new OperatorNode (Operators.COSH, null, o.getRight()),
+						new NumberNode (2.0, 0.0)
+					)
+				);
+			case ASH: return new OperatorNode
+				(
+					Operators.DIV,
+					dRight,
+					new OperatorNode
+					(
+						Operators.POW,
 						new OperatorNode
 						(
 							Operators.ADD,
 							new NumberNode (Number.ONE),
 							new OperatorNode (Operators.POW, o.getRight(), new NumberNode (2.0, 0.0))
-						)
-					);
-				case SINH: return new OperatorNode
-					(
-						Operators.MUL,
-						deriveNode (o.getRight(), var),
-						new OperatorNode
-						(
-							Operators.COSH,
-							null,
-							o.getRight()
-						)
-					);
-				case COSH: return new OperatorNode
+						),
+						new NumberNode (Number.real (FractionValue.valueOf (1, 5)))
+					)
+				);
+			case ACH: return new OperatorNode
+				(
+					Operators.DIV,
+					dRight,
+					new OperatorNode 
 					(
 						Operators.MUL,
-						deriveNode (o.getRight(), var),
-						new OperatorNode
-						(
-							Operators.SINH,
-							null,
-							o.getRight()
-						)
-					);
-				case TANH: return new OperatorNode
-					(
-						Operators.DIV,
-						deriveNode (o.getRight(), var),
-						new OperatorNode
-						(
-							Operators.POW,
-							new OperatorNode (Operators.COSH, null, o.getRight()),
-							new NumberNode (2.0, 0.0)
-						)
-					);
-				case ASH: return new OperatorNode
-					(
-						Operators.DIV,
-						deriveNode (o.getRight(), var),
 						new OperatorNode
 						(
 							Operators.POW,
 							new OperatorNode
 							(
-								Operators.ADD,
-								new NumberNode (Number.ONE),
-								new OperatorNode (Operators.POW, o.getRight(), new NumberNode (2.0, 0.0))
+								Operators.SUB,
+								o.getRight(),
+								new NumberNode (Number.ONE)
 							),
-							new NumberNode (Number.real (new FractionValue (1, 5)))
-						)
-					);
-				case ACH: return new OperatorNode
-					(
-						Operators.DIV,
-						deriveNode (o.getRight(), var),
-						new OperatorNode 
+							new NumberNode (Number.real (FractionValue.valueOf (1, 5)))
+						),
+						new OperatorNode
 						(
-							Operators.MUL,
+							Operators.POW,
 							new OperatorNode
 							(
-								Operators.POW,
-								new OperatorNode
-								(
-									Operators.SUB,
-									o.getRight(),
-									new NumberNode (Number.ONE)
-								),
-								new NumberNode (Number.real (new FractionValue (1, 5)))
+								Operators.ADD,
+								o.getRight(),
+								new NumberNode (Number.ONE)
 							),
-							new OperatorNode
-							(
-								Operators.POW,
-								new OperatorNode
-								(
-									Operators.ADD,
-									o.getRight(),
-									new NumberNode (Number.ONE)
-								),
-								new NumberNode (Number.real (new FractionValue (1, 5)))
-							)
+							new NumberNode (Number.real (FractionValue.valueOf (1, 5)))
 						)
-					);
-				case ATH: return new OperatorNode
+					)
+				);
+			case ATH: return new OperatorNode
+				(
+					Operators.DIV,
+					dRight,
+					new OperatorNode
 					(
-						Operators.DIV,
-						deriveNode (o.getRight(), var),
-						new OperatorNode
-						(
-							Operators.SUB,
-							new NumberNode (Number.ONE),
-							new OperatorNode (Operators.POW, o.getRight(), new NumberNode (2.0, 0.0))
-						)
-					);
-				default:
-					return null;
-			}
+						Operators.SUB,
+						new NumberNode (Number.ONE),
+						new OperatorNode (Operators.POW, o.getRight(), new NumberNode (2.0, 0.0))
+					)
+				);
+			default:
+				return null;
 		}
-
-		return null;
 	}
 
 	// public Function integrate (String var)
@@ -3,6 +3,7 @@ package com.AdvancedMath.Graphs;
 import com.AdvancedMath.Numbers.ConstantValue;
 import com.AdvancedMath.Numbers.FloatValue;
 import com.AdvancedMath.Numbers.FractionValue;
+import com.AdvancedMath.Numbers.Number;
 import com.AdvancedMath.Numbers.Value;
 
 /**
@@ -53,22 +54,23 @@ public class Point implements Graphable
 	}
 
 	@Override
-	public Double distance (Graphable g)
+	public double distance (Graphable g)
 	{
-		Point p = (Point) g;
+		// a Number is not a Point, but has the same coordinates
+		Point p = g instanceof Number n ? new Point (n.getX(), n.getY()) : (Point) g;
 		return Math.sqrt (Math.pow (this.x.subtract(p.getX()).getDoubleValue(), 2) + Math.pow (this.y.subtract(p.getY()).getDoubleValue(), 2));
 	}
 
 	@Override
-	public Double length ()
+	public double length ()
 	{
-		return Math.sqrt (this.x.pow(new FractionValue (2, 1)).add(this.y.pow (new FractionValue (2, 1))).getDoubleValue());
+		return Math.sqrt (this.x.pow(FractionValue.valueOf (2, 1)).add(this.y.pow (FractionValue.valueOf (2, 1))).getDoubleValue());
 	}
 
 	@Override
 	public Value argument ()
 	{
-		FloatValue length = new FloatValue (length());
+		FloatValue length = FloatValue.valueOf (length());
 		Value[] comps = {x.divide (length), y.divide (length)};
 
 		int quad = 0;
@@ -79,7 +81,7 @@ public class Point implements Graphable
 			else
 			{
 				quad = 3;
-				comps[1].negate();
+				comps[1] = comps[1].negateCopy();
 				
 				Value temp = comps[0];
 				comps[0] = comps[1];
@@ -89,7 +91,7 @@ public class Point implements Graphable
 			if (comps[1].compare (FractionValue.ZERO) == 1)
 			{
 				quad = 1;
-				comps[0].negate();
+				comps[0] = comps[0].negateCopy();
 				
 				Value temp = comps[0];
 				comps[0] = comps[1];
@@ -98,8 +100,8 @@ public class Point implements Graphable
 			else
 			{
 				quad = 2;
-				comps[0].negate();
-				comps[1].negate();
+				comps[0] = comps[0].negateCopy();
+				comps[1] = comps[1].negateCopy();
 			}
 		
 		ConstantValue 	sqrt3Over2 = ConstantValue.pow (0.5, 3, 0.5),
@@ -112,7 +114,7 @@ public class Point implements Graphable
 			arg = ConstantValue.pow (1.0 / 6, Math.PI, 1);
 		else if (comps[0].equals (sqrt2Over2))
 			arg = ConstantValue.pow (0.25, Math.PI, 1);
-		else if (comps[0].equals (new FractionValue (1, 2)))
+		else if (comps[0].equals (FractionValue.valueOf (1, 2)))
 			arg = ConstantValue.pow (1.0 / 3, Math.PI, 1);
 		else if (comps[0].equals (FractionValue.ZERO))
 			arg = ConstantValue.pow (0.5, Math.PI, 1);
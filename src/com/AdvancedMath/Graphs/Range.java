@@ -57,16 +57,16 @@ public class Range implements Cloneable
 	 */
 	public Range (double lower, boolean includeLower, boolean includeUpper, double upper)
 	{
-		this.lower = new FloatValue (lower);
+		this.lower = FloatValue.valueOf (lower);
 		this.includeLower = includeLower;
 		this.includeUpper = includeUpper;
-		this.upper = new FloatValue (upper);
+		this.upper = FloatValue.valueOf (upper);
 	}
 
 	public Range (double centre, double length, boolean includeBorders)
 	{
-		this.lower = new FloatValue (centre - length / 2);
-		this.upper = new FloatValue (centre + length / 2);
+		this.lower = FloatValue.valueOf (centre - length / 2);
+		this.upper = FloatValue.valueOf (centre + length / 2);
 		this.includeLower = this.includeUpper = includeBorders;
 	}
 	
@@ -288,7 +288,7 @@ public class Range implements Cloneable
 	 */
 	public static Range gt (Value v)
 	{
-		return new Range (v, false, false, new FloatValue (Double.POSITIVE_INFINITY));
+		return new Range (v, false, false, FloatValue.valueOf (Double.POSITIVE_INFINITY));
 	}
 	
 	/**
@@ -299,7 +299,7 @@ public class Range implements Cloneable
 	 */
 	public static Range gte (Value v)
 	{
-		return new Range (v, true, false, new FloatValue (Double.POSITIVE_INFINITY));
+		return new Range (v, true, false, FloatValue.valueOf (Double.POSITIVE_INFINITY));
 	}
 	
 	/**
@@ -310,7 +310,7 @@ public class Range implements Cloneable
 	 */
 	public static Range lt (Value v)
 	{
-		return new Range (new FloatValue (Double.NEGATIVE_INFINITY), false, false, v);
+		return new Range (FloatValue.valueOf (Double.NEGATIVE_INFINITY), false, false, v);
 	}
 	
 	/**
@@ -321,7 +321,7 @@ public class Range implements Cloneable
 	 */
 	public static Range lte (Value v)
 	{
-		return new Range (new FloatValue (Double.NEGATIVE_INFINITY), true, false, v);
+		return new Range (FloatValue.valueOf (Double.NEGATIVE_INFINITY), true, false, v);
 	}
 
 	/**
@@ -0,0 +1,24 @@
+package com.AdvancedMath.Numbers;
+
+/**
+ * Enumeration of the accuracies of the elementary functions of {@link ComplexMath}. The errors are given for each part of the
+ * result, in ulps of the larger part, as measured against 40 digits over 100000 random arguments whose parts are up to 20
+ *
+ * @see ComplexMath#apply(com.AdvancedMath.Functionalities.Operators, double, double, double, double, Accuracy, double[])
+ */
+public enum Accuracy
+{
+	/**
+	 * Combines the functions of {@code Math}, which are within 1 ulp, e.g. sin (x + yi) = sin (x) cosh (y) + i cos (x) sinh (y).
+	 * The results of exp, sin, cos, sinh and cosh are within 3 ulps, and those of ln within 4 ulps
+	 */
+	FAITHFUL,
+	/**
+	 * Computes the sine and the cosine of the same argument with a single reduction modulo π/2 and polynomials of degree 17, the
+	 * hyperbolic sine and cosine with a single exponential or, below 1/2, with polynomials of degree 14, and the modulus with a square
+	 * root rather than {@code Math.hypot} when the squares neither overflow nor underflow. The results of exp, sin, cos, sinh and cosh
+	 * are within 3 ulps, and ln has an absolute error below 2^-51 on its real part, which is large in ulps near |z| = 1. The sine and
+	 * cosine of the parts beyond 2^19 are computed as with {@link #FAITHFUL}
+	 */
+	FAST
+}
@@ -0,0 +1,77 @@
+package com.AdvancedMath.Numbers;
+
+import java.util.function.Supplier;
+
+/**
+ * Enumeration of the arithmetic used by the operations of {@code Number}, and so by {@code Number.valueOf}, {@code Function.of},
+ * the operations of {@code Matrix} and the solvers of {@code Operations}
+ *
+ * <p>A context is bound to the current thread for the duration of an action, e.g.
+ * <pre>
+ * Number res = ArithmeticContext.FAST_DOUBLE.call (() -&gt; f.of (values));
+ * </pre>
+ * The default context is {@link #SYMBOLIC_CONSTANT}
+ */
+public enum ArithmeticContext
+{
+	/**
+	 * Keeps the results exact whenever possible. The {@code FloatValue}s that are short decimals are read as fractions, e.g. 0.1 as 1/10,
+	 * and quotients are computed with fractions
+	 */
+	EXACT,
+	/**
+	 * Keeps the {@code FractionValue}s and {@code ConstantValue}s that it is given, e.g. π or sqrt(2), as far as their operations allow
+	 */
+	SYMBOLIC_CONSTANT,
+	/**
+	 * Computes everything with {@code double}s, using {@link ComplexMath}, without any of the bookkeeping of exact values
+	 */
+	FAST_DOUBLE;
+
+	private static final ThreadLocal<ArithmeticContext> CURRENT = ThreadLocal.withInitial (() -> SYMBOLIC_CONSTANT);
+
+	/**
+	 * Gets the context bound to the current thread
+	 *
+	 * @return The current context, {@link #SYMBOLIC_CONSTANT} if none is bound
+	 */
+	public static ArithmeticContext current ()
+	{
+		return CURRENT.get();
+	}
+
+	/**
+	 * Runs {@code action} with this context bound to the current thread, then restores the previous context
+	 *
+	 * @param action The computation to run
+	 * @return The result of {@code action}
+	 */
+	public <T> T call (Supplier<T> action)
+	{
+		ArithmeticContext previous = CURRENT.get();
+		CURRENT.set (this);
+
+		try
+		{
+			return action.get();
+		}
+		finally
+		{
+			CURRENT.set (previous);
+		}
+	}
+
+	/**
+	 * Runs {@code action} with this context bound to the current thread, then restores the previous context
+	 *
+	 * @param action The computation to run
+	 */
+	public void run (Runnable action)
+	{
+		call (() ->
+		{
+			action.run();
+			return null;
+		});
+	}
+}
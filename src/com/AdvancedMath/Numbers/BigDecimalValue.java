@@ -0,0 +1,306 @@
+package com.AdvancedMath.Numbers;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import com.AdvancedMath.Functionalities.Operators;
+
+/**
+ * Class that represents a decimal number of arbitrary precision. Every operation is rounded to the {@code MathContext} of the value,
+ * e.g. {@code MathContext.DECIMAL128} for 34 digits or {@code new MathContext (60)} for 60 digits
+ *
+ * <p>The constants π and e are cached once computed, so requesting them again with the same or a lower precision costs a rounding
+ *
+ * @see Number#valueOf(com.AdvancedMath.EqTree.Node, java.util.HashMap, MathContext)
+ */
+public final class BigDecimalValue extends Value
+{
+	private final BigDecimal val;
+	private final MathContext context;
+
+	private BigDecimalValue (BigDecimal val, MathContext context)
+	{
+		this.val = val.round (context);
+		this.context = context;
+	}
+
+	/**
+	 * Gets a {@code BigDecimalValue} equal to {@code val} rounded to the precision of {@code context}
+	 *
+	 * @param val The value
+	 * @param context The precision and rounding mode of this value and of the results of its operations
+	 * @return The {@code BigDecimalValue} equal to val
+	 */
+	public static BigDecimalValue valueOf (BigDecimal val, MathContext context)
+	{
+		return new BigDecimalValue (val, context);
+	}
+
+	/**
+	 * Converts any {@code Value} to a {@code BigDecimalValue}. Fractions are divided at the precision of {@code context},
+	 * a {@code FloatValue} is read as the shortest decimal that gives the same {@code double}, e.g. 0.1 is exactly 1/10,
+	 * and a {@code ConstantValue} is recomputed at that precision, its arguments equal to π, e and phi standing for these constants
+	 *
+	 * @param v The {@code Value} to convert
+	 * @param context The precision and rounding mode of the result
+	 * @return The {@code BigDecimalValue} closest to v
+	 * @throws IllegalArgumentException if v is infinite or {@code NaN}
+	 */
+	public static BigDecimalValue valueOf (Value v, MathContext context)
+	{
+		if (v instanceof BigDecimalValue b && b.context.equals (context))
+			return b;
+
+		return new BigDecimalValue (toBigDecimal (v, context), context);
+	}
+
+	/**
+	 * Gets π to the precision of {@code context}
+	 */
+	public static BigDecimalValue pi (MathContext context)
+	{
+		return new BigDecimalValue (BigMath.pi (context), context);
+	}
+
+	/**
+	 * Gets e to the precision of {@code context}
+	 */
+	public static BigDecimalValue e (MathContext context)
+	{
+		return new BigDecimalValue (BigMath.e (context), context);
+	}
+
+	static BigDecimal toBigDecimal (Value v, MathContext context)
+	{
+		if (v instanceof BigDecimalValue b)
+			return b.val;
+
+		if (v instanceof FractionValue f)
+			return new BigDecimal (f.getNumerator()).divide (new BigDecimal (f.getDenomenator()), context);
+
+		if (v instanceof RationalValue r)
+			return new BigDecimal (r.getNumerator()).divide (new BigDecimal (r.getDenominator()), context);
+
+		if (v instanceof ConstantValue c)
+			return toBigDecimal (c, context);
+
+		return toBigDecimal (v.getDoubleValue());
+	}
+
+	private static BigDecimal toBigDecimal (double d)
+	{
+		if (Double.isNaN (d) || Double.isInfinite (d))
+			throw new IllegalArgumentException ("NaN and Infinity cannot be represented by a BigDecimalValue");
+
+		return BigDecimal.valueOf (d);
+	}
+
+	// reads π, e and phi from their double approximations, as ConstantValue.toString does
+	private static BigDecimal constant (double d, MathContext context)
+	{
+		if (d == ConstantValue.PI.getDoubleValue())
+			return BigMath.pi (context);
+		if (d == ConstantValue.E.getDoubleValue())
+			return BigMath.e (context);
+		if (d == ConstantValue.PHI.getDoubleValue())
+			return BigDecimal.ONE.add (BigDecimal.valueOf (5).sqrt (context)).divide (BigDecimal.valueOf (2), context);
+
+		return toBigDecimal (d);
+	}
+
+	private static BigDecimal toBigDecimal (ConstantValue c, MathContext context)
+	{
+		MathContext wc = new MathContext (context.getPrecision() + 5, context.getRoundingMode());
+		double[] args = c.getArguments();
+		BigDecimal a = constant (args[0], wc), res;
+
+		if (c.getOperator() == Operators.EXP)
+			res = BigMath.exp (a, wc);
+		else if (c.getOperator() == Operators.LN)
+			res = BigMath.ln (a, wc);
+		else if (args[1] == (int) args[1])
+			res = a.pow ((int) args[1], wc);
+		else if (1 / args[1] == Math.rint (1 / args[1]))
+			// the exponent is 1/n, e.g. the square and cubic roots
+			res = BigMath.exp (BigMath.ln (a, wc).divide (BigDecimal.valueOf (Math.rint (1 / args[1])), wc), wc);
+		else
+			res = BigMath.exp (BigMath.ln (a, wc).multiply (toBigDecimal (args[1]), wc), wc);
+
+		return res.multiply (toBigDecimal (c.getMultiplier()), context);
+	}
+
+	public BigDecimal getBigDecimal ()
+	{
+		return this.val;
+	}
+
+	public MathContext getMathContext ()
+	{
+		return this.context;
+	}
+
+	// the operations keep the highest precision of both operands
+	private MathContext widest (Value v)
+	{
+		if (v instanceof BigDecimalValue b && b.context.getPrecision() > context.getPrecision())
+			return b.context;
+
+		return context;
+	}
+
+	@Override
+	public Value add (Value v)
+	{
+		MathContext mc = widest (v);
+		return new BigDecimalValue (val.add (toBigDecimal (v, mc), mc), mc);
+	}
+
+	@Override
+	public Value subtract (Value v)
+	{
+		MathContext mc = widest (v);
+		return new BigDecimalValue (val.subtract (toBigDecimal (v, mc), mc), mc);
+	}
+
+	@Override
+	public Value multiply (Value v)
+	{
+		MathContext mc = widest (v);
+		return new BigDecimalValue (val.multiply (toBigDecimal (v, mc), mc), mc);
+	}
+
+	/**
+	 * @throws ArithmeticException if v is 0
+	 */
+	@Override
+	public Value divide (Value v)
+	{
+		MathContext mc = widest (v);
+		return new BigDecimalValue (val.divide (toBigDecimal (v, mc), mc), mc);
+	}
+
+	/**
+	 * Raises this value to the power of {@code v}, exactly rounded for integer powers and as e^(v * ln (this)) otherwise
+	 *
+	 * @throws ArithmeticException if the result is not real, or if this value is 0 and v is negative
+	 */
+	@Override
+	public Value pow (Value v)
+	{
+		MathContext mc = widest (v);
+		BigDecimal p = toBigDecimal (v, mc);
+
+		if (p.stripTrailingZeros().scale() <= 0 && p.abs().compareTo (BigDecimal.valueOf (999999999)) <= 0)
+			return new BigDecimalValue (val.pow (p.intValue(), mc), mc);
+
+		if (val.signum() == 0 && p.signum() > 0)
+			return new BigDecimalValue (BigDecimal.ZERO, mc);
+
+		return new BigDecimalValue (BigMath.exp (BigMath.ln (val, mc).multiply (p, mc), mc), mc);
+	}
+
+	public BigDecimalValue sqrt ()
+	{
+		return new BigDecimalValue (BigMath.sqrt (val, context), context);
+	}
+
+	/**
+	 * @throws ArithmeticException if the result is too large or too small to be represented
+	 */
+	public BigDecimalValue exp ()
+	{
+		return new BigDecimalValue (BigMath.exp (val, context), context);
+	}
+
+	/**
+	 * @throws ArithmeticException if this value is not positive
+	 */
+	public BigDecimalValue ln ()
+	{
+		return new BigDecimalValue (BigMath.ln (val, context), context);
+	}
+
+	public BigDecimalValue sin ()
+	{
+		return new BigDecimalValue (BigMath.sin (val, context), context);
+	}
+
+	public BigDecimalValue cos ()
+	{
+		return new BigDecimalValue (BigMath.cos (val, context), context);
+	}
+
+	public BigDecimalValue tan ()
+	{
+		return new BigDecimalValue (BigMath.tan (val, context), context);
+	}
+
+	/**
+	 * @throws ArithmeticException if this value is not in [-1, 1]
+	 */
+	public BigDecimalValue asin ()
+	{
+		return new BigDecimalValue (BigMath.asin (val, context), context);
+	}
+
+	/**
+	 * @throws ArithmeticException if this value is not in [-1, 1]
+	 */
+	public BigDecimalValue acos ()
+	{
+		return new BigDecimalValue (BigMath.acos (val, context), context);
+	}
+
+	public BigDecimalValue atan ()
+	{
+		return new BigDecimalValue (BigMath.atan (val, context), context);
+	}
+
+	public BigDecimalValue sinh ()
+	{
+		return new BigDecimalValue (BigMath.sinh (val, context), context);
+	}
+
+	public BigDecimalValue cosh ()
+	{
+		return new BigDecimalValue (BigMath.cosh (val, context), context);
+	}
+
+	public BigDecimalValue tanh ()
+	{
+		return new BigDecimalValue (BigMath.tanh (val, context), context);
+	}
+
+	@Override
+	public int compare (Value v)
+	{
+		if (v instanceof BigDecimalValue || v instanceof FractionValue || v instanceof RationalValue)
+		{
+			MathContext mc = new MathContext (widest (v).getPrecision() + 5);
+			return val.compareTo (toBigDecimal (v, mc));
+		}
+
+		return super.compare (v);
+	}
+
+	@Override
+	public double getDoubleValue ()
+	{
+		return val.doubleValue();
+	}
+
+	@Override
+	public Value negateCopy ()
+	{
+		return new BigDecimalValue (val.negate(), context);
+	}
+
+	@Override
+	public String toString ()
+	{
+		BigDecimal s = val.stripTrailingZeros();
+		int exponent = s.precision() - s.scale() - 1;
+
+		return exponent > -7 && exponent < context.getPrecision() ? s.toPlainString() : s.toString();
+	}
+}
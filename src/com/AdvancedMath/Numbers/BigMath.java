@@ -0,0 +1,686 @@
+package com.AdvancedMath.Numbers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import com.AdvancedMath.Functionalities.Operators;
+
+/**
+ * Elementary functions on {@code BigDecimal}, computed to the precision of a {@code MathContext}, and their complex counterparts
+ * on pairs {re, im}. Each function works with a few guard digits and rounds its result to the requested precision
+ *
+ * @see BigDecimalValue
+ */
+final class BigMath
+{
+	// extra digits used in the intermediate computations
+	private static final int GUARD = 10;
+
+	private static final BigDecimal TWO = BigDecimal.valueOf (2), TEN = BigDecimal.TEN;
+
+	private record Constant (int precision, BigDecimal value) {}
+
+	// the most precise values computed so far, rounded down when less precision is requested
+	private static final AtomicReference<Constant> PI = new AtomicReference<> (), E = new AtomicReference<> (), LN10 = new AtomicReference<> ();
+
+	private BigMath () {}
+
+	private static MathContext working (MathContext mc)
+	{
+		if (mc.getPrecision() == 0)
+			throw new IllegalArgumentException ("The precision must be limited to compute irrational values");
+
+		return new MathContext (mc.getPrecision() + GUARD, RoundingMode.HALF_EVEN);
+	}
+
+	private static BigDecimal cached (AtomicReference<Constant> cache, MathContext mc, Function<MathContext, BigDecimal> compute)
+	{
+		Constant c = cache.get();
+		if (c == null || c.precision() < mc.getPrecision())
+		{
+			MathContext wc = working (mc);
+			c = new Constant (mc.getPrecision(), compute.apply (wc).round (mc));
+
+			// keep the most precise value if another thread computed one meanwhile
+			Constant previous = cache.get();
+			if (previous == null || previous.precision() < c.precision())
+				cache.set (c);
+		}
+
+		return c.value().round (mc);
+	}
+
+	// a term is negligible once it is below the last digit of the sum
+	private static boolean negligible (BigDecimal term, BigDecimal sum, MathContext wc)
+	{
+		return term.signum() == 0 || sum.signum() != 0 && term.abs().compareTo (sum.abs().movePointLeft (wc.getPrecision())) < 0;
+	}
+
+	/**
+	 * Gets π, computed with Machin's formula π = 16 * atan (1/5) - 4 * atan (1/239) and cached
+	 */
+	static BigDecimal pi (MathContext mc)
+	{
+		return cached (PI, mc, wc -> atanInverse (5, wc).multiply (BigDecimal.valueOf (16)).subtract (atanInverse (239, wc).multiply (BigDecimal.valueOf (4)), wc));
+	}
+
+	/**
+	 * Gets e, computed with its series and cached
+	 */
+	static BigDecimal e (MathContext mc)
+	{
+		return cached (E, mc, wc -> expSeries (BigDecimal.ONE, wc));
+	}
+
+	private static BigDecimal ln10 (MathContext mc)
+	{
+		return cached (LN10, mc, wc -> lnNewton (TEN, wc));
+	}
+
+	// atan (1/n) = Σ (-1)^k / ((2k+1) * n^(2k+1))
+	private static BigDecimal atanInverse (int n, MathContext wc)
+	{
+		BigDecimal n2 = BigDecimal.valueOf ((long) n * n), power = BigDecimal.ONE.divide (BigDecimal.valueOf (n), wc), sum = power;
+
+		for (int k = 1; ; k++)
+		{
+			power = power.divide (n2, wc);
+			BigDecimal term = power.divide (BigDecimal.valueOf (2 * k + 1), wc);
+			if (negligible (term, sum, wc))
+				return sum;
+
+			sum = k % 2 == 0 ? sum.add (term, wc) : sum.subtract (term, wc);
+		}
+	}
+
+	// e^x = Σ x^k / k!, for small |x|
+	private static BigDecimal expSeries (BigDecimal x, MathContext wc)
+	{
+		BigDecimal term = BigDecimal.ONE, sum = BigDecimal.ONE;
+
+		for (int k = 1; ; k++)
+		{
+			term = term.multiply (x, wc).divide (BigDecimal.valueOf (k), wc);
+			if (negligible (term, sum, wc))
+				return sum;
+
+			sum = sum.add (term, wc);
+		}
+	}
+
+	/**
+	 * Gets e^x, as e^n * e^f where n is the integer part of x, and e^f is computed on f / 2^8 then squared 8 times
+	 *
+	 * @throws ArithmeticException if the result is too large or too small to be represented
+	 */
+	static BigDecimal exp (BigDecimal x, MathContext mc)
+	{
+		if (x.signum() == 0)
+			return BigDecimal.ONE;
+
+		MathContext wc = working (mc);
+		BigDecimal n = new BigDecimal (x.toBigInteger()), f = x.subtract (n);
+
+		BigDecimal res = expSeries (f.divide (BigDecimal.valueOf (256), wc), wc);
+		for (int i = 0; i < 8; i++)
+			res = res.multiply (res, wc);
+
+		if (n.signum() != 0)
+			res = res.multiply (e (wc).pow (n.intValueExact(), wc), wc);
+
+		return res.round (mc);
+	}
+
+	// solves e^y = x with Halley's method, starting from the double logarithm. x must fit in a double
+	private static BigDecimal lnNewton (BigDecimal x, MathContext wc)
+	{
+		BigDecimal y = new BigDecimal (Math.log (x.doubleValue()));
+
+		for (int i = 0; i < 64; i++)
+		{
+			BigDecimal ey = exp (y, wc);
+			BigDecimal delta = TWO.multiply (x.subtract (ey), wc).divide (x.add (ey), wc);
+			y = y.add (delta, wc);
+
+			if (negligible (delta, y, wc) || delta.abs().compareTo (BigDecimal.ONE.movePointLeft (wc.getPrecision())) < 0)
+				break;
+		}
+
+		return y;
+	}
+
+	/**
+	 * Gets the natural log of x, as ln (m) + k * ln (10) where x = m * 10^k with m in [1, 10[
+	 *
+	 * @throws ArithmeticException if x is not positive
+	 */
+	static BigDecimal ln (BigDecimal x, MathContext mc)
+	{
+		if (x.signum() <= 0)
+			throw new ArithmeticException ("ln is defined for all postivie, non-zero numbers");
+
+		if (x.compareTo (BigDecimal.ONE) == 0)
+			return BigDecimal.ZERO;
+
+		MathContext wc = working (mc);
+		int k = x.precision() - x.scale() - 1;
+		BigDecimal res = lnNewton (x.movePointLeft (k), wc);
+
+		if (k != 0)
+			res = res.add (ln10 (wc).multiply (BigDecimal.valueOf (k), wc), wc);
+
+		return res.round (mc);
+	}
+
+	static BigDecimal sqrt (BigDecimal x, MathContext mc)
+	{
+		if (x.signum() < 0)
+			throw new ArithmeticException ("The square root of a negative number is not real");
+
+		return x.sqrt (mc);
+	}
+
+	// brings x into [-π, π]
+	private static BigDecimal reduceAngle (BigDecimal x, MathContext wc)
+	{
+		BigDecimal pi = pi (new MathContext (wc.getPrecision() + Math.max (0, x.precision() - x.scale())));
+		if (x.abs().compareTo (pi) <= 0)
+			return x;
+
+		BigDecimal twoPi = pi.multiply (TWO);
+		x = x.subtract (twoPi.multiply (x.divideToIntegralValue (twoPi)));
+
+		if (x.compareTo (pi) > 0)
+			x = x.subtract (twoPi);
+		else if (x.compareTo (pi.negate()) < 0)
+			x = x.add (twoPi);
+
+		return x.round (wc);
+	}
+
+	// Σ (-1)^k x^(2k+start) / (2k+start)!, i.e., cos for start = 0 and sin for start = 1
+	private static BigDecimal trigSeries (BigDecimal x, int start, boolean alternate, MathContext wc)
+	{
+		BigDecimal x2 = x.multiply (x, wc), term = start == 0 ? BigDecimal.ONE : x, sum = term;
+
+		for (int k = start + 1; ; k += 2)
+		{
+			term = term.multiply (x2, wc).divide (BigDecimal.valueOf ((long) k * (k + 1)), wc);
+			if (alternate)
+				term = term.negate();
+
+			if (negligible (term, sum, wc))
+				return sum;
+
+			sum = sum.add (term, wc);
+		}
+	}
+
+	static BigDecimal sin (BigDecimal x, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		return trigSeries (reduceAngle (x, wc), 1, true, wc).round (mc);
+	}
+
+	static BigDecimal cos (BigDecimal x, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		return trigSeries (reduceAngle (x, wc), 0, true, wc).round (mc);
+	}
+
+	/**
+	 * @throws ArithmeticException if cos (x) is 0
+	 */
+	static BigDecimal tan (BigDecimal x, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		x = reduceAngle (x, wc);
+		return trigSeries (x, 1, true, wc).divide (trigSeries (x, 0, true, wc), mc);
+	}
+
+	/**
+	 * Gets atan (x), using atan (x) = π/2 - atan (1/x) for |x| > 1 and atan (x) = 2 * atan (x / (1 + sqrt (1 + x^2))) until |x| < 1/10
+	 */
+	static BigDecimal atan (BigDecimal x, MathContext mc)
+	{
+		if (x.signum() == 0)
+			return BigDecimal.ZERO;
+
+		MathContext wc = working (mc);
+		if (x.abs().compareTo (BigDecimal.ONE) > 0)
+		{
+			BigDecimal halfPi = pi (wc).divide (TWO, wc), res = halfPi.subtract (atan (BigDecimal.ONE.divide (x.abs(), wc), wc), wc);
+			return (x.signum() < 0 ? res.negate() : res).round (mc);
+		}
+
+		int doublings = 0;
+		BigDecimal tenth = new BigDecimal ("0.1");
+		while (x.abs().compareTo (tenth) > 0)
+		{
+			x = x.divide (BigDecimal.ONE.add (BigDecimal.ONE.add (x.multiply (x, wc)).sqrt (wc)), wc);
+			doublings++;
+		}
+
+		// atan (x) = Σ (-1)^k x^(2k+1) / (2k+1)
+		BigDecimal x2 = x.multiply (x, wc), power = x, sum = x;
+		for (int k = 1; ; k++)
+		{
+			power = power.multiply (x2, wc).negate();
+			BigDecimal term = power.divide (BigDecimal.valueOf (2 * k + 1), wc);
+			if (negligible (term, sum, wc))
+				break;
+
+			sum = sum.add (term, wc);
+		}
+
+		return sum.multiply (TWO.pow (doublings)).round (mc);
+	}
+
+	/**
+	 * Gets the angle of the point (x, y), in ]-π, π]
+	 */
+	static BigDecimal atan2 (BigDecimal y, BigDecimal x, MathContext mc)
+	{
+		MathContext wc = working (mc);
+
+		if (x.signum() == 0)
+			if (y.signum() == 0)
+				return BigDecimal.ZERO;
+			else
+				return pi (wc).divide (y.signum() > 0 ? TWO : TWO.negate(), mc);
+
+		BigDecimal res = atan (y.divide (x, wc), wc);
+		if (x.signum() < 0)
+			res = y.signum() < 0 ? res.subtract (pi (wc), wc) : res.add (pi (wc), wc);
+
+		return res.round (mc);
+	}
+
+	/**
+	 * @throws ArithmeticException if |x| > 1
+	 */
+	static BigDecimal asin (BigDecimal x, MathContext mc)
+	{
+		int cmp = x.abs().compareTo (BigDecimal.ONE);
+		if (cmp > 0)
+			throw new ArithmeticException ("asin is only real in [-1, 1]");
+
+		MathContext wc = working (mc);
+		return atan2 (x, BigDecimal.ONE.subtract (x.multiply (x, wc), wc).sqrt (wc), mc);
+	}
+
+	/**
+	 * @throws ArithmeticException if |x| > 1
+	 */
+	static BigDecimal acos (BigDecimal x, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		return pi (wc).divide (TWO, wc).subtract (asin (x, wc), mc);
+	}
+
+	static BigDecimal sinh (BigDecimal x, MathContext mc)
+	{
+		MathContext wc = working (mc);
+
+		// the series avoids the cancellation of (e^x - e^-x) / 2 near 0
+		if (x.abs().compareTo (BigDecimal.ONE) < 0)
+			return trigSeries (x, 1, false, wc).round (mc);
+
+		BigDecimal ex = exp (x, wc);
+		return ex.subtract (BigDecimal.ONE.divide (ex, wc), wc).divide (TWO, mc);
+	}
+
+	static BigDecimal cosh (BigDecimal x, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		BigDecimal ex = exp (x, wc);
+		return ex.add (BigDecimal.ONE.divide (ex, wc), wc).divide (TWO, mc);
+	}
+
+	static BigDecimal tanh (BigDecimal x, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		return sinh (x, wc).divide (cosh (x, wc), mc);
+	}
+
+	// complex functions on {re, im}
+
+	private static BigDecimal[] complex (BigDecimal re, BigDecimal im)
+	{
+		return new BigDecimal[] {re, im};
+	}
+
+	static BigDecimal[] multiply (BigDecimal[] a, BigDecimal[] b, MathContext mc)
+	{
+		return complex (a[0].multiply (b[0]).subtract (a[1].multiply (b[1]), mc), a[0].multiply (b[1]).add (a[1].multiply (b[0]), mc));
+	}
+
+	/**
+	 * @throws IllegalArgumentException if b is 0
+	 */
+	static BigDecimal[] divide (BigDecimal[] a, BigDecimal[] b, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		BigDecimal den = b[0].multiply (b[0]).add (b[1].multiply (b[1]), wc);
+		if (den.signum() == 0)
+			throw new IllegalArgumentException ("Math error: Dividing by zero");
+
+		return complex
+		(
+			a[0].multiply (b[0]).add (a[1].multiply (b[1]), wc).divide (den, mc),
+			a[1].multiply (b[0]).subtract (a[0].multiply (b[1]), wc).divide (den, mc)
+		);
+	}
+
+	static BigDecimal abs (BigDecimal[] z, MathContext mc)
+	{
+		return z[0].multiply (z[0]).add (z[1].multiply (z[1])).sqrt (mc);
+	}
+
+	static BigDecimal[] sqrt (BigDecimal[] z, MathContext mc)
+	{
+		if (z[1].signum() == 0)
+			return z[0].signum() >= 0 ? complex (z[0].sqrt (mc), BigDecimal.ZERO) : complex (BigDecimal.ZERO, z[0].negate().sqrt (mc));
+
+		// same as ComplexMath.sqrt, without cancellation
+		MathContext wc = working (mc);
+		BigDecimal t = z[0].abs().add (abs (z, wc)).divide (TWO, wc).sqrt (wc), twoT = t.multiply (TWO);
+		if (z[0].signum() >= 0)
+			return complex (t.round (mc), z[1].divide (twoT, mc));
+		else
+			return complex (z[1].abs().divide (twoT, mc), z[1].signum() < 0 ? t.negate().round (mc) : t.round (mc));
+	}
+
+	static BigDecimal[] exp (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		BigDecimal r = exp (z[0], wc);
+		if (z[1].signum() == 0)
+			return complex (r.round (mc), BigDecimal.ZERO);
+
+		return complex (r.multiply (cos (z[1], wc), mc), r.multiply (sin (z[1], wc), mc));
+	}
+
+	/**
+	 * @throws ArithmeticException if z is 0
+	 */
+	static BigDecimal[] ln (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		return complex (ln (abs (z, wc), mc), atan2 (z[1], z[0], mc));
+	}
+
+	static BigDecimal[] pow (BigDecimal[] z, int n, MathContext mc)
+	{
+		MathContext wc = new MathContext (working (mc).getPrecision() + 10);
+		BigDecimal[] res = complex (BigDecimal.ONE, BigDecimal.ZERO), base = z;
+
+		for (long k = Math.abs ((long) n); k != 0; k >>= 1)
+		{
+			if ((k & 1) != 0)
+				res = multiply (res, base, wc);
+			base = multiply (base, base, wc);
+		}
+
+		if (n < 0)
+			return divide (complex (BigDecimal.ONE, BigDecimal.ZERO), res, mc);
+
+		return complex (res[0].round (mc), res[1].round (mc));
+	}
+
+	/**
+	 * Gets the principal value of z^w, i.e., e^(w * ln (z))
+	 *
+	 * @throws ArithmeticException if z is 0 and the real part of w is not positive
+	 */
+	static BigDecimal[] pow (BigDecimal[] z, BigDecimal[] w, MathContext mc)
+	{
+		if (w[1].signum() == 0 && w[0].stripTrailingZeros().scale() <= 0 && w[0].abs().compareTo (BigDecimal.valueOf (Integer.MAX_VALUE)) <= 0)
+			return pow (z, w[0].intValue(), mc);
+
+		if (z[0].signum() == 0 && z[1].signum() == 0)
+			if (w[0].signum() > 0)
+				return complex (BigDecimal.ZERO, BigDecimal.ZERO);
+			else
+				throw new ArithmeticException ("0 cannot be raised to a power whose real part is not positive");
+
+		MathContext wc = working (mc);
+		return exp (multiply (w, ln (z, wc), wc), mc);
+	}
+
+	static BigDecimal[] sin (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		if (z[1].signum() == 0)
+			return complex (sin (z[0], mc), BigDecimal.ZERO);
+
+		return complex (sin (z[0], wc).multiply (cosh (z[1], wc), mc), cos (z[0], wc).multiply (sinh (z[1], wc), mc));
+	}
+
+	static BigDecimal[] cos (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		if (z[1].signum() == 0)
+			return complex (cos (z[0], mc), BigDecimal.ZERO);
+
+		return complex (cos (z[0], wc).multiply (cosh (z[1], wc), mc), sin (z[0], wc).multiply (sinh (z[1], wc), mc).negate());
+	}
+
+	static BigDecimal[] sinh (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		if (z[1].signum() == 0)
+			return complex (sinh (z[0], mc), BigDecimal.ZERO);
+
+		return complex (sinh (z[0], wc).multiply (cos (z[1], wc), mc), cosh (z[0], wc).multiply (sin (z[1], wc), mc));
+	}
+
+	static BigDecimal[] cosh (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		if (z[1].signum() == 0)
+			return complex (cosh (z[0], mc), BigDecimal.ZERO);
+
+		return complex (cosh (z[0], wc).multiply (cos (z[1], wc), mc), sinh (z[0], wc).multiply (sin (z[1], wc), mc));
+	}
+
+	// -i * ln (iz + sqrt (1 - z^2))
+	static BigDecimal[] asin (BigDecimal[] z, MathContext mc)
+	{
+		if (z[1].signum() == 0 && z[0].abs().compareTo (BigDecimal.ONE) <= 0)
+			return complex (asin (z[0], mc), BigDecimal.ZERO);
+
+		MathContext wc = working (mc);
+		BigDecimal[] z2 = multiply (z, z, wc), root = sqrt (complex (BigDecimal.ONE.subtract (z2[0]), z2[1].negate()), wc);
+		BigDecimal[] l = ln (complex (root[0].subtract (z[1]), root[1].add (z[0])), wc);
+		return complex (l[1].round (mc), l[0].negate().round (mc));
+	}
+
+	static BigDecimal[] acos (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		BigDecimal[] a = asin (z, wc);
+		return complex (pi (wc).divide (TWO, wc).subtract (a[0], mc), a[1].negate().round (mc));
+	}
+
+	// i/2 * (ln (1 - iz) - ln (1 + iz))
+	static BigDecimal[] atan (BigDecimal[] z, MathContext mc)
+	{
+		if (z[1].signum() == 0)
+			return complex (atan (z[0], mc), BigDecimal.ZERO);
+
+		MathContext wc = working (mc);
+		BigDecimal[] a = ln (complex (BigDecimal.ONE.add (z[1]), z[0].negate()), wc), b = ln (complex (BigDecimal.ONE.subtract (z[1]), z[0]), wc);
+		return complex (b[1].subtract (a[1]).divide (TWO, mc), a[0].subtract (b[0]).divide (TWO, mc));
+	}
+
+	// ln (z + sqrt (z^2 + 1)), with asinh (-z) = -asinh (z) to avoid the cancellation when the real part is negative
+	static BigDecimal[] asinh (BigDecimal[] z, MathContext mc)
+	{
+		if (z[0].signum() < 0)
+		{
+			BigDecimal[] res = asinh (complex (z[0].negate(), z[1].negate()), mc);
+			return complex (res[0].negate(), res[1].negate());
+		}
+
+		MathContext wc = working (mc);
+		BigDecimal[] z2 = multiply (z, z, wc), root = sqrt (complex (z2[0].add (BigDecimal.ONE), z2[1]), wc);
+		return ln (complex (z[0].add (root[0]), z[1].add (root[1])), mc);
+	}
+
+	// ln (z + sqrt (z + 1) * sqrt (z - 1))
+	static BigDecimal[] acosh (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		BigDecimal[] root = multiply (sqrt (complex (z[0].add (BigDecimal.ONE), z[1]), wc), sqrt (complex (z[0].subtract (BigDecimal.ONE), z[1]), wc), wc);
+		return ln (complex (z[0].add (root[0]), z[1].add (root[1])), mc);
+	}
+
+	// (ln (1 + z) - ln (1 - z)) / 2
+	static BigDecimal[] atanh (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		BigDecimal[] a = ln (complex (BigDecimal.ONE.add (z[0]), z[1]), wc), b = ln (complex (BigDecimal.ONE.subtract (z[0]), z[1].negate()), wc);
+		return complex (a[0].subtract (b[0]).divide (TWO, mc), a[1].subtract (b[1]).divide (TWO, mc));
+	}
+
+	/**
+	 * Calculates z!, i.e., Γ(z + 1), like {@link Number#factorial()}. The factorials of the integers are exact before rounding
+	 *
+	 * @throws IllegalArgumentException if z is a negative integer
+	 */
+	static BigDecimal[] factorial (BigDecimal[] z, MathContext mc)
+	{
+		if (z[1].signum() == 0 && z[0].stripTrailingZeros().scale() <= 0)
+		{
+			if (z[0].signum() < 0)
+				throw new IllegalArgumentException ("Factorial for negative integers is not defined");
+
+			return complex (new BigDecimal (Gamma.factorial (z[0].intValueExact()), mc), BigDecimal.ZERO);
+		}
+
+		return gamma (complex (z[0].add (BigDecimal.ONE), z[1]), mc);
+	}
+
+	/**
+	 * Calculates Γ(z) with Stirling's series, on z shifted until its real part is about the precision, and with the reflection
+	 * formula Γ(z) Γ(1 - z) = π / sin (πz) for the real parts below 1/2
+	 */
+	static BigDecimal[] gamma (BigDecimal[] z, MathContext mc)
+	{
+		MathContext wc = working (mc);
+		BigDecimal half = new BigDecimal ("0.5");
+
+		if (z[0].compareTo (half) < 0)
+		{
+			BigDecimal pi = pi (wc);
+			BigDecimal[] sin = sin (complex (z[0].multiply (pi, wc), z[1].multiply (pi, wc)), wc);
+			BigDecimal[] reflected = gamma (complex (BigDecimal.ONE.subtract (z[0]), z[1].negate()), wc);
+			return divide (complex (pi, BigDecimal.ZERO), multiply (sin, reflected, wc), mc);
+		}
+
+		// Γ(z) = Γ(z + n) / (z (z + 1) ... (z + n - 1)), the series converging to the precision once Re (z + n) exceeds it
+		int n = Math.max (0, mc.getPrecision() - z[0].intValue());
+		MathContext sc = new MathContext (wc.getPrecision() + Integer.toString (mc.getPrecision() + n).length() + 2, RoundingMode.HALF_EVEN);
+
+		BigDecimal[] product = complex (BigDecimal.ONE, BigDecimal.ZERO), w = z;
+		for (int i = 0; i < n; i++)
+		{
+			product = multiply (product, w, sc);
+			w = complex (w[0].add (BigDecimal.ONE), w[1]);
+		}
+
+		// ln Γ(w) = (w - 1/2) ln w - w + ln (2π) / 2 + Σ B2k / (2k (2k - 1) w^(2k - 1))
+		BigDecimal[] lnW = ln (w, sc), lnGamma = multiply (complex (w[0].subtract (half), w[1]), lnW, sc);
+		lnGamma = complex (lnGamma[0].subtract (w[0]).add (ln (pi (sc).multiply (TWO), sc).divide (TWO, sc), sc), lnGamma[1].subtract (w[1], sc));
+
+		BigDecimal[] inverse = divide (complex (BigDecimal.ONE, BigDecimal.ZERO), w, sc), inverseSquared = multiply (inverse, inverse, sc), power = inverse;
+		for (int k = 1; k <= sc.getPrecision(); k++)
+		{
+			RationalValue b = bernoulli (2 * k);
+			BigDecimal coefficient = new BigDecimal (b.getNumerator()).divide (new BigDecimal (b.getDenominator().multiply (BigInteger.valueOf ((long) (2 * k) * (2 * k - 1)))), sc);
+			BigDecimal[] term = complex (power[0].multiply (coefficient, sc), power[1].multiply (coefficient, sc));
+			if (negligible (term[0].abs().max (term[1].abs()), lnGamma[0].abs().max (lnGamma[1].abs()), sc))
+				break;
+
+			lnGamma = complex (lnGamma[0].add (term[0], sc), lnGamma[1].add (term[1], sc));
+			power = multiply (power, inverseSquared, sc);
+		}
+
+		return divide (exp (lnGamma, sc), product, mc);
+	}
+
+	// the Bernoulli numbers computed so far, from B0, with B1 = -1/2
+	private static final AtomicReference<RationalValue[]> BERNOULLI = new AtomicReference<> (new RationalValue[] {RationalValue.ONE});
+
+	// B_m = -1 / (m + 1) * Σ C(m + 1, k) B_k for k in [0, m[
+	private static RationalValue bernoulli (int m)
+	{
+		RationalValue[] known = BERNOULLI.get();
+		if (m < known.length)
+			return known[m];
+
+		RationalValue[] grown = new RationalValue [Math.max (m + 1, 2 * known.length)];
+		System.arraycopy (known, 0, grown, 0, known.length);
+		for (int i = known.length; i < grown.length; i++)
+		{
+			// the odd numbers past B1 are 0
+			if (i > 1 && i % 2 == 1)
+			{
+				grown[i] = RationalValue.ZERO;
+				continue;
+			}
+
+			Value sum = RationalValue.ZERO;
+			BigInteger binomial = BigInteger.ONE;
+			for (int k = 0; k < i; k++)
+			{
+				sum = sum.add (grown[k].multiply (RationalValue.valueOf (binomial, BigInteger.ONE)));
+				binomial = binomial.multiply (BigInteger.valueOf (i + 1 - k)).divide (BigInteger.valueOf (k + 1));
+			}
+			grown[i] = ((RationalValue) sum.multiply (RationalValue.valueOf (-1, i + 1)));
+		}
+
+		// another thread may have computed as many numbers meanwhile, and they are the same
+		BERNOULLI.accumulateAndGet (grown, (current, candidate) -> current.length >= candidate.length ? current : candidate);
+		return grown[m];
+	}
+
+	/**
+	 * Applies an operator to operands given as {re, im}, as {@link Number#apply(Operators, Number, Number)} does
+	 *
+	 * @return The result, or {@code null} for operators that have no value
+	 */
+	static BigDecimal[] apply (Operators operator, BigDecimal[] l, BigDecimal[] r, MathContext mc)
+	{
+		switch (operator)
+		{
+			case ADD: return complex (l[0].add (r[0], mc), l[1].add (r[1], mc));
+			case SUB: return complex (l[0].subtract (r[0], mc), l[1].subtract (r[1], mc));
+			case MUL: return multiply (l, r, mc);
+			case DIV: return divide (l, r, mc);
+			case POW: return pow (l, r, mc);
+			case FAC: return factorial (l, mc);
+			case LN: return ln (r, mc);
+			case EXP: return exp (r, mc);
+			case ABS: return complex (abs (r, mc), BigDecimal.ZERO);
+			case SIN: return sin (r, mc);
+			case COS: return cos (r, mc);
+			case TAN: return divide (sin (r, working (mc)), cos (r, working (mc)), mc);
+			case ASIN: return asin (r, mc);
+			case ACOS: return acos (r, mc);
+			case ATAN: return atan (r, mc);
+			case SINH: return sinh (r, mc);
+			case COSH: return cosh (r, mc);
+			case TANH: return divide (sinh (r, working (mc)), cosh (r, working (mc)), mc);
+			case ASH: return asinh (r, mc);
+			case ACH: return acosh (r, mc);
+			case ATH: return atanh (r, mc);
+			default: return null;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.AdvancedMath.Numbers;
+
+/**
+ * Cholesky decomposition of a symmetric positive definite {@code DoubleMatrix}, A = L x transpose (L), where L is lower triangular.
+ * It takes half of the operations of an LU decomposition and needs no pivoting, e.g. for covariance matrices or the normal equations
+ *
+ * @see DoubleMatrix#cholesky()
+ */
+public final class CholeskyDecomposition
+{
+	// the relative difference below which a_ij and a_ji are taken as equal, for the rounding errors of products such as A x transpose (A)
+	private static final double SYMMETRY_TOLERANCE = 1e-12;
+
+	private final int n;
+	// L, 0 above the diagonal
+	private final double[] l;
+
+	/**
+	 * Decomposes {@code a}, in O(n^3)
+	 *
+	 * @param a The matrix to decompose
+	 * @throws IllegalArgumentException if a is not square, not symmetric, or not positive definite
+	 */
+	public CholeskyDecomposition (DoubleMatrix a)
+	{
+		if (!a.isSquare())
+			throw new IllegalArgumentException ("Only square matrices have a Cholesky decomposition");
+
+		n = a.getRowCount();
+		double[] data = a.getData();
+		l = new double [n * n];
+
+		for (int j = 0; j < n; j++)
+		{
+			double sum = 0;
+			for (int i = 0; i < j; i++)
+			{
+				double aij = data[i * n + j], aji = data[j * n + i];
+				if (Math.abs (aij - aji) > SYMMETRY_TOLERANCE * Math.max (Math.abs (aij), Math.abs (aji)))
+					throw new IllegalArgumentException ("The matrix must be symmetric");
+
+				// l_ji = (a_ji - the dot product of rows j and i of L, up to column i) / l_ii
+				double dot = 0;
+				for (int k = 0; k < i; k++)
+					dot += l[j * n + k] * l[i * n + k];
+				double lji = (aji - dot) / l[i * n + i];
+				l[j * n + i] = lji;
+				sum += lji * lji;
+			}
+
+			double d = data[j * n + j] - sum;
+			if (!(d > 0))
+				throw new IllegalArgumentException ("The matrix must be positive definite");
+
+			l[j * n + j] = Math.sqrt (d);
+		}
+	}
+
+	/**
+	 * Gets the lower triangular factor L
+	 */
+	public DoubleMatrix getL ()
+	{
+		return DoubleMatrix.wrap (n, n, l.clone());
+	}
+
+	/**
+	 * Calculates the determinant of the matrix, the square of the product of the diagonal of L
+	 */
+	public double determinant ()
+	{
+		double det = 1;
+		for (int i = 0; i < n; i++)
+			det *= l[i * n + i];
+
+		return det * det;
+	}
+
+	/**
+	 * Solves A x X = B
+	 *
+	 * @param b The right hand side, with as many rows as A
+	 * @return X, with the dimensions of b
+	 * @throws IllegalArgumentException if b doesn't have as many rows as A
+	 */
+	public DoubleMatrix solve (DoubleMatrix b)
+	{
+		if (b.getRowCount() != n)
+			throw new IllegalArgumentException ("The right hand side must have as many rows as the matrix");
+
+		int cols = b.getColCount();
+		double[] x = b.getData().clone();
+
+		// L x Y = B, then transpose (L) x X = Y, a row of X at a time
+		for (int k = 0; k < n; k++)
+		{
+			double d = l[k * n + k];
+			for (int j = 0; j < cols; j++)
+				x[k * cols + j] /= d;
+
+			for (int i = k + 1; i < n; i++)
+			{
+				double f = l[i * n + k];
+				if (f != 0)
+					for (int j = 0; j < cols; j++)
+						x[i * cols + j] -= f * x[k * cols + j];
+			}
+		}
+
+		for (int k = n - 1; k >= 0; k--)
+		{
+			double d = l[k * n + k];
+			for (int j = 0; j < cols; j++)
+				x[k * cols + j] /= d;
+
+			for (int i = 0; i < k; i++)
+			{
+				double f = l[k * n + i];
+				if (f != 0)
+					for (int j = 0; j < cols; j++)
+						x[i * cols + j] -= f * x[k * cols + j];
+			}
+		}
+
+		return DoubleMatrix.wrap (n, cols, x);
+	}
+
+	/**
+	 * Computes the inverse of the matrix, by solving A x X = I
+	 */
+	public DoubleMatrix inverse ()
+	{
+		return solve (DoubleMatrix.identity (n));
+	}
+}
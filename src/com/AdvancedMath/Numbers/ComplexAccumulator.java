@@ -0,0 +1,302 @@
+package com.AdvancedMath.Numbers;
+
+/**
+ * Class that represents a mutable complex number, to chain operations in loops without creating objects. Each operation
+ * replaces the value of the accumulator by the result and returns the accumulator
+ *
+ * <p>e.g. evaluating z^2 + c for many points:
+ * <pre>
+ * ComplexAccumulator z = new ComplexAccumulator();
+ * z.set (0, 0);
+ * for (int i = 0; i &lt; 100; i++)
+ * 	z.square().add (cRe, cIm);
+ * </pre>
+ *
+ * <p>An accumulator is not thread-safe
+ *
+ * @see ComplexMath
+ */
+public class ComplexAccumulator
+{
+	private final double[] value = new double [2];
+
+	/**
+	 * Creates an accumulator holding 0
+	 */
+	public ComplexAccumulator () {}
+
+	/**
+	 * Creates an accumulator holding re + im*i
+	 */
+	public ComplexAccumulator (double re, double im)
+	{
+		set (re, im);
+	}
+
+	/**
+	 * Creates an accumulator holding the value of {@code n}
+	 */
+	public ComplexAccumulator (Number n)
+	{
+		set (n);
+	}
+
+	public double getRe ()
+	{
+		return value[0];
+	}
+
+	public double getIm ()
+	{
+		return value[1];
+	}
+
+	public double abs ()
+	{
+		return ComplexMath.abs (value[0], value[1]);
+	}
+
+	public double arg ()
+	{
+		return ComplexMath.arg (value[0], value[1]);
+	}
+
+	public ComplexAccumulator set (double re, double im)
+	{
+		value[0] = re;
+		value[1] = im;
+		return this;
+	}
+
+	public ComplexAccumulator set (Number n)
+	{
+		return set (n.getX().getDoubleValue(), n.getY().getDoubleValue());
+	}
+
+	public ComplexAccumulator set (ComplexAccumulator c)
+	{
+		return set (c.value[0], c.value[1]);
+	}
+
+	public ComplexAccumulator conjugate ()
+	{
+		ComplexMath.conjugate (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator negate ()
+	{
+		ComplexMath.negate (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator add (double re, double im)
+	{
+		ComplexMath.add (value[0], value[1], re, im, value);
+		return this;
+	}
+
+	public ComplexAccumulator add (ComplexAccumulator c)
+	{
+		return add (c.value[0], c.value[1]);
+	}
+
+	public ComplexAccumulator subtract (double re, double im)
+	{
+		ComplexMath.subtract (value[0], value[1], re, im, value);
+		return this;
+	}
+
+	public ComplexAccumulator subtract (ComplexAccumulator c)
+	{
+		return subtract (c.value[0], c.value[1]);
+	}
+
+	public ComplexAccumulator multiply (double re, double im)
+	{
+		ComplexMath.multiply (value[0], value[1], re, im, value);
+		return this;
+	}
+
+	public ComplexAccumulator multiply (double d)
+	{
+		ComplexMath.multiply (value[0], value[1], d, value);
+		return this;
+	}
+
+	public ComplexAccumulator multiply (ComplexAccumulator c)
+	{
+		return multiply (c.value[0], c.value[1]);
+	}
+
+	/**
+	 * Adds a * b to this accumulator, e.g. to compute dot products
+	 */
+	public ComplexAccumulator addProduct (double aRe, double aIm, double bRe, double bIm)
+	{
+		return set (value[0] + aRe * bRe - aIm * bIm, value[1] + aRe * bIm + aIm * bRe);
+	}
+
+	public ComplexAccumulator divide (double re, double im)
+	{
+		ComplexMath.divide (value[0], value[1], re, im, value);
+		return this;
+	}
+
+	public ComplexAccumulator divide (double d)
+	{
+		ComplexMath.divide (value[0], value[1], d, value);
+		return this;
+	}
+
+	public ComplexAccumulator divide (ComplexAccumulator c)
+	{
+		return divide (c.value[0], c.value[1]);
+	}
+
+	public ComplexAccumulator reciprocal ()
+	{
+		ComplexMath.reciprocal (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator square ()
+	{
+		return multiply (value[0], value[1]);
+	}
+
+	public ComplexAccumulator pow (int n)
+	{
+		ComplexMath.pow (value[0], value[1], n, value);
+		return this;
+	}
+
+	public ComplexAccumulator pow (double re, double im)
+	{
+		ComplexMath.pow (value[0], value[1], re, im, value);
+		return this;
+	}
+
+	public ComplexAccumulator sqrt ()
+	{
+		ComplexMath.sqrt (value[0], value[1], value);
+		return this;
+	}
+
+	/**
+	 * Replaces this value by its kth nth root
+	 *
+	 * @see ComplexMath#root(double, double, int, int, double[])
+	 */
+	public ComplexAccumulator root (int n, int k)
+	{
+		ComplexMath.root (value[0], value[1], n, k, value);
+		return this;
+	}
+
+	public ComplexAccumulator exp ()
+	{
+		ComplexMath.exp (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator ln ()
+	{
+		ComplexMath.ln (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator sin ()
+	{
+		ComplexMath.sin (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator cos ()
+	{
+		ComplexMath.cos (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator tan ()
+	{
+		ComplexMath.tan (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator sinh ()
+	{
+		ComplexMath.sinh (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator cosh ()
+	{
+		ComplexMath.cosh (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator tanh ()
+	{
+		ComplexMath.tanh (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator asin ()
+	{
+		ComplexMath.asin (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator acos ()
+	{
+		ComplexMath.acos (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator atan ()
+	{
+		ComplexMath.atan (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator asinh ()
+	{
+		ComplexMath.asinh (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator acosh ()
+	{
+		ComplexMath.acosh (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator atanh ()
+	{
+		ComplexMath.atanh (value[0], value[1], value);
+		return this;
+	}
+
+	public ComplexAccumulator factorial ()
+	{
+		ComplexMath.factorial (value[0], value[1], value);
+		return this;
+	}
+
+	/**
+	 * Creates a {@code Number} holding the current value
+	 *
+	 * @return A new {@code Number}
+	 */
+	public Number toNumber ()
+	{
+		return new Number (value[0], value[1]);
+	}
+
+	@Override
+	public String toString ()
+	{
+		return toNumber().toString();
+	}
+}
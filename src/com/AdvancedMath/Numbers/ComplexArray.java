@@ -0,0 +1,446 @@
+package com.AdvancedMath.Numbers;
+
+/**
+ * Class that represents an array of complex numbers stored as two arrays of {@code double}, one for the real parts and one for the
+ * imaginary parts, rather than as an array of {@code Number}s. The element-wise operations loop over the primitive arrays, so the
+ * arithmetic ones can be vectorised by the JIT compiler
+ *
+ * <p>Each operation writes its result in an {@code out} array of the same length, which can be this array or the other operand,
+ * and returns it, e.g. z = z^2 + c for every element:
+ * <pre>
+ * z.multiply (z, z).add (c, z);
+ * </pre>
+ *
+ * <p>The functions give the same results as those of {@link ComplexMath}. A {@code ComplexArray} is not thread-safe
+ */
+public final class ComplexArray
+{
+	private final double[] re, im;
+
+	/**
+	 * Creates an array of {@code length} zeros
+	 *
+	 * @param length The number of elements
+	 */
+	public ComplexArray (int length)
+	{
+		this (new double [length], new double [length]);
+	}
+
+	private ComplexArray (double[] re, double[] im)
+	{
+		this.re = re;
+		this.im = im;
+	}
+
+	/**
+	 * Creates an array that uses {@code re} and {@code im} as its real and imaginary parts, without copying them
+	 *
+	 * @param re The real parts
+	 * @param im The imaginary parts
+	 * @return A {@code ComplexArray} backed by the given arrays
+	 * @throws IllegalArgumentException if the arrays do not have the same length
+	 */
+	public static ComplexArray wrap (double[] re, double[] im)
+	{
+		if (re.length != im.length)
+			throw new IllegalArgumentException ("The real and imaginary parts must have the same length");
+
+		return new ComplexArray (re, im);
+	}
+
+	/**
+	 * Converts an array of {@code Number}s, using the {@code double} values of their components
+	 *
+	 * @param numbers The numbers to convert
+	 * @return A new {@code ComplexArray} with the values of {@code numbers}
+	 */
+	public static ComplexArray of (Number[] numbers)
+	{
+		ComplexArray res = new ComplexArray (numbers.length);
+		for (int i = 0; i < numbers.length; i++)
+			res.set (i, numbers[i]);
+
+		return res;
+	}
+
+	/**
+	 * Converts a {@code Matrix}, reading its elements row by row
+	 *
+	 * @param m The matrix to convert
+	 * @return A new {@code ComplexArray} of {@code m.getRowCount() * m.getColCount()} elements
+	 */
+	public static ComplexArray of (Matrix m)
+	{
+		int cols = m.getColCount();
+		ComplexArray res = new ComplexArray (m.getRowCount() * cols);
+		for (int i = 0; i < m.getRowCount(); i++)
+			for (int j = 0; j < cols; j++)
+				res.set (i * cols + j, m.getValueAt (i, j));
+
+		return res;
+	}
+
+	public int length ()
+	{
+		return re.length;
+	}
+
+	/**
+	 * Gets the real parts. The array is the one backing this {@code ComplexArray}, not a copy
+	 */
+	public double[] getReal ()
+	{
+		return re;
+	}
+
+	/**
+	 * Gets the imaginary parts. The array is the one backing this {@code ComplexArray}, not a copy
+	 */
+	public double[] getImaginary ()
+	{
+		return im;
+	}
+
+	public double getRe (int i)
+	{
+		return re[i];
+	}
+
+	public double getIm (int i)
+	{
+		return im[i];
+	}
+
+	/**
+	 * Gets the element at index i as a {@code Number}
+	 */
+	public Number get (int i)
+	{
+		return new Number (re[i], im[i]);
+	}
+
+	public void set (int i, double re, double im)
+	{
+		this.re[i] = re;
+		this.im[i] = im;
+	}
+
+	public void set (int i, Number n)
+	{
+		set (i, n.getX().getDoubleValue(), n.getY().getDoubleValue());
+	}
+
+	/**
+	 * Creates a {@code Number} for each element
+	 *
+	 * @return A new array of {@code Number}s
+	 */
+	public Number[] toNumbers ()
+	{
+		Number[] res = new Number [length()];
+		for (int i = 0; i < res.length; i++)
+			res[i] = get (i);
+
+		return res;
+	}
+
+	/**
+	 * Creates a {@code Matrix} filled row by row with the elements of this array
+	 *
+	 * @param columns The number of columns of the matrix
+	 * @return A new {@code Matrix} of {@code length() / columns} rows
+	 * @throws IllegalArgumentException if the length of this array is not a multiple of {@code columns}
+	 */
+	public Matrix toMatrix (int columns)
+	{
+		if (columns <= 0 || length() == 0 || length() % columns != 0)
+			throw new IllegalArgumentException ("The number of elements must be a non zero multiple of the number of columns");
+
+		return new Matrix (toNumbers(), columns);
+	}
+
+	public ComplexArray copy ()
+	{
+		return new ComplexArray (re.clone(), im.clone());
+	}
+
+	private void checkLength (ComplexArray other)
+	{
+		if (other.length() != length())
+			throw new IllegalArgumentException ("The arrays must have the same length");
+	}
+
+	/**
+	 * @return out, containing this[i] + b[i] for each i
+	 */
+	public ComplexArray add (ComplexArray b, ComplexArray out)
+	{
+		checkLength (b);
+		checkLength (out);
+
+		double[] aRe = re, aIm = im, bRe = b.re, bIm = b.im, oRe = out.re, oIm = out.im;
+		for (int i = 0; i < aRe.length; i++)
+		{
+			oRe[i] = aRe[i] + bRe[i];
+			oIm[i] = aIm[i] + bIm[i];
+		}
+
+		return out;
+	}
+
+	/**
+	 * @return out, containing this[i] - b[i] for each i
+	 */
+	public ComplexArray subtract (ComplexArray b, ComplexArray out)
+	{
+		checkLength (b);
+		checkLength (out);
+
+		double[] aRe = re, aIm = im, bRe = b.re, bIm = b.im, oRe = out.re, oIm = out.im;
+		for (int i = 0; i < aRe.length; i++)
+		{
+			oRe[i] = aRe[i] - bRe[i];
+			oIm[i] = aIm[i] - bIm[i];
+		}
+
+		return out;
+	}
+
+	/**
+	 * @return out, containing this[i] * b[i] for each i
+	 */
+	public ComplexArray multiply (ComplexArray b, ComplexArray out)
+	{
+		checkLength (b);
+		checkLength (out);
+
+		double[] aRe = re, aIm = im, bRe = b.re, bIm = b.im, oRe = out.re, oIm = out.im;
+		for (int i = 0; i < aRe.length; i++)
+		{
+			// read both parts before writing, out being possibly one of the operands
+			double xRe = aRe[i], xIm = aIm[i], yRe = bRe[i], yIm = bIm[i];
+			oRe[i] = xRe * yRe - xIm * yIm;
+			oIm[i] = xRe * yIm + xIm * yRe;
+		}
+
+		return out;
+	}
+
+	/**
+	 * @return out, containing this[i] * (cRe + cIm*i) for each i
+	 */
+	public ComplexArray multiply (double cRe, double cIm, ComplexArray out)
+	{
+		checkLength (out);
+
+		double[] aRe = re, aIm = im, oRe = out.re, oIm = out.im;
+		for (int i = 0; i < aRe.length; i++)
+		{
+			double xRe = aRe[i], xIm = aIm[i];
+			oRe[i] = xRe * cRe - xIm * cIm;
+			oIm[i] = xRe * cIm + xIm * cRe;
+		}
+
+		return out;
+	}
+
+	/**
+	 * Divides element by element with Smith's algorithm, like {@link ComplexMath#divide(double, double, double, double, double[])}
+	 *
+	 * @return out, containing this[i] / b[i] for each i
+	 */
+	public ComplexArray divide (ComplexArray b, ComplexArray out)
+	{
+		checkLength (b);
+		checkLength (out);
+
+		double[] aRe = re, aIm = im, bRe = b.re, bIm = b.im, oRe = out.re, oIm = out.im;
+		for (int i = 0; i < aRe.length; i++)
+		{
+			double xRe = aRe[i], xIm = aIm[i], yRe = bRe[i], yIm = bIm[i];
+			if (Math.abs (yRe) >= Math.abs (yIm))
+			{
+				double ratio = yIm / yRe, den = yRe + yIm * ratio;
+				oRe[i] = (xRe + xIm * ratio) / den;
+				oIm[i] = (xIm - xRe * ratio) / den;
+			}
+			else
+			{
+				double ratio = yRe / yIm, den = yRe * ratio + yIm;
+				oRe[i] = (xRe * ratio + xIm) / den;
+				oIm[i] = (xIm * ratio - xRe) / den;
+			}
+		}
+
+		return out;
+	}
+
+	/**
+	 * @return out, containing the conjugate of each element
+	 */
+	public ComplexArray conjugate (ComplexArray out)
+	{
+		checkLength (out);
+
+		double[] aIm = im, oIm = out.im;
+		if (out != this)
+			System.arraycopy (re, 0, out.re, 0, re.length);
+		for (int i = 0; i < aIm.length; i++)
+			oIm[i] = - aIm[i];
+
+		return out;
+	}
+
+	/**
+	 * Gets the modulus of each element
+	 *
+	 * @param out The array receiving the moduli, of the same length as this array
+	 * @return out
+	 */
+	public double[] abs (double[] out)
+	{
+		if (out.length != length())
+			throw new IllegalArgumentException ("The arrays must have the same length");
+
+		for (int i = 0; i < out.length; i++)
+			out[i] = Math.hypot (re[i], im[i]);
+
+		return out;
+	}
+
+	/**
+	 * Gets the argument of each element, in ]-π, π]
+	 *
+	 * @param out The array receiving the arguments, of the same length as this array
+	 * @return out
+	 */
+	public double[] arg (double[] out)
+	{
+		if (out.length != length())
+			throw new IllegalArgumentException ("The arrays must have the same length");
+
+		for (int i = 0; i < out.length; i++)
+			out[i] = Math.atan2 (im[i], re[i]);
+
+		return out;
+	}
+
+	/**
+	 * @return out, containing e^this[i] for each i
+	 */
+	public ComplexArray exp (ComplexArray out)
+	{
+		checkLength (out);
+
+		for (int i = 0; i < re.length; i++)
+		{
+			double r = Math.exp (re[i]), theta = im[i];
+			out.re[i] = theta == 0 ? r : r * Math.cos (theta);
+			out.im[i] = theta == 0 ? 0 : r * Math.sin (theta);
+		}
+
+		return out;
+	}
+
+	/**
+	 * @return out, containing the principal natural log of each element
+	 */
+	public ComplexArray ln (ComplexArray out)
+	{
+		checkLength (out);
+
+		for (int i = 0; i < re.length; i++)
+		{
+			double x = re[i], y = im[i];
+			out.re[i] = Math.log (Math.hypot (x, y));
+			out.im[i] = Math.atan2 (y, x);
+		}
+
+		return out;
+	}
+
+	/**
+	 * @return out, containing sin (this[i]) for each i
+	 */
+	public ComplexArray sin (ComplexArray out)
+	{
+		checkLength (out);
+
+		for (int i = 0; i < re.length; i++)
+		{
+			double x = re[i], y = im[i];
+			out.re[i] = Math.sin (x) * Math.cosh (y);
+			out.im[i] = Math.cos (x) * Math.sinh (y);
+		}
+
+		return out;
+	}
+
+	/**
+	 * @return out, containing cos (this[i]) for each i
+	 */
+	public ComplexArray cos (ComplexArray out)
+	{
+		checkLength (out);
+
+		for (int i = 0; i < re.length; i++)
+		{
+			double x = re[i], y = im[i];
+			out.re[i] = Math.cos (x) * Math.cosh (y);
+			out.im[i] = - Math.sin (x) * Math.sinh (y);
+		}
+
+		return out;
+	}
+
+	/**
+	 * Raises each element to an integer power by repeated squaring
+	 *
+	 * @return out, containing this[i]^n for each i
+	 */
+	public ComplexArray pow (int n, ComplexArray out)
+	{
+		checkLength (out);
+
+		double[] res = new double [2];
+		for (int i = 0; i < re.length; i++)
+		{
+			ComplexMath.pow (re[i], im[i], n, res);
+			out.re[i] = res[0];
+			out.im[i] = res[1];
+		}
+
+		return out;
+	}
+
+	/**
+	 * Raises each element to the complex power p = pRe + pIm*i, i.e., e^(p * ln (this[i]))
+	 *
+	 * @return out, containing this[i]^p for each i
+	 */
+	public ComplexArray pow (double pRe, double pIm, ComplexArray out)
+	{
+		checkLength (out);
+
+		double[] res = new double [2];
+		for (int i = 0; i < re.length; i++)
+		{
+			ComplexMath.pow (re[i], im[i], pRe, pIm, res);
+			out.re[i] = res[0];
+			out.im[i] = res[1];
+		}
+
+		return out;
+	}
+
+	@Override
+	public String toString ()
+	{
+		StringBuilder sb = new StringBuilder ("[");
+		for (int i = 0; i < length(); i++)
+			sb.append (i == 0 ? "" : ", ").append (get (i));
+
+		return sb.append ("]").toString();
+	}
+}
@@ -0,0 +1,664 @@
+package com.AdvancedMath.Numbers;
+
+import com.AdvancedMath.Functionalities.Operators;
+
+/**
+ * Class that defines the operations of {@code Number} on complex numbers given as two {@code double}, their real and imaginary parts.
+ * The result is written in a {@code double[]} given by the caller, the real part at index 0 and the imaginary part at index 1, so
+ * no object is created. The {@code out} array can be reused from one call to the next, and the arguments can be read from it
+ *
+ * <p>e.g. (1 + 2i) * (3 - i):
+ * <pre>
+ * double[] out = new double [2];
+ * ComplexMath.multiply (1, 2, 3, -1, out); // out = {5, 5}
+ * </pre>
+ *
+ * <p>The functions return the principal values, with the usual branch cuts, e.g. ln has its cut along the negative real axis.
+ * The elementary functions have an overload that takes an {@link Accuracy}, the others being {@link Accuracy#FAITHFUL}
+ *
+ * @see ComplexAccumulator
+ */
+public final class ComplexMath
+{
+	private ComplexMath () {}
+
+	// the 3 parts of π/2 of the reduction of Cody and Waite, the first two having 33 bits so their products by q < 2^20 are exact
+	private static final double PIO2_1 = 1.57079632673412561417e+00, PIO2_2 = 6.07710050630396597660e-11, PIO2_3 = 2.02226624879595063154e-21;
+	private static final double MAX_REDUCED = 0x1p19;
+
+	private static double[] set (double re, double im, double[] out)
+	{
+		out[0] = re;
+		out[1] = im;
+		return out;
+	}
+
+	// writes {sin (x), cos (x)}
+	private static double[] sinCos (double x, Accuracy accuracy, double[] out)
+	{
+		if (accuracy == Accuracy.FAITHFUL || !(Math.abs (x) <= MAX_REDUCED))
+			return set (Math.sin (x), Math.cos (x), out);
+
+		double q = Math.rint (x * (2 / Math.PI));
+		double r = x - q * PIO2_1 - q * PIO2_2 - q * PIO2_3, z = r * r;
+
+		// Taylor polynomials, whose truncation errors are below 1e-19 on [-π/4, π/4]
+		double sin = r + r * z * (-1.0 / 6 + z * (1.0 / 120 + z * (-1.0 / 5040 + z * (1.0 / 362880 + z * (-1.0 / 39916800
+				+ z * (1.0 / 6227020800.0 + z * (-1.0 / 1307674368000.0 + z * (1.0 / 355687428096000.0))))))));
+		double cos = 1 + z * (-0.5 + z * (1.0 / 24 + z * (-1.0 / 720 + z * (1.0 / 40320 + z * (-1.0 / 3628800
+				+ z * (1.0 / 479001600 + z * (-1.0 / 87178291200.0 + z * (1.0 / 20922789888000.0))))))));
+
+		switch ((int) ((long) q & 3))
+		{
+			case 0: return set (sin, cos, out);
+			case 1: return set (cos, -sin, out);
+			case 2: return set (-sin, -cos, out);
+			default: return set (-cos, sin, out);
+		}
+	}
+
+	// writes {sinh (x), cosh (x)}
+	private static double[] sinhCosh (double x, Accuracy accuracy, double[] out)
+	{
+		double ax = Math.abs (x);
+		if (accuracy == Accuracy.FAITHFUL || !(ax < 700))
+			return set (Math.sinh (x), Math.cosh (x), out);
+
+		if (ax < 0.5)
+		{
+			// Taylor polynomials, as (e^x - e^-x) / 2 cancels near 0
+			double z = x * x;
+			return set
+			(
+				x + x * z * (1.0 / 6 + z * (1.0 / 120 + z * (1.0 / 5040 + z * (1.0 / 362880 + z * (1.0 / 39916800 + z * (1.0 / 6227020800.0)))))),
+				1 + z * (0.5 + z * (1.0 / 24 + z * (1.0 / 720 + z * (1.0 / 40320 + z * (1.0 / 3628800 + z * (1.0 / 479001600 + z * (1.0 / 87178291200.0))))))),
+				out
+			);
+		}
+
+		double e = Math.exp (ax), inv = 1 / e;
+		return set (Math.copySign (0.5 * (e - inv), x), 0.5 * (e + inv), out);
+	}
+
+	// ln |z|
+	private static double logAbs (double re, double im, Accuracy accuracy)
+	{
+		double s = re * re + im * im;
+		if (accuracy == Accuracy.FAST && s > 0x1p-1000 && s < 0x1p1000)
+			return 0.5 * Math.log (s);
+
+		return Math.log (abs (re, im));
+	}
+
+	/**
+	 * Gets the modulus |z| of z = re + im*i, without overflow nor underflow in the intermediate results
+	 */
+	public static double abs (double re, double im)
+	{
+		return Math.hypot (re, im);
+	}
+
+	/**
+	 * Gets the modulus |z| of z = re + im*i. With {@link Accuracy#FAST}, it is computed as sqrt (re^2 + im^2) unless the squares
+	 * overflow or underflow
+	 */
+	public static double abs (double re, double im, Accuracy accuracy)
+	{
+		double s = re * re + im * im;
+		if (accuracy == Accuracy.FAST && s > 0x1p-1000 && s < 0x1p1000)
+			return Math.sqrt (s);
+
+		return Math.hypot (re, im);
+	}
+
+	/**
+	 * Gets the argument of z = re + im*i, in ]-π, π]
+	 */
+	public static double arg (double re, double im)
+	{
+		return Math.atan2 (im, re);
+	}
+
+	/**
+	 * Writes the number of modulus r and argument theta
+	 *
+	 * @return out
+	 */
+	public static double[] fromPolar (double r, double theta, double[] out)
+	{
+		return set (r * Math.cos (theta), r * Math.sin (theta), out);
+	}
+
+	/**
+	 * @return out, containing re - im*i
+	 */
+	public static double[] conjugate (double re, double im, double[] out)
+	{
+		return set (re, -im, out);
+	}
+
+	/**
+	 * @return out, containing -(re + im*i)
+	 */
+	public static double[] negate (double re, double im, double[] out)
+	{
+		return set (-re, -im, out);
+	}
+
+	/**
+	 * @return out, containing a + b
+	 */
+	public static double[] add (double aRe, double aIm, double bRe, double bIm, double[] out)
+	{
+		return set (aRe + bRe, aIm + bIm, out);
+	}
+
+	/**
+	 * @return out, containing a - b
+	 */
+	public static double[] subtract (double aRe, double aIm, double bRe, double bIm, double[] out)
+	{
+		return set (aRe - bRe, aIm - bIm, out);
+	}
+
+	/**
+	 * @return out, containing a * b
+	 */
+	public static double[] multiply (double aRe, double aIm, double bRe, double bIm, double[] out)
+	{
+		return set (aRe * bRe - aIm * bIm, aRe * bIm + aIm * bRe, out);
+	}
+
+	/**
+	 * @return out, containing a * d
+	 */
+	public static double[] multiply (double aRe, double aIm, double d, double[] out)
+	{
+		return set (aRe * d, aIm * d, out);
+	}
+
+	/**
+	 * Divides a by b using Smith's algorithm, which does not overflow when |b| is large
+	 *
+	 * @return out, containing a / b
+	 */
+	public static double[] divide (double aRe, double aIm, double bRe, double bIm, double[] out)
+	{
+		if (Math.abs (bRe) >= Math.abs (bIm))
+		{
+			double ratio = bIm / bRe, den = bRe + bIm * ratio;
+			return set ((aRe + aIm * ratio) / den, (aIm - aRe * ratio) / den, out);
+		}
+		else
+		{
+			double ratio = bRe / bIm, den = bRe * ratio + bIm;
+			return set ((aRe * ratio + aIm) / den, (aIm * ratio - aRe) / den, out);
+		}
+	}
+
+	/**
+	 * @return out, containing a / d
+	 */
+	public static double[] divide (double aRe, double aIm, double d, double[] out)
+	{
+		return set (aRe / d, aIm / d, out);
+	}
+
+	/**
+	 * @return out, containing 1 / z
+	 */
+	public static double[] reciprocal (double re, double im, double[] out)
+	{
+		return divide (1, 0, re, im, out);
+	}
+
+	/**
+	 * Raises z to an integer power by repeated squaring, which is exact as long as the intermediate results are
+	 *
+	 * @return out, containing z^n
+	 */
+	public static double[] pow (double re, double im, int n, double[] out)
+	{
+		double resRe = 1, resIm = 0, baseRe = re, baseIm = im;
+
+		for (long k = Math.abs ((long) n); k != 0; k >>= 1)
+		{
+			double t;
+			if ((k & 1) != 0)
+			{
+				t = resRe * baseRe - resIm * baseIm;
+				resIm = resRe * baseIm + resIm * baseRe;
+				resRe = t;
+			}
+
+			t = baseRe * baseRe - baseIm * baseIm;
+			baseIm = 2 * baseRe * baseIm;
+			baseRe = t;
+		}
+
+		return n < 0 ? reciprocal (resRe, resIm, out) : set (resRe, resIm, out);
+	}
+
+	/**
+	 * Raises a to the complex power b, i.e., e^(b * ln(a)). 0^b is 0 when the real part of b is positive
+	 *
+	 * @return out, containing a^b
+	 */
+	public static double[] pow (double aRe, double aIm, double bRe, double bIm, double[] out)
+	{
+		return pow (aRe, aIm, bRe, bIm, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing a^b
+	 */
+	public static double[] pow (double aRe, double aIm, double bRe, double bIm, Accuracy accuracy, double[] out)
+	{
+		if (bIm == 0 && bRe == (int) bRe)
+			return pow (aRe, aIm, (int) bRe, out);
+
+		if (aRe == 0 && aIm == 0)
+			return bRe > 0 ? set (0, 0, out) : set (Double.NaN, Double.NaN, out);
+
+		double logAbs = logAbs (aRe, aIm, accuracy), arg = arg (aRe, aIm);
+		double re = bRe * logAbs - bIm * arg, im = bRe * arg + bIm * logAbs;
+		return exp (re, im, accuracy, out);
+	}
+
+	/**
+	 * Gets the principal square root, whose real part is not negative, without cancellation
+	 *
+	 * @return out, containing sqrt (z)
+	 */
+	public static double[] sqrt (double re, double im, double[] out)
+	{
+		return sqrt (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing sqrt (z)
+	 */
+	public static double[] sqrt (double re, double im, Accuracy accuracy, double[] out)
+	{
+		if (re == 0 && im == 0)
+			return set (0, im, out);
+
+		double t = Math.sqrt ((Math.abs (re) + abs (re, im, accuracy)) / 2);
+		if (re >= 0)
+			return set (t, im / (2 * t), out);
+		else
+			return set (Math.abs (im) / (2 * t), Math.copySign (t, im), out);
+	}
+
+	/**
+	 * Gets the kth nth root of z, i.e., |z|^(1/n) * e^(i * (arg(z) + 2kπ) / n). The 0th root is the principal root
+	 *
+	 * @param n The order of the root, negative values giving the roots of 1 / z
+	 * @param k The index of the root, in [0, |n|[
+	 * @return out, containing the kth root
+	 * @throws IllegalArgumentException if n is 0
+	 */
+	public static double[] root (double re, double im, int n, int k, double[] out)
+	{
+		if (n == 0)
+			throw new IllegalArgumentException ("The order of the root cannot be 0");
+
+		if (n < 0)
+		{
+			reciprocal (re, im, out);
+			return root (out[0], out[1], -n, k, out);
+		}
+
+		return fromPolar (Math.pow (abs (re, im), 1.0 / n), (arg (re, im) + 2 * Math.PI * k) / n, out);
+	}
+
+	/**
+	 * @return out, containing e^z
+	 */
+	public static double[] exp (double re, double im, double[] out)
+	{
+		return exp (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing e^z
+	 */
+	public static double[] exp (double re, double im, Accuracy accuracy, double[] out)
+	{
+		double r = Math.exp (re);
+		if (im == 0)
+			return set (r, 0, out);
+
+		sinCos (im, accuracy, out);
+		return set (r * out[1], r * out[0], out);
+	}
+
+	/**
+	 * Gets the principal natural log, whose imaginary part is in ]-π, π]
+	 *
+	 * @return out, containing ln (z)
+	 */
+	public static double[] ln (double re, double im, double[] out)
+	{
+		return ln (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing ln (z)
+	 */
+	public static double[] ln (double re, double im, Accuracy accuracy, double[] out)
+	{
+		return set (logAbs (re, im, accuracy), arg (re, im), out);
+	}
+
+	/**
+	 * @return out, containing sin (z)
+	 */
+	public static double[] sin (double re, double im, double[] out)
+	{
+		return sin (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing sin (z) = sin (re) cosh (im) + i cos (re) sinh (im)
+	 */
+	public static double[] sin (double re, double im, Accuracy accuracy, double[] out)
+	{
+		sinCos (re, accuracy, out);
+		double sin = out[0], cos = out[1];
+		sinhCosh (im, accuracy, out);
+
+		return set (sin * out[1], cos * out[0], out);
+	}
+
+	/**
+	 * @return out, containing cos (z)
+	 */
+	public static double[] cos (double re, double im, double[] out)
+	{
+		return cos (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing cos (z) = cos (re) cosh (im) - i sin (re) sinh (im)
+	 */
+	public static double[] cos (double re, double im, Accuracy accuracy, double[] out)
+	{
+		sinCos (re, accuracy, out);
+		double sin = out[0], cos = out[1];
+		sinhCosh (im, accuracy, out);
+
+		return set (cos * out[1], - sin * out[0], out);
+	}
+
+	/**
+	 * Computes tan (z) = (sin (2re) + i*sinh (2im)) / (cos (2re) + cosh (2im)), which tends to ±i when |im| grows
+	 *
+	 * @return out, containing tan (z)
+	 */
+	public static double[] tan (double re, double im, double[] out)
+	{
+		return tan (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing tan (z)
+	 */
+	public static double[] tan (double re, double im, Accuracy accuracy, double[] out)
+	{
+		sinhCosh (2 * im, accuracy, out);
+		double sinhIm = out[0], coshIm = out[1];
+		if (Double.isInfinite (coshIm))
+			return set (0, Math.copySign (1, im), out);
+
+		sinCos (2 * re, accuracy, out);
+		double den = out[1] + coshIm;
+		return set (out[0] / den, sinhIm / den, out);
+	}
+
+	/**
+	 * @return out, containing sinh (z)
+	 */
+	public static double[] sinh (double re, double im, double[] out)
+	{
+		return sinh (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing sinh (z) = sinh (re) cos (im) + i cosh (re) sin (im)
+	 */
+	public static double[] sinh (double re, double im, Accuracy accuracy, double[] out)
+	{
+		sinhCosh (re, accuracy, out);
+		double sinh = out[0], cosh = out[1];
+		sinCos (im, accuracy, out);
+
+		return set (sinh * out[1], cosh * out[0], out);
+	}
+
+	/**
+	 * @return out, containing cosh (z)
+	 */
+	public static double[] cosh (double re, double im, double[] out)
+	{
+		return cosh (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing cosh (z) = cosh (re) cos (im) + i sinh (re) sin (im)
+	 */
+	public static double[] cosh (double re, double im, Accuracy accuracy, double[] out)
+	{
+		sinhCosh (re, accuracy, out);
+		double sinh = out[0], cosh = out[1];
+		sinCos (im, accuracy, out);
+
+		return set (cosh * out[1], sinh * out[0], out);
+	}
+
+	/**
+	 * Computes tanh (z) = -i * tan (i*z)
+	 *
+	 * @return out, containing tanh (z)
+	 */
+	public static double[] tanh (double re, double im, double[] out)
+	{
+		return tanh (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing tanh (z)
+	 */
+	public static double[] tanh (double re, double im, Accuracy accuracy, double[] out)
+	{
+		tan (-im, re, accuracy, out);
+		return set (out[1], -out[0], out);
+	}
+
+	/**
+	 * Computes asin (z) = -i * asinh (i*z)
+	 *
+	 * @return out, containing asin (z)
+	 */
+	public static double[] asin (double re, double im, double[] out)
+	{
+		return asin (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing asin (z)
+	 */
+	public static double[] asin (double re, double im, Accuracy accuracy, double[] out)
+	{
+		asinh (-im, re, accuracy, out);
+		return set (out[1], -out[0], out);
+	}
+
+	/**
+	 * Computes acos (z) = π/2 - asin (z)
+	 *
+	 * @return out, containing acos (z)
+	 */
+	public static double[] acos (double re, double im, double[] out)
+	{
+		return acos (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing acos (z)
+	 */
+	public static double[] acos (double re, double im, Accuracy accuracy, double[] out)
+	{
+		asin (re, im, accuracy, out);
+		return set (Math.PI / 2 - out[0], -out[1], out);
+	}
+
+	/**
+	 * Computes atan (z) = -i * atanh (i*z)
+	 *
+	 * @return out, containing atan (z)
+	 */
+	public static double[] atan (double re, double im, double[] out)
+	{
+		return atan (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing atan (z)
+	 */
+	public static double[] atan (double re, double im, Accuracy accuracy, double[] out)
+	{
+		atanh (-im, re, accuracy, out);
+		return set (out[1], -out[0], out);
+	}
+
+	/**
+	 * Computes asinh (z) = ln (z + sqrt (z^2 + 1)), using asinh (-z) = -asinh (z) to avoid the cancellation when the real part is negative
+	 *
+	 * @return out, containing asinh (z)
+	 */
+	public static double[] asinh (double re, double im, double[] out)
+	{
+		return asinh (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing asinh (z)
+	 */
+	public static double[] asinh (double re, double im, Accuracy accuracy, double[] out)
+	{
+		if (re < 0)
+		{
+			asinh (-re, -im, accuracy, out);
+			return set (-out[0], -out[1], out);
+		}
+
+		sqrt (re * re - im * im + 1, 2 * re * im, accuracy, out);
+		return ln (re + out[0], im + out[1], accuracy, out);
+	}
+
+	/**
+	 * Computes acosh (z) = ln (z + sqrt (z + 1) * sqrt (z - 1)), whose branch cut is along the real axis below 1
+	 *
+	 * @return out, containing acosh (z)
+	 */
+	public static double[] acosh (double re, double im, double[] out)
+	{
+		return acosh (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing acosh (z)
+	 */
+	public static double[] acosh (double re, double im, Accuracy accuracy, double[] out)
+	{
+		sqrt (re + 1, im, accuracy, out);
+		double aRe = out[0], aIm = out[1];
+		sqrt (re - 1, im, accuracy, out);
+		double bRe = out[0], bIm = out[1];
+
+		return ln (re + aRe * bRe - aIm * bIm, im + aRe * bIm + aIm * bRe, accuracy, out);
+	}
+
+	/**
+	 * Computes atanh (z) = (ln (1 + z) - ln (1 - z)) / 2
+	 *
+	 * @return out, containing atanh (z)
+	 */
+	public static double[] atanh (double re, double im, double[] out)
+	{
+		return atanh (re, im, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * @return out, containing atanh (z)
+	 */
+	public static double[] atanh (double re, double im, Accuracy accuracy, double[] out)
+	{
+		ln (1 + re, im, accuracy, out);
+		double aRe = out[0], aIm = out[1];
+		ln (1 - re, -im, accuracy, out);
+
+		return set ((aRe - out[0]) / 2, (aIm - out[1]) / 2, out);
+	}
+
+	/**
+	 * Calculates z!, i.e., Γ(z + 1), like {@link Number#factorial()}
+	 *
+	 * @return out, containing the factorial, which is infinite past 170!
+	 * @throws IllegalArgumentException if z is a negative integer
+	 * @see Gamma
+	 */
+	public static double[] factorial (double re, double im, double[] out)
+	{
+		if (im == 0 && re < 0 && re == Math.rint (re))
+			throw new IllegalArgumentException ("Factorial for negative integers is not defined");
+
+		return Gamma.gamma (re + 1, im, out);
+	}
+
+	/**
+	 * Applies an operator to operands given as primitives, as {@link Number#apply(Operators, Number, Number)} does. The operand that
+	 * an operator does not take is ignored, e.g. the left one for functions
+	 * 
+	 * @return out, containing the result, or {@code null} if the operator has no value
+	 */
+	public static double[] apply (Operators operator, double lRe, double lIm, double rRe, double rIm, double[] out)
+	{
+		return apply (operator, lRe, lIm, rRe, rIm, Accuracy.FAITHFUL, out);
+	}
+
+	/**
+	 * Applies an operator to operands given as primitives, computing the elementary functions with the given accuracy
+	 * 
+	 * @return out, containing the result, or {@code null} if the operator has no value
+	 */
+	public static double[] apply (Operators operator, double lRe, double lIm, double rRe, double rIm, Accuracy accuracy, double[] out)
+	{
+		switch (operator)
+		{
+			case ADD: return add (lRe, lIm, rRe, rIm, out);
+			case SUB: return subtract (lRe, lIm, rRe, rIm, out);
+			case MUL: return multiply (lRe, lIm, rRe, rIm, out);
+			case DIV: return divide (lRe, lIm, rRe, rIm, out);
+			case POW: return pow (lRe, lIm, rRe, rIm, accuracy, out);
+			case FAC: return factorial (lRe, lIm, out);
+			case LN: return ln (rRe, rIm, accuracy, out);
+			case EXP: return exp (rRe, rIm, accuracy, out);
+			case ABS: return set (abs (rRe, rIm, accuracy), 0, out);
+			case SIN: return sin (rRe, rIm, accuracy, out);
+			case COS: return cos (rRe, rIm, accuracy, out);
+			case TAN: return tan (rRe, rIm, accuracy, out);
+			case ASIN: return asin (rRe, rIm, accuracy, out);
+			case ACOS: return acos (rRe, rIm, accuracy, out);
+			case ATAN: return atan (rRe, rIm, accuracy, out);
+			case SINH: return sinh (rRe, rIm, accuracy, out);
+			case COSH: return cosh (rRe, rIm, accuracy, out);
+			case TANH: return tanh (rRe, rIm, accuracy, out);
+			case ASH: return asinh (rRe, rIm, accuracy, out);
+			case ACH: return acosh (rRe, rIm, accuracy, out);
+			case ATH: return atanh (rRe, rIm, accuracy, out);
+			default: return null;
+		}
+	}
+}
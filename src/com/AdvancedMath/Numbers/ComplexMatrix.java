@@ -0,0 +1,583 @@
+package com.AdvancedMath.Numbers;
+
+import java.util.Arrays;
+
+/**
+ * Class that represents a complex matrix stored row by row in two arrays of {@code double}, one for the real parts and one for the
+ * imaginary parts, as in {@link ComplexArray}. It takes 16 bytes per element, and its methods mirror those of {@link Matrix}. The
+ * operations of a {@code Matrix} whose elements are all {@code double}s, at least one of them not real, are computed with a
+ * {@code ComplexMatrix}
+ *
+ * <p>The conversions from and to {@code Matrix} use the {@code double} values of the elements, so converting a {@code ComplexMatrix}
+ * to a {@code Matrix} and back gives the same values
+ */
+public final class ComplexMatrix
+{
+	private final int rows, cols;
+	private final double[] re, im;
+
+	/**
+	 * Creates a {@code ComplexMatrix} of dimensions rows*cols filled with 0
+	 *
+	 * @param rows The number of rows
+	 * @param cols The number of columns
+	 * @throws IllegalArgumentException if any of the dimensions is not positive
+	 */
+	public ComplexMatrix (int rows, int cols)
+	{
+		this (rows, cols, new double [checkDimensions (rows, cols) * cols], new double [rows * cols]);
+	}
+
+	private ComplexMatrix (int rows, int cols, double[] re, double[] im)
+	{
+		this.rows = rows;
+		this.cols = cols;
+		this.re = re;
+		this.im = im;
+	}
+
+	private static int checkDimensions (int rows, int cols)
+	{
+		if (rows <= 0 || cols <= 0)
+			throw new IllegalArgumentException ("Cannot create a matrix with dimensions 0");
+
+		return rows;
+	}
+
+	/**
+	 * Creates a {@code ComplexMatrix} that uses {@code re} and {@code im} as the real and imaginary parts of its elements, row by row,
+	 * without copying them
+	 *
+	 * @param rows The number of rows
+	 * @param cols The number of columns
+	 * @param re The real parts, of length rows*cols
+	 * @param im The imaginary parts, of length rows*cols
+	 * @return A {@code ComplexMatrix} backed by the given arrays
+	 * @throws IllegalArgumentException if the length of an array is not rows*cols
+	 */
+	public static ComplexMatrix wrap (int rows, int cols, double[] re, double[] im)
+	{
+		checkDimensions (rows, cols);
+		if (re.length != rows * cols || im.length != rows * cols)
+			throw new IllegalArgumentException ("The matrix must have rows * cols elements");
+
+		return new ComplexMatrix (rows, cols, re, im);
+	}
+
+	/**
+	 * Converts a {@code Matrix}, using the {@code double} values of the components of its elements
+	 *
+	 * @param m The matrix to convert
+	 * @return A new {@code ComplexMatrix} with the values of {@code m}
+	 */
+	public static ComplexMatrix of (Matrix m)
+	{
+		ComplexMatrix res = new ComplexMatrix (m.getRowCount(), m.getColCount());
+		for (int i = 0; i < res.rows; i++)
+			for (int j = 0; j < res.cols; j++)
+			{
+				Number n = m.getValueAt (i, j);
+				res.re[i * res.cols + j] = n.getX().getDoubleValue();
+				res.im[i * res.cols + j] = n.getY().getDoubleValue();
+			}
+
+		return res;
+	}
+
+	/**
+	 * Converts a {@code DoubleMatrix}, whose elements become the real parts of this one
+	 *
+	 * @param m The matrix to convert
+	 * @return A new {@code ComplexMatrix} with the values of {@code m}
+	 */
+	public static ComplexMatrix of (DoubleMatrix m)
+	{
+		return new ComplexMatrix (m.getRowCount(), m.getColCount(), m.getData().clone(), new double [m.getData().length]);
+	}
+
+	/**
+	 * Converts this matrix to a {@code Matrix} of {@code Number}s
+	 *
+	 * @return A new {@code Matrix} with the values of this one
+	 */
+	public Matrix toMatrix ()
+	{
+		Number[][] values = new Number [rows][cols];
+		for (int i = 0; i < rows; i++)
+			for (int j = 0; j < cols; j++)
+				values[i][j] = new Number (re[i * cols + j], im[i * cols + j]);
+
+		return new Matrix (values);
+	}
+
+	/**
+	 * Creates an identity matrix of size {@code size}, i.e., a matrix with 1 on the diagonal and 0 everywhere else
+	 *
+	 * @throws IllegalArgumentException if size is not positive
+	 */
+	public static ComplexMatrix identity (int size)
+	{
+		ComplexMatrix m = new ComplexMatrix (size, size);
+		for (int i = 0; i < size; i++)
+			m.re[i * size + i] = 1;
+
+		return m;
+	}
+
+	/**
+	 * Creates a matrix of dimensions rows * columns, with 0 everywhere
+	 *
+	 * @throws IllegalArgumentException if any of the dimensions is not positive
+	 */
+	public static ComplexMatrix zeros (int rows, int cols)
+	{
+		return new ComplexMatrix (rows, cols);
+	}
+
+	/**
+	 * Creates a matrix of dimensions rows * columns, with 1 everywhere
+	 *
+	 * @throws IllegalArgumentException if any of the dimensions is not positive
+	 */
+	public static ComplexMatrix ones (int rows, int cols)
+	{
+		ComplexMatrix m = new ComplexMatrix (rows, cols);
+		Arrays.fill (m.re, 1);
+		return m;
+	}
+
+	public int getRowCount ()
+	{
+		return rows;
+	}
+
+	public int getColCount ()
+	{
+		return cols;
+	}
+
+	/**
+	 * Gets the real parts row by row. The array is the one backing this matrix, not a copy
+	 */
+	public double[] getReal ()
+	{
+		return re;
+	}
+
+	/**
+	 * Gets the imaginary parts row by row. The array is the one backing this matrix, not a copy
+	 */
+	public double[] getImaginary ()
+	{
+		return im;
+	}
+
+	public double getRe (int row, int col)
+	{
+		return re[row * cols + col];
+	}
+
+	public double getIm (int row, int col)
+	{
+		return im[row * cols + col];
+	}
+
+	/**
+	 * Gets the element at the given row and column as a {@code Number}
+	 */
+	public Number getValueAt (int row, int col)
+	{
+		return new Number (re[row * cols + col], im[row * cols + col]);
+	}
+
+	public void setValueAt (int row, int col, double valueRealPart, double valueImaginaryPart)
+	{
+		re[row * cols + col] = valueRealPart;
+		im[row * cols + col] = valueImaginaryPart;
+	}
+
+	public void setValueAt (int row, int col, Number n)
+	{
+		setValueAt (row, col, n.getX().getDoubleValue(), n.getY().getDoubleValue());
+	}
+
+	/**
+	 * Returns a row vector equal to the specified row
+	 */
+	public ComplexMatrix getRow (int row)
+	{
+		return new ComplexMatrix (1, cols, Arrays.copyOfRange (re, row * cols, (row + 1) * cols),
+				Arrays.copyOfRange (im, row * cols, (row + 1) * cols));
+	}
+
+	/**
+	 * Returns a column vector equal to the specified column
+	 */
+	public ComplexMatrix getColumn (int col)
+	{
+		ComplexMatrix c = new ComplexMatrix (rows, 1);
+		for (int i = 0; i < rows; i++)
+		{
+			c.re[i] = re[i * cols + col];
+			c.im[i] = im[i * cols + col];
+		}
+
+		return c;
+	}
+
+	/**
+	 * Checks if the imaginary part of every element is 0
+	 */
+	public boolean isReal ()
+	{
+		for (double d : im)
+			if (d != 0)
+				return false;
+
+		return true;
+	}
+
+	public boolean isSquare ()
+	{
+		return rows == cols;
+	}
+
+	public ComplexMatrix copy ()
+	{
+		return new ComplexMatrix (rows, cols, re.clone(), im.clone());
+	}
+
+	/**
+	 * Transposes this matrix, i.e., interchanges the columns into rows and vice versa
+	 *
+	 * @return The transpose of this matrix
+	 */
+	public ComplexMatrix transpose ()
+	{
+		return transpose (false);
+	}
+
+	/**
+	 * Transposes this matrix and conjugates its elements, i.e., computes its Hermitian adjoint
+	 *
+	 * @return The conjugate transpose of this matrix
+	 */
+	public ComplexMatrix conjugateTranspose ()
+	{
+		return transpose (true);
+	}
+
+	private ComplexMatrix transpose (boolean conjugate)
+	{
+		ComplexMatrix res = new ComplexMatrix (cols, rows);
+		for (int i = 0; i < rows; i++)
+			for (int j = 0; j < cols; j++)
+			{
+				res.re[j * rows + i] = re[i * cols + j];
+				res.im[j * rows + i] = conjugate ? - im[i * cols + j] : im[i * cols + j];
+			}
+
+		return res;
+	}
+
+	private void checkSameDimensions (ComplexMatrix m, String operation)
+	{
+		if (rows != m.rows || cols != m.cols)
+			throw new IllegalArgumentException ("Only matrices with the same dimensions can be " + operation);
+	}
+
+	/**
+	 * Adds two matrices element by element
+	 *
+	 * @throws IllegalArgumentException if the matrices don't have the same dimensions
+	 */
+	public ComplexMatrix add (ComplexMatrix m)
+	{
+		checkSameDimensions (m, "added");
+
+		ComplexMatrix res = new ComplexMatrix (rows, cols);
+		for (int i = 0; i < re.length; i++)
+		{
+			res.re[i] = re[i] + m.re[i];
+			res.im[i] = im[i] + m.im[i];
+		}
+
+		return res;
+	}
+
+	/**
+	 * Subtracts two matrices element by element
+	 *
+	 * @throws IllegalArgumentException if the matrices don't have the same dimensions
+	 */
+	public ComplexMatrix sub (ComplexMatrix m)
+	{
+		checkSameDimensions (m, "subtracted");
+
+		ComplexMatrix res = new ComplexMatrix (rows, cols);
+		for (int i = 0; i < re.length; i++)
+		{
+			res.re[i] = re[i] - m.re[i];
+			res.im[i] = im[i] - m.im[i];
+		}
+
+		return res;
+	}
+
+	/**
+	 * Multiplies all of the elements of this matrix by the complex number {@code nRe + nIm i}
+	 */
+	public ComplexMatrix multiply (double nRe, double nIm)
+	{
+		ComplexMatrix res = new ComplexMatrix (rows, cols);
+		for (int i = 0; i < re.length; i++)
+		{
+			res.re[i] = re[i] * nRe - im[i] * nIm;
+			res.im[i] = re[i] * nIm + im[i] * nRe;
+		}
+
+		return res;
+	}
+
+	/**
+	 * Multiplies all of the elements of this matrix by {@code n}
+	 */
+	public ComplexMatrix multiply (Number n)
+	{
+		return multiply (n.getX().getDoubleValue(), n.getY().getDoubleValue());
+	}
+
+	/**
+	 * Multiplies two matrices as this x m
+	 *
+	 * @param m The matrix to multiply with
+	 * @return The result of the multiplication
+	 * @throws IllegalArgumentException if the column count of this matrix is not the row count of m
+	 */
+	public ComplexMatrix multiply (ComplexMatrix m)
+	{
+		if (cols != m.rows)
+			throw new IllegalArgumentException ("The provided matrix must have the same number of rows as the number of columns of the first one");
+
+		ComplexMatrix res = new ComplexMatrix (rows, m.cols);
+		double[] cRe = res.re, cIm = res.im, bRe = m.re, bIm = m.im;
+
+		// i, k, j order, so the rows of m and of the result are read and written sequentially
+		for (int i = 0; i < rows; i++)
+		{
+			int resRow = i * m.cols;
+			for (int k = 0; k < cols; k++)
+			{
+				double aRe = re[i * cols + k], aIm = im[i * cols + k];
+				int bRow = k * m.cols;
+				for (int j = 0; j < m.cols; j++)
+				{
+					cRe[resRow + j] += aRe * bRe[bRow + j] - aIm * bIm[bRow + j];
+					cIm[resRow + j] += aRe * bIm[bRow + j] + aIm * bRe[bRow + j];
+				}
+			}
+		}
+
+		return res;
+	}
+
+	/**
+	 * Calculates the determinant of this matrix by LU decomposition with partial pivoting, in O(n^3)
+	 *
+	 * @return The determinant of the matrix
+	 * @throws IllegalArgumentException if the matrix is not square
+	 */
+	public Number determinant ()
+	{
+		if (!isSquare())
+			throw new IllegalArgumentException ("Cannot compute the determinant of a non square matrix");
+
+		int n = rows;
+		double[] aRe = re.clone(), aIm = im.clone();
+		double detRe = factor (aRe, aIm, new int [n]) ? -1 : 1, detIm = 0;
+
+		for (int k = 0; k < n; k++)
+		{
+			double pRe = aRe[k * n + k], pIm = aIm[k * n + k], d = detRe * pRe - detIm * pIm;
+			detIm = detRe * pIm + detIm * pRe;
+			detRe = d;
+		}
+
+		return new Number (detRe, detIm);
+	}
+
+	// LU decomposition with partial pivoting in place, the multipliers of L below the diagonal and U on and above it, where row i
+	// of the result comes from row pivot[i]. Returns whether the rows were swapped an odd number of times
+	private boolean factor (double[] aRe, double[] aIm, int[] pivot)
+	{
+		int n = rows;
+		double[] f = new double [2];
+		boolean odd = false;
+		for (int i = 0; i < n; i++)
+			pivot[i] = i;
+
+		for (int k = 0; k < n; k++)
+		{
+			// |re| + |im| orders the pivots as well as the modulus, without a square root
+			int p = k;
+			for (int i = k + 1; i < n; i++)
+				if (Math.abs (aRe[i * n + k]) + Math.abs (aIm[i * n + k]) > Math.abs (aRe[p * n + k]) + Math.abs (aIm[p * n + k]))
+					p = i;
+
+			if (p != k)
+			{
+				swapRows (aRe, n, p, k);
+				swapRows (aIm, n, p, k);
+				int tmp = pivot[p];
+				pivot[p] = pivot[k];
+				pivot[k] = tmp;
+				odd = !odd;
+			}
+
+			double pRe = aRe[k * n + k], pIm = aIm[k * n + k];
+			if (pRe == 0 && pIm == 0)
+				// the column is already 0 below the diagonal
+				continue;
+
+			for (int i = k + 1; i < n; i++)
+			{
+				ComplexMath.divide (aRe[i * n + k], aIm[i * n + k], pRe, pIm, f);
+				aRe[i * n + k] = f[0];
+				aIm[i * n + k] = f[1];
+				if (f[0] != 0 || f[1] != 0)
+					for (int j = k + 1; j < n; j++)
+					{
+						aRe[i * n + j] -= f[0] * aRe[k * n + j] - f[1] * aIm[k * n + j];
+						aIm[i * n + j] -= f[0] * aIm[k * n + j] + f[1] * aRe[k * n + j];
+					}
+			}
+		}
+
+		return odd;
+	}
+
+	/**
+	 * Solves this x X = b by LU decomposition with partial pivoting. The matrix is taken as singular when a pivot is below n * 2^-52
+	 * times its largest element, in |re| + |im|
+	 *
+	 * @param b The right hand side, with as many rows as this matrix
+	 * @return X, with the dimensions of b
+	 * @throws IllegalArgumentException if the matrix is not square, if b doesn't have as many rows as this matrix, or if this matrix
+	 * is singular
+	 */
+	public ComplexMatrix solve (ComplexMatrix b)
+	{
+		if (!isSquare())
+			throw new IllegalArgumentException ("Only square matrices can be used to solve a system");
+		if (b.rows != rows)
+			throw new IllegalArgumentException ("The right hand side must have as many rows as the matrix");
+
+		int n = rows, cols = b.cols;
+		double max = 0;
+		for (int i = 0; i < re.length; i++)
+			max = Math.max (max, Math.abs (re[i]) + Math.abs (im[i]));
+
+		double[] aRe = re.clone(), aIm = im.clone(), f = new double [2];
+		int[] pivot = new int [n];
+		factor (aRe, aIm, pivot);
+		for (int k = 0; k < n; k++)
+			if (!(Math.abs (aRe[k * n + k]) + Math.abs (aIm[k * n + k]) > n * Math.ulp (1.0) * max))
+				throw new IllegalArgumentException ("Math error: The matrix is singular");
+
+		ComplexMatrix x = new ComplexMatrix (n, cols);
+		double[] xRe = x.re, xIm = x.im;
+		for (int i = 0; i < n; i++)
+		{
+			System.arraycopy (b.re, pivot[i] * cols, xRe, i * cols, cols);
+			System.arraycopy (b.im, pivot[i] * cols, xIm, i * cols, cols);
+		}
+
+		// L x Y = P x B, then U x X = Y, a row of X at a time
+		for (int k = 0; k < n; k++)
+			for (int i = k + 1; i < n; i++)
+				subtractRow (xRe, xIm, cols, i, k, aRe[i * n + k], aIm[i * n + k]);
+
+		for (int k = n - 1; k >= 0; k--)
+		{
+			double pRe = aRe[k * n + k], pIm = aIm[k * n + k];
+			for (int j = 0; j < cols; j++)
+			{
+				ComplexMath.divide (xRe[k * cols + j], xIm[k * cols + j], pRe, pIm, f);
+				xRe[k * cols + j] = f[0];
+				xIm[k * cols + j] = f[1];
+			}
+
+			for (int i = 0; i < k; i++)
+				subtractRow (xRe, xIm, cols, i, k, aRe[i * n + k], aIm[i * n + k]);
+		}
+
+		return x;
+	}
+
+	// row i of x -= (fRe + fIm i) x row k of x
+	private static void subtractRow (double[] xRe, double[] xIm, int cols, int i, int k, double fRe, double fIm)
+	{
+		if (fRe == 0 && fIm == 0)
+			return;
+
+		for (int j = 0; j < cols; j++)
+		{
+			double r = xRe[k * cols + j], m = xIm[k * cols + j];
+			xRe[i * cols + j] -= fRe * r - fIm * m;
+			xIm[i * cols + j] -= fRe * m + fIm * r;
+		}
+	}
+
+	/**
+	 * Computes the inverse of this matrix, by solving this x X = I
+	 *
+	 * @throws IllegalArgumentException if the matrix is not square, or if it is singular
+	 * @see #solve(ComplexMatrix)
+	 */
+	public ComplexMatrix inverse ()
+	{
+		return solve (identity (rows));
+	}
+
+	private static void swapRows (double[] a, int n, int r1, int r2)
+	{
+		for (int j = 0; j < n; j++)
+		{
+			double tmp = a[r1 * n + j];
+			a[r1 * n + j] = a[r2 * n + j];
+			a[r2 * n + j] = tmp;
+		}
+	}
+
+	/**
+	 * Checks if {@code o} is a {@code ComplexMatrix} with the same dimensions and the same values as this one
+	 */
+	@Override
+	public boolean equals (Object o)
+	{
+		if (this == o)
+			return true;
+
+		return o instanceof ComplexMatrix m && rows == m.rows && cols == m.cols && Arrays.equals (re, m.re) && Arrays.equals (im, m.im);
+	}
+
+	@Override
+	public int hashCode ()
+	{
+		return 31 * (31 * (31 * rows + cols) + Arrays.hashCode (re)) + Arrays.hashCode (im);
+	}
+
+	@Override
+	public String toString ()
+	{
+		StringBuilder sb = new StringBuilder ("[\n");
+		for (int i = 0; i < rows; i++)
+		{
+			for (int j = 0; j < cols; j++)
+				sb.append (getValueAt (i, j)).append ('\t');
+			sb.append ('\n');
+		}
+
+		return sb.append (']').toString();
+	}
+}
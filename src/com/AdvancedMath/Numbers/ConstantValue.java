@@ -4,14 +4,22 @@ import com.AdvancedMath.Functionalities.Operators;
 
 /**
  * Class representing constant values, like Pi, e, phi (golden ratio), ln(5), e^(-2), sqrt(10), ...
+ * 
+ * <p>A {@code ConstantValue} is immutable. A constant that differs from another one by its multiplier, operator or arguments
+ * is created with a {@link Builder}, e.g. {@code c.toBuilder().setMultiplier (2).build()}
+ * 
+ * <p>The constants are put in a canonical form when they are created, e.g. 2^3 is 8, sqrt(12) is 2 * sqrt(3) and ln(1) is 0, and
+ * their {@code double} value is computed once, so comparing them costs as much as comparing {@code FloatValue}s
  */
-public class ConstantValue extends Value
+public final class ConstantValue extends Value
 {
-	public static ConstantValue PI = new ConstantValue (Math.PI), E = new ConstantValue (Math.E), PHI = new ConstantValue (1.618033988749);
+	private static final double PHI_VALUE = 1.618033988749;
+	public static final ConstantValue PI = new ConstantValue (Math.PI), E = new ConstantValue (Math.E), PHI = new ConstantValue (PHI_VALUE);
 	
-	private double[] arguments = null;
-	private double multiplier = 1;
-	private Operators operator = null;
+	private final double[] arguments;
+	private final double multiplier;
+	private final Operators operator;
+	private final double value;
 
 	/**
 	 * Creates a new {@code ConstantValue} with value as its value. Equivalent to creating a {@code ConstantValue} with {@code POW} as the operator and 1 as the second argument, and to {@code FloatValue}
@@ -21,17 +29,112 @@ public class ConstantValue extends Value
 	 */
 	public ConstantValue (double value) 
 	{
-		this.arguments = new double [2];
-		this.arguments[0] = value;
-		this.arguments[1] = 1;
-		operator = Operators.POW;
+		this (1, Operators.POW, new double[] {value, 1});
 	}
 	
 	private ConstantValue (double multiplier, Operators operator, double[] arguments) 
 	{
+		// a constant that is a plain number is stored as value^1
+		double plain = plainValue (multiplier, operator, arguments);
+		if (!Double.isNaN (plain))
+		{
+			multiplier = 1;
+			operator = Operators.POW;
+			arguments = new double[] {plain, 1};
+		}
+		else if (operator == Operators.POW && arguments[0] > 1 && arguments[0] == Math.rint (arguments[0]) && arguments[0] < 0x1p53)
+		{
+			// the n-th powers are taken out of the n-th root of an integer, e.g. sqrt(12) = 2 * sqrt(3)
+			long k = rootFactor ((long) arguments[0], arguments[1]);
+			if (k != 1)
+			{
+				double rest = arguments[0] / Math.pow (k, Math.rint (1 / arguments[1]));
+				multiplier *= k;
+
+				if (rest == 1)
+				{
+					arguments = new double[] {multiplier, 1};
+					multiplier = 1;
+				}
+				else
+					arguments = new double[] {rest, arguments[1]};
+			}
+		}
+
 		this.arguments = arguments;
 		this.multiplier = multiplier;
 		this.operator = operator;
+
+		if (operator == Operators.EXP)
+			this.value = multiplier * Math.exp (arguments[0]);
+		else if (operator == Operators.LN)
+			this.value = multiplier * Math.log (arguments[0]);
+		else
+			this.value = multiplier * Math.pow (arguments[0], arguments[1]);
+	}
+
+	// the value of the constants that need no operator, e.g. a^0, 3^2, e^0, ln(1) or ln(e), NaN for the others
+	private static double plainValue (double multiplier, Operators operator, double[] arguments)
+	{
+		if (multiplier == 0)
+			return 0;
+
+		if (operator == Operators.EXP)
+			return arguments[0] == 0 ? multiplier : Double.NaN;
+
+		if (operator == Operators.LN)
+			return arguments[0] == 1 ? 0 : arguments[0] == Math.E ? multiplier : Double.NaN;
+
+		double a = arguments[0], b = arguments[1];
+		if (b == 0 || a == 1)
+			return multiplier;
+
+		// π, e and phi are kept as symbols
+		if (a == Math.PI || a == Math.E || a == PHI_VALUE)
+			return Double.NaN;
+
+		if (b == Math.rint (b) && Math.abs (b) <= 64)
+			return multiplier * Math.pow (a, b);
+
+		return Double.NaN;
+	}
+
+	// a factor k such that k^n divides a, where the exponent is 1/n: the root itself for the perfect powers, else the product
+	// of the d^n dividing a for d up to 100. It is 1 if the exponent is not the inverse of an integer
+	private static long rootFactor (long a, double exponent)
+	{
+		double n = Math.rint (1 / exponent);
+		if (n < 2 || 1 / n != exponent)
+			return 1;
+
+		// a perfect power, possibly of a large integer
+		long r = Math.round (Math.pow (a, exponent));
+		if (power (r, (int) n) == a)
+			return r;
+
+		long k = 1;
+		for (long d = 2, dn; d <= 100 && (dn = power (d, (int) n)) > 0 && dn <= a; d++)
+			while (a % dn == 0)
+			{
+				a /= dn;
+				k *= d;
+			}
+
+		return k;
+	}
+
+	// d^n, or -1 if it overflows
+	private static long power (long d, int n)
+	{
+		long res = 1;
+		for (int i = 0; i < n; i++)
+		{
+			if (res > Long.MAX_VALUE / d)
+				return -1;
+			res *= d;
+		}
+
+		return res;
 	}
 
 	/**
@@ -93,14 +196,14 @@ public class ConstantValue extends Value
 		return new ConstantValue (multiplier, Operators.POW, new double[] {a, b});
 	}
 
+	/**
+	 * Gets the arguments of the operator
+	 * 
+	 * @return A copy of the arguments, {a, b} for a^b and {a} for e^a and ln(a)
+	 */
 	public double[] getArguments () 
 	{
-		return this.arguments;
-	}
-
-	public void setArguments (double[] arguments) 
-	{
-		this.arguments = arguments;
+		return this.arguments.clone();
 	}
 
 	public double getMultiplier () 
@@ -108,56 +211,35 @@ public class ConstantValue extends Value
 		return this.multiplier;
 	}
 
-	/**
-	 * Sets the multiplier of this {@code ConstantValue}. If the provided argument is null, nothing is done
-	 * 
-	 * @param multiplier The new value of the multiplier
-	 */
-	public void setMultiplier (double multiplier) 
-	{
-		if (operator == null)
-			return;
-		
-		this.multiplier = multiplier;
-	}
-
 	public Operators getOperator () 
 	{
 		return this.operator;
 	}
 
-	public void setOperator (Operators operator) 
+	/**
+	 * Creates a {@link Builder} initialised with the multiplier, the operator and the arguments of this constant
+	 * 
+	 * @return A new {@code Builder}
+	 */
+	public Builder toBuilder ()
 	{
-		this.operator = operator;
+		return new Builder (multiplier, operator, arguments.clone());
 	}
 
 	private boolean haveSameArguments (ConstantValue c)
 	{
-		if (arguments.length != c.getArguments().length)
+		if (arguments.length != c.arguments.length)
 			return false;
 		
 		for (int i = 0; i < arguments.length; i++)
-			if (arguments[i] != c.getArguments()[i])
+			if (arguments[i] != c.arguments[i])
 				return false;
 		return true;
 	}
 
-	@Override
-	public void negate ()
-	{
-		this.multiplier = - this.multiplier;
-	}
-
 	@Override
 	public Value negateCopy ()
 	{
-		if (operator == null)
-		{
-			ConstantValue negated = new ConstantValue (arguments[0]);
-			negated.setMultiplier (- multiplier);
-			return negated;
-		}
-
 		return new ConstantValue (- multiplier, operator, arguments);
 	}
 
@@ -171,20 +253,26 @@ public class ConstantValue extends Value
 	@Override
 	public Value add (Value v)
 	{
+		// 0 is canonically 0^1, whatever the constant it was a multiple of, so it is the identity rather than a different base
+		if (v.getDoubleValue() == 0)
+			return this;
+		if (value == 0 && v instanceof ConstantValue)
+			return v;
+
 		if (v instanceof ConstantValue c && c.getOperator() != null && operator != null && operator == c.getOperator())
 			if (operator == Operators.LN && Math.abs (multiplier) == Math.abs (c.getMultiplier()))
 				if (multiplier > 0 && c.getMultiplier() > 0)
-					return ConstantValue.ln (multiplier, arguments[0] * c.getArguments()[1]);
+					return ConstantValue.ln (multiplier, arguments[0] * c.arguments[0]);
 				else if (multiplier > 0 && c.getMultiplier() < 0)
-					return ConstantValue.ln (multiplier, arguments[0] / c.getArguments()[1]);
+					return ConstantValue.ln (multiplier, arguments[0] / c.arguments[0]);
 				else if (multiplier < 0 && c.getMultiplier() > 0)
-					return ConstantValue.ln (multiplier, arguments[0] / c.getArguments()[1]);
+					return ConstantValue.ln (multiplier, arguments[0] / c.arguments[0]);
 				else
-					return ConstantValue.ln (multiplier, arguments[0] * c.getArguments()[1]);
+					return ConstantValue.ln (multiplier, arguments[0] * c.arguments[0]);
 			else if (haveSameArguments (c))
 				return new ConstantValue (multiplier + c.getMultiplier(), operator, arguments);
 
-		return new FloatValue (getDoubleValue() + v.getDoubleValue());
+		return FloatValue.valueOf (getDoubleValue() + v.getDoubleValue());
 	}
 
 	/**
@@ -197,20 +285,26 @@ public class ConstantValue extends Value
 	@Override
 	public Value subtract (Value v)
 	{
+		// 0 is canonically 0^1, whatever the constant it was a multiple of, so it is the identity rather than a different base
+		if (v.getDoubleValue() == 0)
+			return this;
+		if (value == 0 && v instanceof ConstantValue)
+			return v.negateCopy();
+
 		if (v instanceof ConstantValue c && c.getOperator() != null && operator != null && operator == c.getOperator())
 			if (operator == Operators.LN && Math.abs (multiplier) == Math.abs (c.getMultiplier()))
 				if (multiplier > 0 && c.getMultiplier() > 0)
-					return ConstantValue.ln (multiplier, arguments[0] / c.getArguments()[1]);
+					return ConstantValue.ln (multiplier, arguments[0] / c.arguments[0]);
 				else if (multiplier > 0 && c.getMultiplier() < 0)
-					return ConstantValue.ln (multiplier, arguments[0] * c.getArguments()[1]);
+					return ConstantValue.ln (multiplier, arguments[0] * c.arguments[0]);
 				else if (multiplier < 0 && c.getMultiplier() > 0)
-					return ConstantValue.ln (multiplier, arguments[0] * c.getArguments()[1]);
+					return ConstantValue.ln (multiplier, arguments[0] * c.arguments[0]);
 				else
-					return ConstantValue.ln (multiplier, arguments[0] / c.getArguments()[1]);
+					return ConstantValue.ln (multiplier, arguments[0] / c.arguments[0]);
 			else if (haveSameArguments (c))
 				return new ConstantValue (multiplier - c.getMultiplier(), operator, arguments);
 
-		return new FloatValue (getDoubleValue() - v.getDoubleValue());
+		return FloatValue.valueOf (getDoubleValue() - v.getDoubleValue());
 	}
 
 	/**
@@ -227,14 +321,14 @@ public class ConstantValue extends Value
 		{
 			if (operator == c.getOperator())
 				if (operator == Operators.EXP)
-					return ConstantValue.exp (multiplier * c.getMultiplier(), arguments[0] + c.getArguments()[1]);
-				else if (operator == Operators.POW && arguments[0] == c.getArguments()[0])
-					return ConstantValue.pow (multiplier * c.getMultiplier(), arguments[0], arguments[1] + c.getArguments()[1]);
+					return ConstantValue.exp (multiplier * c.getMultiplier(), arguments[0] + c.arguments[0]);
+				else if (operator == Operators.POW && arguments[0] == c.arguments[0])
+					return ConstantValue.pow (multiplier * c.getMultiplier(), arguments[0], arguments[1] + c.arguments[1]);
 		}
 		else
 			return new ConstantValue (multiplier * v.getDoubleValue(), operator, arguments);
 
-		return new FloatValue (getDoubleValue() * v.getDoubleValue());
+		return FloatValue.valueOf (getDoubleValue() * v.getDoubleValue());
 	}
 
 	/**
@@ -254,14 +348,14 @@ public class ConstantValue extends Value
 		{
 			if (operator == c.getOperator())
 				if (operator == Operators.EXP)
-					return ConstantValue.exp (multiplier / c.getMultiplier(), arguments[0] - c.getArguments()[1]);
-				else if (operator == Operators.POW && arguments[0] == c.getArguments()[0])
-					return ConstantValue.pow (multiplier / c.getMultiplier(), arguments[0], arguments[1] - c.getArguments()[1]);
+					return ConstantValue.exp (multiplier / c.getMultiplier(), arguments[0] - c.arguments[0]);
+				else if (operator == Operators.POW && arguments[0] == c.arguments[0])
+					return ConstantValue.pow (multiplier / c.getMultiplier(), arguments[0], arguments[1] - c.arguments[1]);
 		}
 		else
 			return new ConstantValue (multiplier / v.getDoubleValue(), operator, arguments);
 
-		return new FloatValue (getDoubleValue() / v.getDoubleValue());
+		return FloatValue.valueOf (getDoubleValue() / v.getDoubleValue());
 	}
 
 	/**
@@ -274,27 +368,22 @@ public class ConstantValue extends Value
 	@Override
 	public Value pow (Value v)
 	{
-		if (!(v instanceof ConstantValue) && operator != Operators.LN)
+		if (!(v instanceof ConstantValue) && operator == Operators.EXP)
+			return new ConstantValue (Math.pow (multiplier, v.getDoubleValue()), operator, new double [] {arguments[0] * v.getDoubleValue()});
+		else if (!(v instanceof ConstantValue) && operator == Operators.POW)
 			return new ConstantValue (Math.pow (multiplier, v.getDoubleValue()), operator, new double [] {arguments[0], arguments[1] * v.getDoubleValue()});
 		else if (v instanceof ConstantValue c && operator == Operators.EXP && c.getOperator() == Operators.LN)
-			return pow (Math.pow (multiplier, c.getDoubleValue()), c.getArguments()[0], arguments[0] * c.getMultiplier());
-		return new FloatValue (Math.pow (getDoubleValue(), v.getDoubleValue()));
+			return pow (Math.pow (multiplier, c.getDoubleValue()), c.arguments[0], arguments[0] * c.getMultiplier());
+		return FloatValue.valueOf (Math.pow (getDoubleValue(), v.getDoubleValue()));
 	}
 
+	/**
+	 * Gets the value of this constant, computed when it was created
+	 */
 	@Override
 	public double getDoubleValue ()
 	{
-		if (operator == Operators.EXP)
-			return multiplier * Math.exp (arguments[0]);
-		else if (operator == Operators.LN)
-			return multiplier * Math.log (arguments[0]);
-		return multiplier * Math.pow (arguments[0], arguments[1]);
-	}
-
-	@Override
-	public Value clone ()
-	{
-		return new ConstantValue (multiplier, operator, arguments.clone());
+		return value;
 	}
 
 	@Override
@@ -343,4 +432,74 @@ public class ConstantValue extends Value
 		
 		return sb.toString();
 	}
+
+	/**
+	 * Class that creates {@code ConstantValue}s step by step, e.g. from an existing constant with {@link ConstantValue#toBuilder()}
+	 */
+	public static class Builder
+	{
+		private double multiplier;
+		private Operators operator;
+		private double[] arguments;
+
+		/**
+		 * Creates a builder of the constant 1 * 1^1
+		 */
+		public Builder ()
+		{
+			this (1, Operators.POW, new double[] {1, 1});
+		}
+
+		private Builder (double multiplier, Operators operator, double[] arguments)
+		{
+			this.multiplier = multiplier;
+			this.operator = operator;
+			this.arguments = arguments;
+		}
+
+		public Builder setMultiplier (double multiplier)
+		{
+			this.multiplier = multiplier;
+			return this;
+		}
+
+		/**
+		 * Sets the operator and its arguments, {a, b} for a^b and {a} for e^a and ln(a)
+		 * 
+		 * @param operator {@code POW}, {@code EXP} or {@code LN}
+		 * @param arguments The arguments of the operator, which are copied
+		 * @return This builder
+		 */
+		public Builder setOperator (Operators operator, double... arguments)
+		{
+			this.operator = operator;
+			this.arguments = arguments.clone();
+			return this;
+		}
+
+		public Builder negate ()
+		{
+			this.multiplier = - this.multiplier;
+			return this;
+		}
+
+		/**
+		 * Creates the {@code ConstantValue}, checking the arguments as {@link ConstantValue#pow(double, double, double)},
+		 * {@link ConstantValue#exp(double, double)} and {@link ConstantValue#ln(double, double)} do
+		 * 
+		 * @return A new {@code ConstantValue}
+		 * @throws IllegalArgumentException if the operator is not {@code POW}, {@code EXP} or {@code LN}, or its arguments are invalid
+		 */
+		public ConstantValue build ()
+		{
+			if (operator == Operators.POW && arguments.length == 2)
+				return ConstantValue.pow (multiplier, arguments[0], arguments[1]);
+			if (operator == Operators.EXP && arguments.length == 1)
+				return ConstantValue.exp (multiplier, arguments[0]);
+			if (operator == Operators.LN && arguments.length == 1)
+				return ConstantValue.ln (multiplier, arguments[0]);
+
+			throw new IllegalArgumentException ("A constant is a^b, e^a or ln(a) with the arguments of its operator");
+		}
+	}
 }
@@ -0,0 +1,443 @@
+package com.AdvancedMath.Numbers;
+
+import java.util.Arrays;
+
+/**
+ * Class that represents a real matrix stored row by row in a single array of {@code double}, which takes 8 bytes per element rather
+ * than the two {@code Value}s of each {@code Number} of a {@code Matrix}. Its methods mirror those of {@link Matrix}, and the
+ * operations of a {@code Matrix} whose elements are all real {@code double}s are computed with a {@code DoubleMatrix}
+ *
+ * <p>e.g. the element at row i and column j is {@code getData()[i * getColCount() + j]}
+ */
+public final class DoubleMatrix
+{
+	private final int rows, cols;
+	private final double[] data;
+
+	/**
+	 * Creates a {@code DoubleMatrix} of dimensions rows*cols filled with 0
+	 *
+	 * @param rows The number of rows
+	 * @param cols The number of columns
+	 * @throws IllegalArgumentException if any of the dimensions is not positive
+	 */
+	public DoubleMatrix (int rows, int cols)
+	{
+		this (rows, cols, new double [checkDimensions (rows, cols) * cols]);
+	}
+
+	private DoubleMatrix (int rows, int cols, double[] data)
+	{
+		this.rows = rows;
+		this.cols = cols;
+		this.data = data;
+	}
+
+	private static int checkDimensions (int rows, int cols)
+	{
+		if (rows <= 0 || cols <= 0)
+			throw new IllegalArgumentException ("Cannot create a matrix with dimensions 0");
+
+		return rows;
+	}
+
+	/**
+	 * Creates a {@code DoubleMatrix} that uses {@code data} as its elements, row by row, without copying it
+	 *
+	 * @param rows The number of rows
+	 * @param cols The number of columns
+	 * @param data The elements, of length rows*cols
+	 * @return A {@code DoubleMatrix} backed by {@code data}
+	 * @throws IllegalArgumentException if the length of data is not rows*cols
+	 */
+	public static DoubleMatrix wrap (int rows, int cols, double[] data)
+	{
+		checkDimensions (rows, cols);
+		if (data.length != rows * cols)
+			throw new IllegalArgumentException ("The matrix must have rows * cols elements");
+
+		return new DoubleMatrix (rows, cols, data);
+	}
+
+	/**
+	 * Creates a {@code DoubleMatrix} with the values of a 2-D array
+	 *
+	 * @param values The rows of the matrix, which must all have the same length
+	 * @return A new {@code DoubleMatrix}
+	 * @throws IllegalArgumentException if the array is empty or its rows have different lengths
+	 */
+	public static DoubleMatrix of (double[][] values)
+	{
+		if (values.length == 0)
+			throw new IllegalArgumentException ("Cannot create a matrix with dimensions 0");
+
+		DoubleMatrix res = new DoubleMatrix (values.length, values[0].length);
+		for (int i = 0; i < res.rows; i++)
+		{
+			if (values[i].length != res.cols)
+				throw new IllegalArgumentException ("All the rows must have the same length");
+
+			System.arraycopy (values[i], 0, res.data, i * res.cols, res.cols);
+		}
+
+		return res;
+	}
+
+	/**
+	 * Converts a {@code Matrix} whose elements are all real, using their {@code double} values
+	 *
+	 * @param m The matrix to convert
+	 * @return A new {@code DoubleMatrix} with the values of {@code m}
+	 * @throws IllegalArgumentException if an element of {@code m} is not real
+	 * @see Matrix#isReal()
+	 */
+	public static DoubleMatrix of (Matrix m)
+	{
+		DoubleMatrix res = new DoubleMatrix (m.getRowCount(), m.getColCount());
+		for (int i = 0; i < res.rows; i++)
+			for (int j = 0; j < res.cols; j++)
+			{
+				Number n = m.getValueAt (i, j);
+				if (!n.isPureReal())
+					throw new IllegalArgumentException ("A DoubleMatrix only contains real numbers");
+
+				res.data[i * res.cols + j] = n.getX().getDoubleValue();
+			}
+
+		return res;
+	}
+
+	/**
+	 * Converts this matrix to a {@code Matrix} of real {@code Number}s
+	 *
+	 * @return A new {@code Matrix} with the values of this one
+	 */
+	public Matrix toMatrix ()
+	{
+		Number[][] values = new Number [rows][cols];
+		for (int i = 0; i < rows; i++)
+			for (int j = 0; j < cols; j++)
+				values[i][j] = Number.real (data[i * cols + j]);
+
+		return new Matrix (values);
+	}
+
+	/**
+	 * Creates an identity matrix of size {@code size}, i.e., a matrix with 1 on the diagonal and 0 everywhere else
+	 *
+	 * @throws IllegalArgumentException if size is not positive
+	 */
+	public static DoubleMatrix identity (int size)
+	{
+		DoubleMatrix m = new DoubleMatrix (size, size);
+		for (int i = 0; i < size; i++)
+			m.data[i * size + i] = 1;
+
+		return m;
+	}
+
+	/**
+	 * Creates a matrix of dimensions rows * columns, with 0 everywhere
+	 *
+	 * @throws IllegalArgumentException if any of the dimensions is not positive
+	 */
+	public static DoubleMatrix zeros (int rows, int cols)
+	{
+		return new DoubleMatrix (rows, cols);
+	}
+
+	/**
+	 * Creates a matrix of dimensions rows * columns, with 1 everywhere
+	 *
+	 * @throws IllegalArgumentException if any of the dimensions is not positive
+	 */
+	public static DoubleMatrix ones (int rows, int cols)
+	{
+		DoubleMatrix m = new DoubleMatrix (rows, cols);
+		Arrays.fill (m.data, 1);
+		return m;
+	}
+
+	/**
+	 * Creates a diagonal matrix from the values provided
+	 *
+	 * @throws IllegalArgumentException if the array is empty
+	 */
+	public static DoubleMatrix diagonal (double[] values)
+	{
+		DoubleMatrix m = new DoubleMatrix (values.length, values.length);
+		for (int i = 0; i < values.length; i++)
+			m.data[i * values.length + i] = values[i];
+
+		return m;
+	}
+
+	public int getRowCount ()
+	{
+		return rows;
+	}
+
+	public int getColCount ()
+	{
+		return cols;
+	}
+
+	/**
+	 * Gets the elements row by row. The array is the one backing this matrix, not a copy
+	 */
+	public double[] getData ()
+	{
+		return data;
+	}
+
+	public double getValueAt (int row, int col)
+	{
+		return data[row * cols + col];
+	}
+
+	public void setValueAt (int row, int col, double value)
+	{
+		data[row * cols + col] = value;
+	}
+
+	/**
+	 * Returns a row vector equal to the specified row
+	 */
+	public DoubleMatrix getRow (int row)
+	{
+		return new DoubleMatrix (1, cols, Arrays.copyOfRange (data, row * cols, (row + 1) * cols));
+	}
+
+	/**
+	 * Returns a column vector equal to the specified column
+	 */
+	public DoubleMatrix getColumn (int col)
+	{
+		DoubleMatrix c = new DoubleMatrix (rows, 1);
+		for (int i = 0; i < rows; i++)
+			c.data[i] = data[i * cols + col];
+
+		return c;
+	}
+
+	public boolean isSquare ()
+	{
+		return rows == cols;
+	}
+
+	public DoubleMatrix copy ()
+	{
+		return new DoubleMatrix (rows, cols, data.clone());
+	}
+
+	/**
+	 * Transposes this matrix, i.e., interchanges the columns into rows and vice versa
+	 *
+	 * @return The transpose of this matrix
+	 */
+	public DoubleMatrix transpose ()
+	{
+		DoubleMatrix res = new DoubleMatrix (cols, rows);
+		for (int i = 0; i < rows; i++)
+			for (int j = 0; j < cols; j++)
+				res.data[j * rows + i] = data[i * cols + j];
+
+		return res;
+	}
+
+	private void checkSameDimensions (DoubleMatrix m, String operation)
+	{
+		if (rows != m.rows || cols != m.cols)
+			throw new IllegalArgumentException ("Only matrices with the same dimensions can be " + operation);
+	}
+
+	/**
+	 * Adds two matrices element by element
+	 *
+	 * @throws IllegalArgumentException if the matrices don't have the same dimensions
+	 */
+	public DoubleMatrix add (DoubleMatrix m)
+	{
+		checkSameDimensions (m, "added");
+
+		double[] res = new double [data.length];
+		for (int i = 0; i < res.length; i++)
+			res[i] = data[i] + m.data[i];
+
+		return new DoubleMatrix (rows, cols, res);
+	}
+
+	/**
+	 * Subtracts two matrices element by element
+	 *
+	 * @throws IllegalArgumentException if the matrices don't have the same dimensions
+	 */
+	public DoubleMatrix sub (DoubleMatrix m)
+	{
+		checkSameDimensions (m, "subtracted");
+
+		double[] res = new double [data.length];
+		for (int i = 0; i < res.length; i++)
+			res[i] = data[i] - m.data[i];
+
+		return new DoubleMatrix (rows, cols, res);
+	}
+
+	/**
+	 * Multiplies all of the elements of this matrix by {@code d}
+	 */
+	public DoubleMatrix multiply (double d)
+	{
+		double[] res = new double [data.length];
+		for (int i = 0; i < res.length; i++)
+			res[i] = data[i] * d;
+
+		return new DoubleMatrix (rows, cols, res);
+	}
+
+	/**
+	 * Multiplies two matrices as this x m, by blocks that fit in the caches and in parallel for the large ones
+	 *
+	 * @param m The matrix to multiply with
+	 * @return The result of the multiplication
+	 * @throws IllegalArgumentException if the column count of this matrix is not the row count of m
+	 */
+	public DoubleMatrix multiply (DoubleMatrix m)
+	{
+		if (cols != m.rows)
+			throw new IllegalArgumentException ("The provided matrix must have the same number of rows as the number of columns of the first one");
+
+		double[] res = new double [rows * m.cols];
+		Gemm.multiply (data, m.data, false, res, rows, cols, m.cols);
+		return new DoubleMatrix (rows, m.cols, res);
+	}
+
+	/**
+	 * Multiplies this matrix by the transpose of m, without creating the transpose, e.g. A x A<sup>T</sup>
+	 *
+	 * @param m The matrix whose transpose to multiply with
+	 * @return The result of this x transpose (m)
+	 * @throws IllegalArgumentException if the two matrices don't have the same number of columns
+	 */
+	public DoubleMatrix multiplyTransposed (DoubleMatrix m)
+	{
+		if (cols != m.cols)
+			throw new IllegalArgumentException ("The provided matrix must have the same number of columns as the first one");
+
+		double[] res = new double [rows * m.rows];
+		Gemm.multiply (data, m.data, true, res, rows, cols, m.rows);
+		return new DoubleMatrix (rows, m.rows, res);
+	}
+
+	/**
+	 * Multiplies this matrix by a {@code Matrix} of real numbers, converted with {@link #of(Matrix)}
+	 *
+	 * @throws IllegalArgumentException if an element of m is not real, or if the column count of this matrix is not the row count of m
+	 */
+	public DoubleMatrix multiply (Matrix m)
+	{
+		return multiply (of (m));
+	}
+
+	/**
+	 * Calculates the determinant of this matrix by LU decomposition with partial pivoting, in O(n^3)
+	 *
+	 * @return The determinant of the matrix
+	 * @throws IllegalArgumentException if the matrix is not square
+	 */
+	public double determinant ()
+	{
+		if (!isSquare())
+			throw new IllegalArgumentException ("Cannot compute the determinant of a non square matrix");
+
+		return lu().determinant();
+	}
+
+	/**
+	 * Computes the LU decomposition with partial pivoting of this matrix
+	 *
+	 * @throws IllegalArgumentException if the matrix is not square
+	 */
+	public LUDecomposition lu ()
+	{
+		return new LUDecomposition (this);
+	}
+
+	/**
+	 * Computes the QR decomposition of this matrix by Householder reflections
+	 *
+	 * @throws IllegalArgumentException if the matrix has fewer rows than columns
+	 */
+	public QRDecomposition qr ()
+	{
+		return new QRDecomposition (this);
+	}
+
+	/**
+	 * Computes the Cholesky decomposition of this matrix
+	 *
+	 * @throws IllegalArgumentException if the matrix is not symmetric positive definite
+	 */
+	public CholeskyDecomposition cholesky ()
+	{
+		return new CholeskyDecomposition (this);
+	}
+
+	/**
+	 * Solves this x X = b, by LU decomposition if this matrix is square, and in the least squares sense by QR decomposition if it has
+	 * more rows than columns
+	 *
+	 * @param b The right hand side, with as many rows as this matrix
+	 * @return X, with as many rows as this matrix has columns and as many columns as b
+	 * @throws IllegalArgumentException if b doesn't have as many rows as this matrix, if this matrix has fewer rows than columns, or if
+	 * it is singular
+	 * @see LUDecomposition#isSingular()
+	 * @see QRDecomposition#isFullRank()
+	 */
+	public DoubleMatrix solve (DoubleMatrix b)
+	{
+		return isSquare() ? lu().solve (b) : qr().solve (b);
+	}
+
+	/**
+	 * Computes the inverse of this matrix by LU decomposition
+	 *
+	 * @throws IllegalArgumentException if the matrix is not square, or if it is singular
+	 */
+	public DoubleMatrix inverse ()
+	{
+		return lu().inverse();
+	}
+
+	/**
+	 * Checks if {@code o} is a {@code DoubleMatrix} with the same dimensions and the same values as this one
+	 */
+	@Override
+	public boolean equals (Object o)
+	{
+		if (this == o)
+			return true;
+
+		return o instanceof DoubleMatrix m && rows == m.rows && cols == m.cols && Arrays.equals (data, m.data);
+	}
+
+	@Override
+	public int hashCode ()
+	{
+		return 31 * (31 * rows + cols) + Arrays.hashCode (data);
+	}
+
+	@Override
+	public String toString ()
+	{
+		StringBuilder sb = new StringBuilder ("[\n");
+		for (int i = 0; i < rows; i++)
+		{
+			for (int j = 0; j < cols; j++)
+				sb.append (Number.real (data[i * cols + j])).append ('\t');
+			sb.append ('\n');
+		}
+
+		return sb.append (']').toString();
+	}
+}
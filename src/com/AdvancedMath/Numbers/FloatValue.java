@@ -1,18 +1,39 @@
 package com.AdvancedMath.Numbers;
 
 /**
- * Class that wraps a {@code double}
+ * Class that wraps a {@code double}. A {@code FloatValue} is immutable
  */
-public class FloatValue extends Value
+public final class FloatValue extends Value
 {
-	private Double val;
+	// integers in [CACHE_LOW, CACHE_HIGH] as well as ±1/2 are cached by valueOf
+	private static final int CACHE_LOW = -128, CACHE_HIGH = 127;
+	private static final FloatValue[] CACHE = new FloatValue [CACHE_HIGH - CACHE_LOW + 1];
+	private static final FloatValue HALF = new FloatValue (0.5), MINUS_HALF = new FloatValue (-0.5);
+
+	static
+	{
+		for (int i = CACHE_LOW; i <= CACHE_HIGH; i++)
+			CACHE[i - CACHE_LOW] = new FloatValue (i);
+	}
+
+	/**
+	 * The greatest denominator of the fractions returned by {@link #getFraction()}
+	 */
+	public static final int MAX_DENOMINATOR = 1000;
+	private static final double DEFAULT_TOLERANCE = 1e-7;
+
+	// direct-mapped cache of getFraction, whose entries are immutable so they can be read and replaced without locking
+	private record CachedFraction (long bits, FractionValue fraction) {}
+	private static final CachedFraction[] FRACTION_CACHE = new CachedFraction [256];
+
+	private final double val;
 
 	/**
 	 * Creates a new {@code FloatValue} with the value {@code val}. If {@code val} is less than 10^-9, it is considered equal to 0
 	 * 
 	 * @param val
 	 */
-	public FloatValue (Double val) 
+	public FloatValue (double val) 
 	{
 		if (Math.abs (val) < 1e-9)
 			this.val = 0.0;
@@ -20,59 +41,119 @@ public class FloatValue extends Value
 			this.val = val;
 	}
 
+	/**
+	 * Gets a {@code FloatValue} equal to {@code val}. Small integers and ±1/2 are cached instances
+	 * 
+	 * @param val
+	 * @return A {@code FloatValue} of value {@code val}, or 0 if {@code val} is less than 10^-9
+	 * @see FloatValue#FloatValue(double)
+	 */
+	public static FloatValue valueOf (double val)
+	{
+		if (Math.abs (val) < 1e-9)
+			return CACHE[- CACHE_LOW];
+
+		if (val >= CACHE_LOW && val <= CACHE_HIGH && val == (int) val)
+			return CACHE[(int) val - CACHE_LOW];
+
+		if (val == 0.5)
+			return HALF;
+
+		if (val == -0.5)
+			return MINUS_HALF;
+
+		return new FloatValue (val);
+	}
+
 	@Override
 	public double getDoubleValue () 
 	{
 		return this.val;
 	}
 
-	public void setValue (Double val) 
+	/**
+	 * Gets the fraction represendation, or an approximate fraction of the provided decimal number, with a relative error of at most 10^-7
+	 * and a denominator of at most {@value #MAX_DENOMINATOR}.
+	 * 
+	 * <p>The fractions of recurring values, such as the exponents 0.5 and 1/3, are cached and cannot be modified
+	 * 
+	 * <strong>Note:</strong> a fraction of an approximate value will be returned even for irractional numbers, e.g. 355/113 for π
+	 * 
+	 * @return {@code FractionValue} of the decimal number
+	 * @throws IllegalArgumentException if this value is not finite or does not fit in an {@code int}
+	 * @see FloatValue#getFraction(int, double)
+	 */
+	public FractionValue getFraction ()
 	{
-		this.val = val;
+		long bits = Double.doubleToLongBits (val);
+		int index = (int) (bits ^ (bits >>> 32) ^ (bits >>> 45)) & (FRACTION_CACHE.length - 1);
+
+		CachedFraction cached = FRACTION_CACHE[index];
+		if (cached != null && cached.bits() == bits)
+			return cached.fraction();
+
+		FractionValue fraction = approximate (val, MAX_DENOMINATOR, DEFAULT_TOLERANCE);
+		FRACTION_CACHE[index] = new CachedFraction (bits, fraction);
+		return fraction;
 	}
 
 	/**
-	 * Gets the fraction represendation, or an approximate fraction of the provided decimal number.
-	 * 
-	 * <p>Inspired by this post https://math.stackexchange.com/a/1404453</p>
-	 * <strong>Note:</strong> a fraction of an approximate value (after 30 tries and with a precision of 10^-5) will be returned even for irractional numbers
+	 * Gets the fraction with the smallest denominator whose relative error is at most {@code tolerance}, using the continued fraction of this value.
+	 * If no fraction with a denominator of at most {@code maxDenominator} is close enough, the closest one is returned
 	 * 
+	 * @param maxDenominator The greatest denominator allowed
+	 * @param tolerance The greatest relative error allowed, 0 for the closest fraction
 	 * @return {@code FractionValue} of the decimal number
+	 * @throws IllegalArgumentException if this value is not finite or does not fit in an {@code int}, if {@code maxDenominator} is not positive or if {@code tolerance} is negative
 	 */
-	public FractionValue getFraction ()
+	public FractionValue getFraction (int maxDenominator, double tolerance)
 	{
-		FractionValue lower = null, upper = null;
-		if (this.val > 0)
-		{
-			lower = new FractionValue (0, 1);
-			upper = new FractionValue (val.intValue() + 1, 1);
-		}
-		else
-		{
-			lower = new FractionValue (- val.intValue() - 1, 1);
-			upper = new FractionValue (0, 1);
-		}
+		if (maxDenominator < 1)
+			throw new IllegalArgumentException ("The maximum denominator must be positive");
+		if (!(tolerance >= 0))
+			throw new IllegalArgumentException ("The tolerance cannot be negative");
+
+		return approximate (val, maxDenominator, tolerance);
+	}
 
-		for (int i = 0; i < 30; i++)
+	private static FractionValue approximate (double val, int maxDenominator, double tolerance)
+	{
+		if (Double.isNaN (val) || Double.isInfinite (val) || Math.abs (val) > Integer.MAX_VALUE)
+			throw new IllegalArgumentException (val + " cannot be represented by a fraction");
+
+		double x = Math.abs (val), rest = x, maxError = tolerance * x;
+
+		// the convergents h1/k1 and h0/k0 of the continued fraction [a0; a1, a2, ...] of x
+		long h0 = 1, k0 = 0, h1 = (long) Math.floor (x), k1 = 1;
+		rest -= h1;
+
+		while (rest != 0 && Math.abs (x - (double) h1 / k1) > maxError)
 		{
-			if (val == lower.toFloatValue().getDoubleValue() || Math.abs ((val - lower.toFloatValue().getDoubleValue()) / val) * 100 < 0.00001)
-				return lower.reduceCopy();
-			
-			if (val == upper.toFloatValue().getDoubleValue() || Math.abs ((val - upper.toFloatValue().getDoubleValue()) / val) * 100 < 0.00001)
-				return upper.reduceCopy();
-
-			FractionValue inter = new FractionValue (lower.getNumerator() + upper.getNumerator(), lower.getDenomenator() + upper.getDenomenator());
-			if (inter.compare (this) == 1)
-				upper = inter;
-			else if (inter.compare (this) == -1)
-				lower = inter;
-			else
-				return inter.reduceCopy();
+			rest = 1 / rest;
+			long a = (long) Math.floor (rest);
+			rest -= a;
+
+			if (a > maxDenominator || a * k1 + k0 > maxDenominator || a * h1 + h0 > Integer.MAX_VALUE)
+			{
+				// the largest semiconvergent that fits may still be closer than h1/k1
+				long t = Math.min ((maxDenominator - k0) / k1, (Integer.MAX_VALUE - h0) / Math.max (h1, 1));
+				long h = t * h1 + h0, k = t * k1 + k0;
+				if (t > 0 && Math.abs (x - (double) h / k) < Math.abs (x - (double) h1 / k1))
+				{
+					h1 = h;
+					k1 = k;
+				}
+				break;
+			}
+
+			long h = a * h1 + h0, k = a * k1 + k0;
+			h0 = h1;
+			k0 = k1;
+			h1 = h;
+			k1 = k;
 		}
 
-		if (Math.abs ((val - lower.toFloatValue().getDoubleValue()) / val) * 100 - Math.abs ((val - upper.toFloatValue().getDoubleValue()) / val) * 100 > 0)
-			return upper.reduceCopy();
-		return lower.reduceCopy();
+		return FractionValue.valueOf (val < 0 ? (int) - h1 : (int) h1, (int) k1);
 	}
 
 	/**
@@ -81,7 +162,7 @@ public class FloatValue extends Value
 	@Override
 	public Value add (Value v)
 	{
-		return new FloatValue (val + v.getDoubleValue());
+		return valueOf (val + v.getDoubleValue());
 	}
 
 	/**
@@ -90,7 +171,7 @@ public class FloatValue extends Value
 	@Override
 	public Value subtract (Value v)
 	{
-		return new FloatValue (val - v.getDoubleValue());
+		return valueOf (val - v.getDoubleValue());
 	}
 
 	/**
@@ -99,7 +180,7 @@ public class FloatValue extends Value
 	@Override
 	public Value multiply (Value v)
 	{
-		return new FloatValue (val * v.getDoubleValue());
+		return valueOf (val * v.getDoubleValue());
 	}
 
 	/**
@@ -108,7 +189,7 @@ public class FloatValue extends Value
 	@Override
 	public Value divide (Value v)
 	{
-		return new FloatValue (val / v.getDoubleValue());
+		return valueOf (val / v.getDoubleValue());
 	}
 
 	/**
@@ -122,29 +203,17 @@ public class FloatValue extends Value
 	public Value pow (Value v)
 	{
 		if (v.getDoubleValue() == 0.5 && val >= 0)
-			return new FloatValue (Math.sqrt (val));
+			return valueOf (Math.sqrt (val));
 		if (v.getDoubleValue() == 1.0/3)
-			return new FloatValue (Math.cbrt (val));
+			return valueOf (Math.cbrt (val));
 		
-		return new FloatValue (Math.pow (val, v.getDoubleValue()));
-	}
-
-	@Override
-	public Value clone ()
-	{
-		return new FloatValue (val.doubleValue());
+		return valueOf (Math.pow (val, v.getDoubleValue()));
 	}
 
 	@Override
 	public Value negateCopy ()
 	{
-		return new FloatValue (-val);
-	}
-
-	@Override
-	public void negate ()
-	{
-		this.val = - this.val;
+		return valueOf (-val);
 	}
 
 	@Override
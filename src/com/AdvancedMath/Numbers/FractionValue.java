@@ -3,13 +3,25 @@ package com.AdvancedMath.Numbers;
 import com.AdvancedMath.Functionalities.Operations;
 
 /**
- * Class that represents a fraction
+ * Class that represents a fraction. A {@code FractionValue} is immutable
  */
-public class FractionValue extends Value
+public final class FractionValue extends Value
 {
-	public static FractionValue ZERO = new FractionValue (0, 1), ONE = new FractionValue (1, 1);
+	// reduced fractions whose numerator is in [-CACHE_MAX, CACHE_MAX] and denominator in [1, CACHE_MAX] are cached by valueOf
+	private static final int CACHE_MAX = 16;
+	private static final FractionValue[][] CACHE = new FractionValue [CACHE_MAX + 1][2 * CACHE_MAX + 1];
+
+	static
+	{
+		for (int denom = 1; denom <= CACHE_MAX; denom++)
+			for (int num = - CACHE_MAX; num <= CACHE_MAX; num++)
+				if (Operations.gcd (num, denom) == 1)
+					CACHE[denom][num + CACHE_MAX] = new FractionValue (num, denom);
+	}
+
+	public static final FractionValue ZERO = valueOf (0, 1), ONE = valueOf (1, 1);
 	
-	private int num, denom;
+	private final int num, denom;
 
 	/**
 	 * Creates a new {@code FractionValue} with the given values for the numerator and the denominator
@@ -27,14 +39,35 @@ public class FractionValue extends Value
 		this.denom = denom;
 	}
 
-	public int getNumerator () 
+	/**
+	 * Gets the irreducible fraction num/denom, with a positive denominator. Small fractions are cached instances
+	 * 
+	 * @param num The numerator
+	 * @param denom The denominator
+	 * @return The reduced {@code FractionValue} equal to num/denom
+	 * @throws IllegalArgumentException if the denominator is 0
+	 */
+	public static FractionValue valueOf (int num, int denom)
 	{
-		return this.num;
+		if (denom == 0)
+			throw new IllegalArgumentException ("Denominator cannot be 0");
+
+		int gcd = Operations.gcd (num, denom);
+		if (denom < 0)
+			gcd = - gcd;
+
+		num /= gcd;
+		denom /= gcd;
+
+		if (denom <= CACHE_MAX && num >= - CACHE_MAX && num <= CACHE_MAX)
+			return CACHE[denom][num + CACHE_MAX];
+
+		return new FractionValue (num, denom);
 	}
 
-	public void setNumerator (int num) 
+	public int getNumerator () 
 	{
-		this.num = num;
+		return this.num;
 	}
 
 	public int getDenomenator () 
@@ -42,17 +75,6 @@ public class FractionValue extends Value
 		return this.denom;
 	}
 
-	/**
-	 * @param denom The new value for the denominator
-	 * @throws IllegalArgumentException if the denominator is 0
-	 */
-	public void setDenomenator (int denom) 
-	{
-		if (denom == 0)
-			throw new IllegalArgumentException ("Denominator cannot be 0");
-		this.denom = denom;
-	}
-
 	/**
 	 * Gets the {@code FloatValue} equal to this fraction
 	 * 
@@ -60,20 +82,7 @@ public class FractionValue extends Value
 	 */
 	public FloatValue toFloatValue ()
 	{
-		return new FloatValue (((double) num) / denom);
-	}
-
-	/**
-	 * Simplifies this fraction to its irriductible form
-	 * 
-	 * @see Operations#gcd(int, int)
-	 */
-	public void reduce ()
-	{
-		int gcd = Operations.gcd (num, denom);
-
-		num /= gcd; 
-		denom /= gcd;
+		return FloatValue.valueOf (((double) num) / denom);
 	}
 
 	/**
@@ -96,71 +105,118 @@ public class FractionValue extends Value
 	 */
 	public FractionValue inverse ()
 	{
-		FractionValue res = new FractionValue (denom, num);
-		res.reduce();
-		return res;
+		return valueOf (denom, num);
 	}
 
+	/**
+	 * Gets the fraction num/denom computed in {@code long}, as a {@code FractionValue} if it fits in an {@code int} once reduced,
+	 * or as a {@code RationalValue} otherwise
+	 */
+	static Value of (long num, long denom)
+	{
+		long gcd = Operations.gcd (num, denom);
+		if (gcd > 0)
+		{
+			num /= gcd;
+			denom /= gcd;
+
+			if (denom < 0)
+			{
+				num = - num;
+				denom = - denom;
+			}
+
+			if (num == (int) num && denom == (int) denom)
+				return valueOf ((int) num, (int) denom);
+		}
+
+		return RationalValue.valueOf (num, denom);
+	}
+
+	/**
+	 * @return this + v, which is a {@code RationalValue} if the numerator or the denominator does not fit in an {@code int}
+	 */
 	@Override
 	public Value add (Value v)
 	{
-		if (v instanceof FloatValue || v instanceof ConstantValue)
-			return new FloatValue (this.toFloatValue().getDoubleValue() + v.getDoubleValue());
+		if (v instanceof FractionValue fr)
+		{
+			// the products fit in a long, but not always their sum
+			long a = (long) num * fr.denom, b = (long) denom * fr.num;
+			long sum = a + b;
+			if (((a ^ sum) & (b ^ sum)) >= 0)
+				return of (sum, (long) denom * fr.denom);
+		}
 
-		FractionValue fr = (FractionValue) v;
-		return new FractionValue(num * fr.getDenomenator() + denom * fr.getNumerator(), denom * fr.getDenomenator()).reduceCopy();
+		if (v instanceof FractionValue || v instanceof RationalValue)
+			return RationalValue.fromValue (this).add (v);
+
+		return FloatValue.valueOf (getDoubleValue() + v.getDoubleValue());
 	}
 
+	/**
+	 * @return this - v, which is a {@code RationalValue} if the numerator or the denominator does not fit in an {@code int}
+	 */
 	@Override
 	public Value subtract (Value v)
 	{
-		if (v instanceof FloatValue || v instanceof ConstantValue)
-			return new FloatValue (this.toFloatValue().getDoubleValue() - v.getDoubleValue());
+		if (v instanceof FractionValue fr)
+		{
+			long a = (long) num * fr.denom, b = (long) denom * fr.num;
+			long diff = a - b;
+			if (((a ^ b) & (a ^ diff)) >= 0)
+				return of (diff, (long) denom * fr.denom);
+		}
+
+		if (v instanceof FractionValue || v instanceof RationalValue)
+			return RationalValue.fromValue (this).subtract (v);
 
-		FractionValue fr = (FractionValue) v;
-		return new FractionValue(num * fr.getDenomenator() - denom * fr.getNumerator(), denom * fr.getDenomenator()).reduceCopy();
+		return FloatValue.valueOf (getDoubleValue() - v.getDoubleValue());
 	}
 
+	/**
+	 * @return this * v, which is a {@code RationalValue} if the numerator or the denominator does not fit in an {@code int}
+	 */
 	@Override
 	public Value multiply (Value v)
 	{
-		if (v instanceof FloatValue f)
-			return new FloatValue (this.toFloatValue().getDoubleValue() * f.getDoubleValue());
-		
+		if (v instanceof FractionValue fr)
+			return of ((long) num * fr.num, (long) denom * fr.denom);
+
+		if (v instanceof RationalValue r)
+			return r.multiply (this);
+
 		if (v instanceof ConstantValue c)
 			return c.multiply (this);
 
-		FractionValue fr = (FractionValue) v;
-		return new FractionValue(num * fr.getNumerator(), denom * fr.getDenomenator()).reduceCopy();
+		return FloatValue.valueOf (getDoubleValue() * v.getDoubleValue());
 	}
 
+	/**
+	 * @return this / v, which is a {@code RationalValue} if the numerator or the denominator does not fit in an {@code int}
+	 * @throws IllegalArgumentException if v is a fraction equal to 0
+	 */
 	@Override
 	public Value divide (Value v)
 	{
-		if (v instanceof FloatValue f)
-			return new FloatValue (this.toFloatValue().getDoubleValue() / f.getDoubleValue());
+		if (v instanceof FractionValue fr)
+		{
+			if (fr.num == 0)
+				throw new IllegalArgumentException ("Denominator cannot be 0");
 
-		if (v instanceof ConstantValue c)
-			return c.divide (this);
+			return of ((long) num * fr.denom, (long) denom * fr.num);
+		}
 
-		FractionValue fr = (FractionValue) v;
-		return this.multiply (fr.inverse());
-	}
+		if (v instanceof RationalValue r)
+			return RationalValue.fromValue (this).divide (r);
 
-	@Override
-	public Value pow (Value v)
-	{
-		if (v instanceof FloatValue || v instanceof ConstantValue)
-			return new FloatValue (Math.pow (this.toFloatValue().getDoubleValue(), v.getDoubleValue()));
-
-		FractionValue fr = (FractionValue) v;
-		return new FloatValue (Math.pow (this.toFloatValue().getDoubleValue(), fr.toFloatValue().getDoubleValue()));
+		return FloatValue.valueOf (getDoubleValue() / v.getDoubleValue());
 	}
 
 	@Override
-	public Value clone ()
+	public Value pow (Value v)
 	{
-		return new FractionValue (num, denom);
+		return FloatValue.valueOf (Math.pow (getDoubleValue(), v.getDoubleValue()));
 	}
 
 	@Override
@@ -182,10 +238,4 @@ public class FractionValue extends Value
 	{
 		return new FractionValue (-num, denom);
 	}
-
-	@Override
-	public void negate ()
-	{
-		this.num = - this.num;
-	}
 }
@@ -0,0 +1,281 @@
+package com.AdvancedMath.Numbers;
+
+import java.math.BigInteger;
+
+/**
+ * Class that defines the factorial and the gamma function Γ, with Γ(n + 1) = n! for the integers n. The factorials of the small
+ * integers are read from precomputed tables, so {@code factorial (n)} costs an array access for n in [0, 170], and the exact
+ * factorials are memoised up to {@link #CACHE_LIMIT}. Other values are computed with the Lanczos approximation, whose relative
+ * error is about 1e-15, and with the reflection formula Γ(z) Γ(1 - z) = π / sin (πz) for the real parts below 1/2
+ *
+ * <p>The complex functions write their result in a {@code double[]} given by the caller, like {@link ComplexMath}
+ *
+ * @see Number#factorial()
+ * @see Number#gamma()
+ */
+public final class Gamma
+{
+	/**
+	 * The largest n such that n! fits in a {@code long}
+	 */
+	public static final int MAX_LONG_FACTORIAL = 20;
+	/**
+	 * The largest n such that n! is finite as a {@code double}
+	 */
+	public static final int MAX_DOUBLE_FACTORIAL = 170;
+	/**
+	 * The exact factorials are memoised up to this value, the larger ones are computed from the last memoised factorial
+	 */
+	public static final int CACHE_LIMIT = 1024;
+
+	private static final long[] LONG_FACTORIALS = new long [MAX_LONG_FACTORIAL + 1];
+	private static final double[] DOUBLE_FACTORIALS = new double [MAX_DOUBLE_FACTORIAL + 1];
+
+	// the exact factorials from 0!, grown up to CACHE_LIMIT on demand, and replaced rather than modified so reading needs no lock
+	private static volatile BigInteger[] factorials;
+
+	// Lanczos approximation with g = 7 and 9 coefficients
+	private static final double G = 7;
+	private static final double[] LANCZOS =
+	{
+		0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313, -176.61502916214059,
+		12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7
+	};
+	private static final double LN_SQRT_TWO_PI = 0.5 * Math.log (2 * Math.PI), LN_PI = Math.log (Math.PI);
+
+	static
+	{
+		BigInteger[] exact = new BigInteger [MAX_DOUBLE_FACTORIAL + 1];
+		exact[0] = BigInteger.ONE;
+		for (int i = 1; i < exact.length; i++)
+			exact[i] = exact[i - 1].multiply (BigInteger.valueOf (i));
+
+		// rounded once from the exact values, rather than accumulating the rounding of each product
+		for (int i = 0; i < exact.length; i++)
+			DOUBLE_FACTORIALS[i] = exact[i].doubleValue();
+		for (int i = 0; i < LONG_FACTORIALS.length; i++)
+			LONG_FACTORIALS[i] = exact[i].longValueExact();
+
+		factorials = exact;
+	}
+
+	private Gamma () {}
+
+	/**
+	 * Gets n! as a {@code long}
+	 *
+	 * @param n An integer in [0, {@link #MAX_LONG_FACTORIAL}]
+	 * @return n!
+	 * @throws IllegalArgumentException if n is negative or n! does not fit in a {@code long}
+	 */
+	public static long longFactorial (int n)
+	{
+		if (n < 0 || n > MAX_LONG_FACTORIAL)
+			throw new IllegalArgumentException ("The factorial of " + n + " does not fit in a long");
+
+		return LONG_FACTORIALS[n];
+	}
+
+	/**
+	 * Gets the exact value of n!
+	 *
+	 * @param n A non negative integer
+	 * @return n!
+	 * @throws IllegalArgumentException if n is negative
+	 */
+	public static BigInteger factorial (int n)
+	{
+		if (n < 0)
+			throw new IllegalArgumentException ("Factorial for negative numbers is not defined");
+
+		BigInteger[] cache = factorials;
+		if (n < cache.length)
+			return cache[n];
+
+		if (n <= CACHE_LIMIT)
+			return grow (n)[n];
+
+		return cache[cache.length - 1].multiply (product (cache.length, n));
+	}
+
+	private static synchronized BigInteger[] grow (int n)
+	{
+		BigInteger[] cache = factorials;
+		if (n < cache.length)
+			return cache;
+
+		BigInteger[] grown = new BigInteger [Math.min (Math.max (n + 1, 2 * cache.length), CACHE_LIMIT + 1)];
+		System.arraycopy (cache, 0, grown, 0, cache.length);
+		for (int i = cache.length; i < grown.length; i++)
+			grown[i] = grown[i - 1].multiply (BigInteger.valueOf (i));
+
+		factorials = grown;
+		return grown;
+	}
+
+	// the product of the integers in [from, to], split in halves so the operands of the multiplications have similar sizes
+	private static BigInteger product (int from, int to)
+	{
+		if (to - from < 16)
+		{
+			BigInteger res = BigInteger.valueOf (from);
+			for (int i = from + 1; i <= to; i++)
+				res = res.multiply (BigInteger.valueOf (i));
+			return res;
+		}
+
+		int middle = (from + to) >>> 1;
+		return product (from, middle).multiply (product (middle + 1, to));
+	}
+
+	/**
+	 * Gets n! as a {@code double}, correctly rounded
+	 *
+	 * @param n A non negative integer
+	 * @return n!, which is infinite past {@link #MAX_DOUBLE_FACTORIAL}
+	 * @throws IllegalArgumentException if n is negative
+	 */
+	public static double doubleFactorial (int n)
+	{
+		if (n < 0)
+			throw new IllegalArgumentException ("Factorial for negative numbers is not defined");
+
+		return n <= MAX_DOUBLE_FACTORIAL ? DOUBLE_FACTORIALS[n] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Gets Γ(x), which is equal to (x - 1)! for the positive integers
+	 *
+	 * @param x A real number
+	 * @return Γ(x), {@code NaN} for 0 and the negative integers, where Γ has poles
+	 */
+	public static double gamma (double x)
+	{
+		if (x == Math.rint (x))
+		{
+			if (x <= 0)
+				return Double.NaN;
+
+			return x - 1 <= MAX_DOUBLE_FACTORIAL ? DOUBLE_FACTORIALS[(int) x - 1] : Double.POSITIVE_INFINITY;
+		}
+
+		if (x < 0.5)
+			return Math.PI / (Math.sin (Math.PI * x) * gamma (1 - x));
+
+		if (x > MAX_DOUBLE_FACTORIAL + 2)
+			return Double.POSITIVE_INFINITY;
+
+		// past 143, t^(x - 0.5) overflows on its own, so it is raised in two halves
+		x -= 1;
+		double t = x + G + 0.5, half = Math.pow (t, (x + 0.5) / 2);
+		return Math.sqrt (2 * Math.PI) * half * (half * Math.exp (- t)) * lanczosSum (x);
+	}
+
+	private static double lanczosSum (double x)
+	{
+		double sum = LANCZOS[0];
+		for (int i = 1; i < LANCZOS.length; i++)
+			sum += LANCZOS[i] / (x + i);
+
+		return sum;
+	}
+
+	/**
+	 * Gets ln |Γ(x)|, which stays finite far past the overflow of Γ, e.g. to compute binomial coefficients of large numbers
+	 *
+	 * @param x A real number
+	 * @return ln |Γ(x)|, positive infinity for 0 and the negative integers
+	 */
+	public static double lnGamma (double x)
+	{
+		if (x == Math.rint (x))
+		{
+			if (x <= 0)
+				return Double.POSITIVE_INFINITY;
+			if (x - 1 <= MAX_DOUBLE_FACTORIAL)
+				return Math.log (DOUBLE_FACTORIALS[(int) x - 1]);
+		}
+
+		if (x < 0.5)
+			return LN_PI - Math.log (Math.abs (Math.sin (Math.PI * x))) - lnGamma (1 - x);
+
+		x -= 1;
+		double t = x + G + 0.5;
+		return LN_SQRT_TWO_PI + (x + 0.5) * Math.log (t) - t + Math.log (lanczosSum (x));
+	}
+
+	/**
+	 * Gets Γ(z) for z = re + im*i
+	 *
+	 * @return out, containing Γ(z), or {@code NaN}s for 0 and the negative integers
+	 */
+	public static double[] gamma (double re, double im, double[] out)
+	{
+		if (im == 0)
+			return set (gamma (re), 0, out);
+
+		if (re < 0.5)
+		{
+			// Γ(z) = π / (sin (πz) * Γ(1 - z))
+			gamma (1 - re, - im, out);
+			double gRe = out[0], gIm = out[1];
+			ComplexMath.sin (Math.PI * re, Math.PI * im, out);
+			ComplexMath.multiply (out[0], out[1], gRe, gIm, out);
+			return ComplexMath.divide (Math.PI, 0, out[0], out[1], out);
+		}
+
+		lnGammaLanczos (re - 1, im, out);
+		return ComplexMath.exp (out[0], out[1], out);
+	}
+
+	/**
+	 * Gets a logarithm of Γ(z) for z = re + im*i. For the real parts above 1/2 it is the continuous log-gamma function,
+	 * whose imaginary part is not reduced to ]-π, π]
+	 *
+	 * @return out, containing ln Γ(z), or positive infinity for 0 and the negative integers
+	 */
+	public static double[] lnGamma (double re, double im, double[] out)
+	{
+		if (im == 0 && re > 0)
+			return set (lnGamma (re), 0, out);
+
+		if (re < 0.5)
+		{
+			// ln Γ(z) = ln π - ln sin (πz) - ln Γ(1 - z)
+			lnGamma (1 - re, - im, out);
+			double gRe = out[0], gIm = out[1];
+			ComplexMath.sin (Math.PI * re, Math.PI * im, out);
+			ComplexMath.ln (out[0], out[1], out);
+			return set (LN_PI - out[0] - gRe, - out[1] - gIm, out);
+		}
+
+		return lnGammaLanczos (re - 1, im, out);
+	}
+
+	// ln Γ(z + 1) = ln sqrt (2π) + (z + 1/2) ln t - t + ln A(z), with t = z + g + 1/2
+	private static double[] lnGammaLanczos (double re, double im, double[] out)
+	{
+		double sumRe = LANCZOS[0], sumIm = 0;
+		for (int i = 1; i < LANCZOS.length; i++)
+		{
+			ComplexMath.divide (LANCZOS[i], 0, re + i, im, out);
+			sumRe += out[0];
+			sumIm += out[1];
+		}
+
+		double tRe = re + G + 0.5, tIm = im;
+		ComplexMath.ln (tRe, tIm, out);
+		ComplexMath.multiply (re + 0.5, im, out[0], out[1], out);
+		double powRe = out[0] - tRe, powIm = out[1] - tIm;
+
+		ComplexMath.ln (sumRe, sumIm, out);
+		return set (LN_SQRT_TWO_PI + powRe + out[0], powIm + out[1], out);
+	}
+
+	private static double[] set (double re, double im, double[] out)
+	{
+		out[0] = re;
+		out[1] = im;
+		return out;
+	}
+}
@@ -0,0 +1,212 @@
+package com.AdvancedMath.Numbers;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Product of matrices of {@code double}s stored row by row, used by {@link DoubleMatrix#multiply(DoubleMatrix)}
+ *
+ * <p>The result is split into tiles of {@value #MC} rows by {@value #NC} columns, computed in parallel in the common
+ * {@code ForkJoinPool} when the product is large enough. Each tile goes through the common dimension by blocks of {@value #KC}: the
+ * block of the left matrix is copied in slivers of 4 rows and the one of the right matrix in slivers of 4 columns, so that a
+ * micro-kernel computes 4x4 elements of the result in 16 local variables while reading both slivers sequentially. The copies fit in
+ * the L2 cache, and each sliver of the right matrix stays in the L1 cache while it is used
+ */
+final class Gemm
+{
+	private static final int MC = 64, KC = 256, NC = 256;
+	// below these numbers of multiplications, the tiling and the threads cost more than they save
+	private static final long TILED_THRESHOLD = 1L << 18, PARALLEL_THRESHOLD = 1L << 22;
+
+	private Gemm ()
+	{
+	}
+
+	/**
+	 * Computes c = a x b, or c = a x transpose (b)
+	 *
+	 * @param a The left matrix, of m rows and k columns
+	 * @param b The right matrix, of k rows and n columns, or of n rows and k columns if {@code transposeB}
+	 * @param transposeB Whether the product uses the transpose of b
+	 * @param c The result, of m rows and n columns, filled with 0
+	 */
+	static void multiply (double[] a, double[] b, boolean transposeB, double[] c, int m, int k, int n)
+	{
+		long size = (long) m * n * k;
+		if (size < TILED_THRESHOLD)
+		{
+			if (transposeB)
+				dots (a, b, c, m, k, n);
+			else
+				rows (a, b, c, m, k, n);
+			return;
+		}
+
+		Tiles tiles = new Tiles (a, b, transposeB, c, m, k, n, 0, ceilDiv (m, MC) * ceilDiv (n, NC));
+		if (size < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2)
+			tiles.compute();
+		else
+			ForkJoinPool.commonPool().invoke (tiles);
+	}
+
+	private static int ceilDiv (int a, int b)
+	{
+		return (a + b - 1) / b;
+	}
+
+	// i, k, j order, so the rows of b and of c are read and written sequentially
+	private static void rows (double[] a, double[] b, double[] c, int m, int k, int n)
+	{
+		for (int i = 0; i < m; i++)
+			for (int p = 0; p < k; p++)
+			{
+				double x = a[i * k + p];
+				int bRow = p * n, cRow = i * n;
+				for (int j = 0; j < n; j++)
+					c[cRow + j] += x * b[bRow + j];
+			}
+	}
+
+	// with the transpose of b, each element is the dot product of two rows
+	private static void dots (double[] a, double[] b, double[] c, int m, int k, int n)
+	{
+		for (int i = 0; i < m; i++)
+			for (int j = 0; j < n; j++)
+			{
+				double sum = 0;
+				for (int p = 0; p < k; p++)
+					sum += a[i * k + p] * b[j * k + p];
+				c[i * n + j] = sum;
+			}
+	}
+
+	// the tiles first to last - 1, numbered row by row, split in halves until a single one is left
+	private static final class Tiles extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a, b, c;
+		private final boolean transposeB;
+		private final int m, k, n, first, last;
+
+		private Tiles (double[] a, double[] b, boolean transposeB, double[] c, int m, int k, int n, int first, int last)
+		{
+			this.a = a;
+			this.b = b;
+			this.transposeB = transposeB;
+			this.c = c;
+			this.m = m;
+			this.k = k;
+			this.n = n;
+			this.first = first;
+			this.last = last;
+		}
+
+		@Override
+		protected void compute ()
+		{
+			if (last - first > 1 && getPool() != null)
+			{
+				int middle = (first + last) >>> 1;
+				invokeAll (new Tiles (a, b, transposeB, c, m, k, n, first, middle), new Tiles (a, b, transposeB, c, m, k, n, middle, last));
+				return;
+			}
+
+			double[] packedA = new double [MC * KC], packedB = new double [NC * KC], acc = new double [16];
+			int tileColumns = ceilDiv (n, NC);
+			for (int t = first; t < last; t++)
+				tile (t / tileColumns * MC, t % tileColumns * NC, packedA, packedB, acc);
+		}
+
+		private void tile (int row, int col, double[] packedA, double[] packedB, double[] acc)
+		{
+			int mc = Math.min (MC, m - row), nc = Math.min (NC, n - col);
+
+			for (int p = 0; p < k; p += KC)
+			{
+				int kc = Math.min (KC, k - p);
+				packA (row, p, mc, kc, packedA);
+				packB (p, col, kc, nc, packedB);
+
+				for (int i = 0; i < mc; i += 4)
+					for (int j = 0; j < nc; j += 4)
+					{
+						kernel (packedA, i * kc, packedB, j * kc, kc, acc);
+
+						int rows = Math.min (4, mc - i), cols = Math.min (4, nc - j);
+						for (int r = 0; r < rows; r++)
+						{
+							int cRow = (row + i + r) * n + col + j;
+							for (int s = 0; s < cols; s++)
+								c[cRow + s] += acc[r * 4 + s];
+						}
+					}
+			}
+		}
+
+		// slivers of 4 rows, the 4 elements of each column next to each other, and 0 past the last row
+		private void packA (int row, int p, int mc, int kc, double[] packed)
+		{
+			for (int i = 0; i < mc; i += 4)
+			{
+				int base = i * kc;
+				for (int r = 0; r < 4; r++)
+					if (i + r < mc)
+					{
+						int src = (row + i + r) * k + p;
+						for (int q = 0; q < kc; q++)
+							packed[base + q * 4 + r] = a[src + q];
+					}
+					else
+						for (int q = 0; q < kc; q++)
+							packed[base + q * 4 + r] = 0;
+			}
+		}
+
+		// slivers of 4 columns, the 4 elements of each row next to each other, and 0 past the last column
+		private void packB (int p, int col, int kc, int nc, double[] packed)
+		{
+			for (int j = 0; j < nc; j += 4)
+			{
+				int base = j * kc, cols = Math.min (4, nc - j);
+				if (transposeB)
+					for (int s = 0; s < 4; s++)
+					{
+						int src = (col + j + s) * k + p;
+						for (int q = 0; q < kc; q++)
+							packed[base + q * 4 + s] = s < cols ? b[src + q] : 0;
+					}
+				else
+					for (int q = 0; q < kc; q++)
+					{
+						int src = (p + q) * n + col + j;
+						for (int s = 0; s < 4; s++)
+							packed[base + q * 4 + s] = s < cols ? b[src + s] : 0;
+					}
+			}
+		}
+	}
+
+	// the 4x4 product of a sliver of a by a sliver of b, accumulated in registers
+	private static void kernel (double[] a, int pa, double[] b, int pb, int kc, double[] acc)
+	{
+		double c00 = 0, c01 = 0, c02 = 0, c03 = 0, c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+		double c20 = 0, c21 = 0, c22 = 0, c23 = 0, c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+		for (int q = 0; q < kc; q++, pa += 4, pb += 4)
+		{
+			double a0 = a[pa], a1 = a[pa + 1], a2 = a[pa + 2], a3 = a[pa + 3];
+			double b0 = b[pb], b1 = b[pb + 1], b2 = b[pb + 2], b3 = b[pb + 3];
+
+			c00 += a0 * b0; c01 += a0 * b1; c02 += a0 * b2; c03 += a0 * b3;
+			c10 += a1 * b0; c11 += a1 * b1; c12 += a1 * b2; c13 += a1 * b3;
+			c20 += a2 * b0; c21 += a2 * b1; c22 += a2 * b2; c23 += a2 * b3;
+			c30 += a3 * b0; c31 += a3 * b1; c32 += a3 * b2; c33 += a3 * b3;
+		}
+
+		acc[0] = c00; acc[1] = c01; acc[2] = c02; acc[3] = c03;
+		acc[4] = c10; acc[5] = c11; acc[6] = c12; acc[7] = c13;
+		acc[8] = c20; acc[9] = c21; acc[10] = c22; acc[11] = c23;
+		acc[12] = c30; acc[13] = c31; acc[14] = c32; acc[15] = c33;
+	}
+}
@@ -0,0 +1,311 @@
+package com.AdvancedMath.Numbers;
+
+import java.util.Arrays;
+
+/**
+ * LU decomposition with partial pivoting of a square {@code DoubleMatrix}, P x A = L x U, where P permutes the rows, L is lower
+ * triangular with 1 on its diagonal and U is upper triangular. It solves the systems A x X = B in O(n^2) per column once computed
+ *
+ * <p>The matrix is singular when a pivot is 0, or numerically singular when the estimate of its reciprocal condition number
+ * {@link #rcond()} is below the machine epsilon, 2^-52, i.e. when a solution would have no correct digit
+ *
+ * @see DoubleMatrix#lu()
+ */
+public final class LUDecomposition
+{
+	private static final double EPSILON = Math.ulp (1.0);
+
+	private final int n;
+	// L below the diagonal, without its 1s, and U on and above it
+	private final double[] lu;
+	// row i of P x A is row pivot[i] of A
+	private final int[] pivot;
+	private final boolean oddSwaps;
+	// the 1-norm of A, for the condition number
+	private final double norm;
+	private double rcond = -1;
+
+	/**
+	 * Decomposes {@code m}, in O(n^3)
+	 *
+	 * @param m The matrix to decompose
+	 * @throws IllegalArgumentException if m is not square
+	 */
+	public LUDecomposition (DoubleMatrix m)
+	{
+		if (!m.isSquare())
+			throw new IllegalArgumentException ("Only square matrices have an LU decomposition");
+
+		n = m.getRowCount();
+		lu = m.getData().clone();
+		pivot = new int [n];
+		for (int i = 0; i < n; i++)
+			pivot[i] = i;
+
+		double max = 0;
+		for (int j = 0; j < n; j++)
+		{
+			double sum = 0;
+			for (int i = 0; i < n; i++)
+				sum += Math.abs (lu[i * n + j]);
+			max = Math.max (max, sum);
+		}
+		norm = max;
+
+		boolean odd = false;
+		for (int k = 0; k < n; k++)
+		{
+			// the largest pivot of the column keeps the multipliers below 1
+			int p = k;
+			for (int i = k + 1; i < n; i++)
+				if (Math.abs (lu[i * n + k]) > Math.abs (lu[p * n + k]))
+					p = i;
+
+			if (p != k)
+			{
+				for (int j = 0; j < n; j++)
+				{
+					double tmp = lu[p * n + j];
+					lu[p * n + j] = lu[k * n + j];
+					lu[k * n + j] = tmp;
+				}
+
+				int tmp = pivot[p];
+				pivot[p] = pivot[k];
+				pivot[k] = tmp;
+				odd = !odd;
+			}
+
+			double d = lu[k * n + k];
+			if (d == 0)
+				// the column is already 0 below the diagonal
+				continue;
+
+			for (int i = k + 1; i < n; i++)
+			{
+				double f = lu[i * n + k] /= d;
+				if (f != 0)
+					for (int j = k + 1; j < n; j++)
+						lu[i * n + j] -= f * lu[k * n + j];
+			}
+		}
+		oddSwaps = odd;
+	}
+
+	/**
+	 * Gets the lower triangular factor L, whose diagonal is made of 1
+	 */
+	public DoubleMatrix getL ()
+	{
+		DoubleMatrix l = DoubleMatrix.identity (n);
+		for (int i = 0; i < n; i++)
+			for (int j = 0; j < i; j++)
+				l.setValueAt (i, j, lu[i * n + j]);
+
+		return l;
+	}
+
+	/**
+	 * Gets the upper triangular factor U
+	 */
+	public DoubleMatrix getU ()
+	{
+		DoubleMatrix u = new DoubleMatrix (n, n);
+		for (int i = 0; i < n; i++)
+			for (int j = i; j < n; j++)
+				u.setValueAt (i, j, lu[i * n + j]);
+
+		return u;
+	}
+
+	/**
+	 * Gets the permutation of the rows, i.e., row i of P x A is row {@code getPivot()[i]} of A
+	 */
+	public int[] getPivot ()
+	{
+		return pivot.clone();
+	}
+
+	/**
+	 * Calculates the determinant of the matrix, the product of the diagonal of U with the sign of the permutation
+	 */
+	public double determinant ()
+	{
+		double det = oddSwaps ? -1 : 1;
+		for (int i = 0; i < n; i++)
+			det *= lu[i * n + i];
+
+		return det;
+	}
+
+	/**
+	 * Estimates the reciprocal of the condition number of the matrix in the 1-norm, 1 / (||A|| ||A^-1||), with the algorithm of
+	 * Hager, which solves a few systems with A and its transpose instead of computing the inverse. ||A^-1|| is estimated from below,
+	 * so the estimate is never below the exact value, and it is usually within a factor of 3 of it
+	 *
+	 * @return The estimate, 0 if a pivot is 0, and 1 for the identity
+	 */
+	public double rcond ()
+	{
+		if (rcond >= 0)
+			return rcond;
+
+		for (int i = 0; i < n; i++)
+			if (lu[i * n + i] == 0)
+				return rcond = 0;
+
+		if (norm == 0)
+			return rcond = 0;
+
+		double[] x = new double [n], y = new double [n];
+		Arrays.fill (x, 1.0 / n);
+		double inverseNorm = 0;
+		for (int iteration = 0; iteration < 5; iteration++)
+		{
+			System.arraycopy (x, 0, y, 0, n);
+			solve (y);
+			double sum = 0;
+			for (int i = 0; i < n; i++)
+				sum += Math.abs (y[i]);
+			if (sum <= inverseNorm)
+				break;
+			inverseNorm = sum;
+
+			for (int i = 0; i < n; i++)
+				y[i] = y[i] >= 0 ? 1 : -1;
+			solveTransposed (y);
+
+			int j = 0;
+			double zx = 0;
+			for (int i = 0; i < n; i++)
+			{
+				zx += y[i] * x[i];
+				if (Math.abs (y[i]) > Math.abs (y[j]))
+					j = i;
+			}
+			if (Math.abs (y[j]) <= zx)
+				break;
+
+			Arrays.fill (x, 0);
+			x[j] = 1;
+		}
+
+		return rcond = 1 / (norm * inverseNorm);
+	}
+
+	/**
+	 * Checks if the matrix is singular, or too close to singular for a solution to have a correct digit
+	 *
+	 * @return {@code true} if a pivot is 0 or {@link #rcond()} is below 2^-52
+	 */
+	public boolean isSingular ()
+	{
+		return rcond() < EPSILON;
+	}
+
+	/**
+	 * Solves A x X = B
+	 *
+	 * @param b The right hand side, with as many rows as A
+	 * @return X, with the dimensions of b
+	 * @throws IllegalArgumentException if b doesn't have as many rows as A, or if A is singular
+	 * @see #isSingular()
+	 */
+	public DoubleMatrix solve (DoubleMatrix b)
+	{
+		if (b.getRowCount() != n)
+			throw new IllegalArgumentException ("The right hand side must have as many rows as the matrix");
+		if (isSingular())
+			throw new IllegalArgumentException ("Math error: The matrix is singular");
+
+		int cols = b.getColCount();
+		double[] src = b.getData(), x = new double [n * cols];
+		for (int i = 0; i < n; i++)
+			System.arraycopy (src, pivot[i] * cols, x, i * cols, cols);
+
+		// L x Y = P x B, then U x X = Y, a row of X at a time
+		for (int k = 0; k < n; k++)
+			for (int i = k + 1; i < n; i++)
+			{
+				double f = lu[i * n + k];
+				if (f != 0)
+					for (int j = 0; j < cols; j++)
+						x[i * cols + j] -= f * x[k * cols + j];
+			}
+
+		for (int k = n - 1; k >= 0; k--)
+		{
+			double d = lu[k * n + k];
+			for (int j = 0; j < cols; j++)
+				x[k * cols + j] /= d;
+
+			for (int i = 0; i < k; i++)
+			{
+				double f = lu[i * n + k];
+				if (f != 0)
+					for (int j = 0; j < cols; j++)
+						x[i * cols + j] -= f * x[k * cols + j];
+			}
+		}
+
+		return DoubleMatrix.wrap (n, cols, x);
+	}
+
+	/**
+	 * Computes the inverse of the matrix, by solving A x X = I
+	 *
+	 * @throws IllegalArgumentException if the matrix is singular
+	 */
+	public DoubleMatrix inverse ()
+	{
+		return solve (DoubleMatrix.identity (n));
+	}
+
+	// solves A x = b in place, for the condition estimate
+	private void solve (double[] b)
+	{
+		double[] x = new double [n];
+		for (int i = 0; i < n; i++)
+			x[i] = b[pivot[i]];
+
+		for (int i = 0; i < n; i++)
+		{
+			double sum = x[i];
+			for (int k = 0; k < i; k++)
+				sum -= lu[i * n + k] * x[k];
+			x[i] = sum;
+		}
+		for (int i = n - 1; i >= 0; i--)
+		{
+			double sum = x[i];
+			for (int k = i + 1; k < n; k++)
+				sum -= lu[i * n + k] * x[k];
+			x[i] = sum / lu[i * n + i];
+		}
+
+		System.arraycopy (x, 0, b, 0, n);
+	}
+
+	// solves transpose (A) x = b in place, i.e., transpose (U) x transpose (L) x P x = b
+	private void solveTransposed (double[] b)
+	{
+		double[] z = b.clone();
+		for (int i = 0; i < n; i++)
+		{
+			double sum = z[i];
+			for (int k = 0; k < i; k++)
+				sum -= lu[k * n + i] * z[k];
+			z[i] = sum / lu[i * n + i];
+		}
+		for (int i = n - 1; i >= 0; i--)
+		{
+			double sum = z[i];
+			for (int k = i + 1; k < n; k++)
+				sum -= lu[k * n + i] * z[k];
+			z[i] = sum;
+		}
+
+		for (int i = 0; i < n; i++)
+			b[pivot[i]] = z[i];
+	}
+}
@@ -2,6 +2,10 @@ package com.AdvancedMath.Numbers;
 
 /**
  * Class that represents matrices and vectors
+ *
+ * <p>The operations are computed with those of {@code Number}, in the {@link ArithmeticContext} bound to the current thread. When
+ * the components of all of the elements are {@code double}s, or in {@link ArithmeticContext#FAST_DOUBLE}, the additions, the products
+ * and the determinant are computed with a {@link DoubleMatrix}, or with a {@link ComplexMatrix} if an element is not real
  */
 public class Matrix
 {
@@ -182,7 +186,7 @@ public class Matrix
 	 * @param valueRealPart The real part of the new value
 	 * @param valueImaginaryPart The imaginary part of the real value
 	 */
-	public void setValueAt (int row, int col, Double valueRealPart, Double valueImaginaryPart)
+	public void setValueAt (int row, int col, double valueRealPart, double valueImaginaryPart)
 	{
 		data[row][col] = new Number (valueRealPart, valueImaginaryPart);
 	}
@@ -429,6 +433,23 @@ public class Matrix
 		return res;
 	}
 
+	/**
+	 * Transposes this matrix and conjugates its elements, i.e., computes its Hermitian adjoint
+	 *
+	 * @return The conjugate transpose of this matrix
+	 * @see Number#conjugate()
+	 */
+	public Matrix conjugateTranspose ()
+	{
+		Matrix res = new Matrix (getColCount(), getRowCount());
+
+		for (int i = 0; i < getRowCount(); i++)
+			for (int j = 0; j < getColCount(); j++)
+				res.setValueAt (j, i, data[i][j].conjugate());
+
+		return res;
+	}
+
 	/**
 	 * Creates a sub matrix by removing the specified row and column from the original. If either of {@code row} or {@code col} is equal to -1, only a column, or row wil be removed
 	 * 
@@ -462,28 +483,284 @@ public class Matrix
 	}
 
 	/**
-	 * Calculates the determinant of this matrix using the cofactor method
+	 * Checks if all of the elements of this matrix are real
+	 *
+	 * @return {@code true} if the imaginary part of every element is 0
+	 * @see DoubleMatrix#of(Matrix)
+	 */
+	public boolean isReal ()
+	{
+		for (Number[] row : data)
+			for (Number n : row)
+				if (n == null || !n.isPureReal())
+					return false;
+
+		return true;
+	}
+
+	// whether the operations of m can be computed with a DoubleMatrix or a ComplexMatrix without losing an exact value
+	private static boolean isDouble (Matrix m)
+	{
+		ArithmeticContext context = ArithmeticContext.current();
+		if (context == ArithmeticContext.EXACT)
+			return false;
+
+		for (Number[] row : m.data)
+			for (Number n : row)
+				if (n == null || context != ArithmeticContext.FAST_DOUBLE && !(isDouble (n.getX()) && isDouble (n.getY())))
+					return false;
+
+		return true;
+	}
+
+	private static boolean isDouble (Value v)
+	{
+		return v instanceof FloatValue || v.getDoubleValue() == 0;
+	}
+
+	/**
+	 * Calculates the determinant of this matrix in O(n^3). The matrices of size up to 3 use the closed forms, e.g. ad - bc, those of
+	 * {@code double}s an LU decomposition with partial pivoting, see {@link DoubleMatrix#determinant()}, and the other ones, e.g. of
+	 * fractions, the fraction-free elimination of Bareiss, whose divisions are exact, so the result stays exact
 	 * 
 	 * @return The determinant of the matrix
 	 * @throws IllegalArgumentException if the matrix is not square
 	 * @see Matrix#isSquare()
-	 * @see Matrix#subMatrix(int, int)
 	 */
 	public Number determinant ()
 	{
 		if (!isSquare())
 			throw new IllegalArgumentException ("Cannot compute the determinant of a non square matrix");
 
-		if (getRowCount() == 2)
-			return data[0][0].multiply(data[1][1]).subtract (data[0][1].multiply (data[1][0]));
+		Number[][] a = data;
+		switch (getRowCount())
+		{
+			case 1:
+				return a[0][0];
+			case 2:
+				return a[0][0].multiply (a[1][1]).subtract (a[0][1].multiply (a[1][0]));
+			case 3:
+				return a[0][0].multiply (a[1][1].multiply (a[2][2]).subtract (a[1][2].multiply (a[2][1])))
+						.subtract (a[0][1].multiply (a[1][0].multiply (a[2][2]).subtract (a[1][2].multiply (a[2][0]))))
+						.add (a[0][2].multiply (a[1][0].multiply (a[2][1]).subtract (a[1][1].multiply (a[2][0]))));
+		}
 
-		Number det = Number.ZERO;
-		Matrix row = getRow (0);
-		for (int i = 0; i < row.getColCount(); i++)
-			// det = det.add (Number.ONE.negate().pow(Number.real ((double) i)).multiply(row.getValueAt (0, i)).multiply (subMatrix(0, i).determinant()));
-			det = det.add (Number.ONE.negate().pow(i).multiply(row.getValueAt (0, i)).multiply (subMatrix(0, i).determinant()));
-		
-		return det;
+		if (isDouble (this))
+			return isReal() ? Number.real (DoubleMatrix.of (this).determinant()) : ComplexMatrix.of (this).determinant();
+
+		return bareiss();
+	}
+
+	// each step k replaces a[i][j] by (a[i][j] a[k][k] - a[i][k] a[k][j]) / (the previous pivot), which divides it exactly, so the
+	// elements of a matrix of integers stay integers, and the last one is the determinant
+	private Number bareiss ()
+	{
+		int n = getRowCount();
+		Number[][] a = new Number [n][];
+		for (int i = 0; i < n; i++)
+			a[i] = data[i].clone();
+
+		Number previous = Number.ONE;
+		boolean negate = false;
+		for (int k = 0; k < n - 1; k++)
+		{
+			if (a[k][k].equals (Number.ZERO))
+			{
+				int pivot = k + 1;
+				while (pivot < n && a[pivot][k].equals (Number.ZERO))
+					pivot++;
+
+				if (pivot == n)
+					return Number.ZERO;
+
+				Number[] tmp = a[k];
+				a[k] = a[pivot];
+				a[pivot] = tmp;
+				negate = !negate;
+			}
+
+			for (int i = k + 1; i < n; i++)
+				for (int j = k + 1; j < n; j++)
+				{
+					Number e = a[i][j].multiply (a[k][k]).subtract (a[i][k].multiply (a[k][j]));
+					a[i][j] = k == 0 ? e : divideExactly (e, previous);
+				}
+
+			previous = a[k][k];
+		}
+
+		return negate ? a[n - 1][n - 1].negate() : a[n - 1][n - 1];
+	}
+
+	// Number.divide goes through the length of d outside of EXACT, which turns fractions into doubles
+	private static Number divideExactly (Number n, Number d)
+	{
+		if (d.isPureReal())
+			return new Number (n.getX().divide (d.getX()), n.getY().divide (d.getX()));
+
+		return n.divide (d);
+	}
+
+	/**
+	 * Solves this x X = b, where this matrix is square. The matrices of {@code double}s are solved by LU decomposition with partial
+	 * pivoting, see {@link DoubleMatrix#solve(DoubleMatrix)} and {@link ComplexMatrix#solve(ComplexMatrix)}, and the other ones, e.g. of
+	 * fractions, by Gaussian elimination, with exact divisions by the real pivots, so the solution stays exact. The pivot is the first
+	 * non-zero element of its column when they are all exact, and the largest one otherwise, e.g. for the constants
+	 *
+	 * @param b The right hand side, with as many rows as this matrix
+	 * @return X, with the dimensions of b
+	 * @throws IllegalArgumentException if the matrix is not square, if b doesn't have as many rows as this matrix, or if this matrix
+	 * is singular
+	 */
+	public Matrix solve (Matrix b)
+	{
+		if (!isSquare())
+			throw new IllegalArgumentException ("Only square matrices can be used to solve a system");
+		if (b.getRowCount() != getRowCount())
+			throw new IllegalArgumentException ("The right hand side must have as many rows as the matrix");
+
+		if (isDouble (this) && isDouble (b))
+			return isReal() && b.isReal() ? DoubleMatrix.of (this).solve (DoubleMatrix.of (b)).toMatrix()
+					: ComplexMatrix.of (this).solve (ComplexMatrix.of (b)).toMatrix();
+
+		int n = getRowCount(), cols = b.getColCount();
+		Number[][] a = new Number [n][], x = new Number [n][];
+		for (int i = 0; i < n; i++)
+		{
+			a[i] = data[i].clone();
+			x[i] = b.data[i].clone();
+		}
+
+		for (int k = 0; k < n; k++)
+		{
+			int pivot = pivot (a, k);
+			if (pivot == n)
+				throw new IllegalArgumentException ("Math error: The matrix is singular");
+
+			Number[] tmp = a[k];
+			a[k] = a[pivot];
+			a[pivot] = tmp;
+			tmp = x[k];
+			x[k] = x[pivot];
+			x[pivot] = tmp;
+
+			for (int i = k + 1; i < n; i++)
+			{
+				if (a[i][k].equals (Number.ZERO))
+					continue;
+
+				Number f = divideExactly (a[i][k], a[k][k]);
+				for (int j = k + 1; j < n; j++)
+					a[i][j] = a[i][j].subtract (f.multiply (a[k][j]));
+				for (int j = 0; j < cols; j++)
+					x[i][j] = x[i][j].subtract (f.multiply (x[k][j]));
+			}
+		}
+
+		for (int k = n - 1; k >= 0; k--)
+			for (int j = 0; j < cols; j++)
+			{
+				Number sum = x[k][j];
+				for (int i = k + 1; i < n; i++)
+					sum = sum.subtract (a[k][i].multiply (x[i][j]));
+				x[k][j] = divideExactly (sum, a[k][k]);
+			}
+
+		return new Matrix (x);
+	}
+
+	// the first non-zero pivot of column k if its elements are all exact, as any one keeps the solution exact, and otherwise the
+	// largest one, which keeps the multipliers below 1 so that the rounding errors don't grow. n if the column is 0 from row k
+	private static int pivot (Number[][] a, int k)
+	{
+		int n = a.length;
+		boolean exact = true;
+		for (int i = k; i < n && exact; i++)
+			exact = isExact (a[i][k].getX()) && isExact (a[i][k].getY());
+
+		int pivot = k;
+		if (exact)
+		{
+			while (pivot < n && a[pivot][k].equals (Number.ZERO))
+				pivot++;
+
+			return pivot;
+		}
+
+		double max = a[k][k].length();
+		for (int i = k + 1; i < n; i++)
+		{
+			double length = a[i][k].length();
+			if (length > max)
+			{
+				max = length;
+				pivot = i;
+			}
+		}
+
+		return a[pivot][k].equals (Number.ZERO) ? n : pivot;
+	}
+
+	private static boolean isExact (Value v)
+	{
+		return v instanceof FractionValue || v instanceof RationalValue || v.getDoubleValue() == 0;
+	}
+
+	/**
+	 * Computes the inverse of this matrix, by solving this x X = I
+	 *
+	 * @throws IllegalArgumentException if the matrix is not square, or if it is singular
+	 * @see #solve(Matrix)
+	 */
+	public Matrix inverse ()
+	{
+		if (!isSquare())
+			throw new IllegalArgumentException ("Only square matrices can be inverted");
+
+		if (isDouble (this))
+			return solve (identity (getRowCount()));
+
+		// the 1s and 0s of identity are doubles, which would turn the fractions of the solution into doubles
+		int n = getRowCount();
+		Number[][] id = new Number [n][n];
+		for (int i = 0; i < n; i++)
+			for (int j = 0; j < n; j++)
+				id[i][j] = Number.real (i == j ? FractionValue.ONE : FractionValue.ZERO);
+
+		return solve (new Matrix (id));
+	}
+
+	/**
+	 * Computes the LU decomposition with partial pivoting of this matrix, with the {@code double} values of its elements
+	 *
+	 * @throws IllegalArgumentException if the matrix is not square, or if an element is not real
+	 * @see DoubleMatrix#lu()
+	 */
+	public LUDecomposition lu ()
+	{
+		return DoubleMatrix.of (this).lu();
+	}
+
+	/**
+	 * Computes the QR decomposition of this matrix by Householder reflections, with the {@code double} values of its elements
+	 *
+	 * @throws IllegalArgumentException if the matrix has fewer rows than columns, or if an element is not real
+	 * @see DoubleMatrix#qr()
+	 */
+	public QRDecomposition qr ()
+	{
+		return DoubleMatrix.of (this).qr();
+	}
+
+	/**
+	 * Computes the Cholesky decomposition of this matrix, with the {@code double} values of its elements
+	 *
+	 * @throws IllegalArgumentException if the matrix is not symmetric positive definite, or if an element is not real
+	 * @see DoubleMatrix#cholesky()
+	 */
+	public CholeskyDecomposition cholesky ()
+	{
+		return DoubleMatrix.of (this).cholesky();
 	}
 
 	/**
@@ -498,6 +775,10 @@ public class Matrix
 		if (this.getRowCount() != m.getRowCount() || this.getColCount() != m.getColCount())
 			throw new IllegalArgumentException ("Only matrices with the same dimensions can be added");
 
+		if (isDouble (this) && isDouble (m))
+			return isReal() && m.isReal() ? DoubleMatrix.of (this).add (DoubleMatrix.of (m)).toMatrix()
+					: ComplexMatrix.of (this).add (ComplexMatrix.of (m)).toMatrix();
+
 		Matrix res = new Matrix (getRowCount(), getColCount());
 		for (int i = 0; i < getRowCount(); i++)
 			for (int j = 0; j < getColCount(); j++)
@@ -518,6 +799,10 @@ public class Matrix
 		if (this.getRowCount() != m.getRowCount() || this.getColCount() != m.getColCount())
 			throw new IllegalArgumentException ("Only matrices with the same dimensions can be subtracted");
 
+		if (isDouble (this) && isDouble (m))
+			return isReal() && m.isReal() ? DoubleMatrix.of (this).sub (DoubleMatrix.of (m)).toMatrix()
+					: ComplexMatrix.of (this).sub (ComplexMatrix.of (m)).toMatrix();
+
 		Matrix res = new Matrix (getRowCount(), getColCount());
 		for (int i = 0; i < getRowCount(); i++)
 			for (int j = 0; j < getColCount(); j++)
@@ -585,12 +870,22 @@ public class Matrix
 	{
 		if (getColCount() != m.getRowCount())
 			throw new IllegalArgumentException ("The provided matrix must have the same number of rows as the number of columns of the first one");
+
+		if (isDouble (this) && isDouble (m))
+			return isReal() && m.isReal() ? DoubleMatrix.of (this).multiply (DoubleMatrix.of (m)).toMatrix()
+					: ComplexMatrix.of (this).multiply (ComplexMatrix.of (m)).toMatrix();
 		
 		Matrix res = new Matrix (getRowCount(), m.getColCount());
 
 		for (int i = 0; i < getRowCount(); i++)
 			for (int j = 0; j < m.getColCount(); j++)
-				res.setValueAt (i, j, vectDot (this.getRow (i), m.getColumn (j)));
+			{
+				// the dot product of the row and the column, without copying them into vectors
+				Number sum = Number.ZERO;
+				for (int k = 0; k < getColCount(); k++)
+					sum = sum.add (data[i][k].multiply (m.data[k][j]));
+				res.setValueAt (i, j, sum);
+			}
 		
 		return res;
 	}
@@ -1,25 +1,38 @@
 package com.AdvancedMath.Numbers;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import com.AdvancedMath.EqTree.Node;
+import com.AdvancedMath.Graphs.Graphable;
 import com.AdvancedMath.Graphs.Point;
 import com.AdvancedMath.EqTree.NumberNode;
 import com.AdvancedMath.EqTree.OperatorNode;
 import com.AdvancedMath.EqTree.VariableNode;
+import com.AdvancedMath.Functionalities.Operators;
 
 /**
  * Class that represents any number. It uses a complex representation of a number (a + bi) 
+ * 
+ * <p>A {@code Number} is immutable: the class is final and its components are final immutable values, so the constants and the
+ * results of the operations can be shared between threads. A number that differs from another one by one of its components is
+ * created with {@link #withX(Value)} and {@link #withY(Value)}
  */
-public class Number extends Point implements Cloneable
+public final class Number implements Graphable, Cloneable
 {
-	public static Number ZERO = Number.real (0.0), 
+	public static final Number ZERO = Number.real (0.0), 
 						 ONE = Number.real (1.0),
 						 I = Number.imaginary (1.0),
 						 PI = Number.real (ConstantValue.PI),
 						 E = Number.real (ConstantValue.E),
 						 PHI = Number.real (ConstantValue.PHI);
+
+	private final Value x, y;
 	
 	/**
 	 * Creates a complex {@code Number} with values x and y as its components (x + yi)
@@ -32,7 +45,8 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number (Value x, Value y)
 	{
-		super (x, y);
+		this.x = x == null ? FractionValue.ZERO : x;
+		this.y = y == null ? FractionValue.ZERO : y;
 	}
 	
 	/**
@@ -41,9 +55,9 @@ public class Number extends Point implements Cloneable
 	 * @param x The real part of the number
 	 * @param y The imaginary part of the number
 	 */
-	public Number (Double x, Double y)
+	public Number (double x, double y)
 	{
-		super (new FloatValue (x), new FloatValue (y));
+		this (FloatValue.valueOf (x), FloatValue.valueOf (y));
 	}
 
 	/**
@@ -63,7 +77,7 @@ public class Number extends Point implements Cloneable
 	 * @param x The value of the real number
 	 * @return A real {@code Number} equals to x + 0*i
 	 */
-	public static Number real (Double x)
+	public static Number real (double x)
 	{
 		return new Number (x, 0.0);
 	}
@@ -85,7 +99,7 @@ public class Number extends Point implements Cloneable
 	 * @param x The value of the imaginary number
 	 * @return An imaginary {@code Number} equals to 0 + x*i
 	 */
-	public static Number imaginary (Double x)
+	public static Number imaginary (double x)
 	{
 		return new Number (0.0, x);
 	}
@@ -93,112 +107,64 @@ public class Number extends Point implements Cloneable
 	/**
 	 * Creates a complex {@code Number} a+bi from its polar form (r*e^(theta * i))
 	 * 
+	 * <p>If {@code theta} is an exact multiple of π/6 or π/4, e.g. {@code ConstantValue.PI} times a fraction, the components are exact, 
+	 * e.g. r*sqrt(3)/2. Otherwise they are computed with {@code Math.cos} and {@code Math.sin}
+	 * 
 	 * @param r The length of the number, i.e., the distance from the origin O(0, 0)
 	 * @param theta The argument of the number, i.e., the angle the segment made by joining the origin with this point, with the x axis in the anti-clockwise direction
 	 * @return The cartesian form (a+bi) of the polar form of this number
 	 */
 	public static Number fromPolar (Value r, Value theta)
 	{
-		Value piMulti = theta.divide (new FloatValue (Math.PI));
-		FractionValue piMultiFrac = null;
+		double angle = theta.getDoubleValue();
+		if (angle == 0)
+			return new Number (r, FractionValue.ZERO);
 
-		if (piMulti instanceof FloatValue fl)
-			piMultiFrac = fl.getFraction();
-		else if (piMulti instanceof ConstantValue c)
-			piMultiFrac = new FloatValue(c.getDoubleValue()).getFraction();
-		else
-			piMultiFrac = (FractionValue) piMulti;
-		
-		// reduce angle to [-π, π]
-		FractionValue pi = new FractionValue (1, 1), twoPi = new FractionValue (2, 1);
-		while (piMultiFrac.compare (new FractionValue (-1, 1)) == -1)
-		{
-			piMultiFrac = (FractionValue) piMultiFrac.add (twoPi);
-		}
-		
-		while (piMultiFrac.compare (pi) == 1)
-		{
-			piMultiFrac = (FractionValue) piMultiFrac.subtract (twoPi);
-		}
-		
-		FractionValue 	zero = new FractionValue (0, 1), 
-						piOver2 = new FractionValue (1, 2);
-		
-		int quad = 0;
-		if (piMultiFrac.compare (zero) == -1)
-			// less than -π/2
-			if (piMultiFrac.compare (piOver2.negateCopy()) == -1)
-				quad = 2;
-			else
-				quad = 3;
-		else
-			if (piMultiFrac.compare (piOver2) == 1)
-				quad = 1;
-			else
-				quad = 0;
-		
-		// reduce angle to [0, π/2]
-		switch (quad)
-		{
-			case 1: piMultiFrac = (FractionValue) piMultiFrac.subtract (piOver2); break;
-			case 2: piMultiFrac = (FractionValue) piMultiFrac.add (pi); break;
-			case 3: piMultiFrac = (FractionValue) piMultiFrac.add (piOver2); break;
-		}
+		int twelfths = exactTwelfthsOfPi (theta);
+		if (twelfths >= 0 && EXACT_COS[twelfths] != null)
+			return new Number (scale (EXACT_COS[twelfths], r), scale (EXACT_COS[(twelfths + 18) % 24], r));
 
-		Value[] components = new Value [2];
+		double length = r.getDoubleValue();
+		return new Number (length * Math.cos (angle), length * Math.sin (angle));
+	}
 
-		ConstantValue 	sqrt3Over2 = ConstantValue.pow (r.multiply(piOver2).getDoubleValue(), 3, 0.5),
-						sqrt2Over2 = ConstantValue.pow (r.multiply(piOver2).getDoubleValue(), 2, 0.5);
+	// cos (kπ/12) for k in [0, 24[, null when it is not a ConstantValue. sin (kπ/12) = cos ((k - 6)π/12)
+	private static final Value[] EXACT_COS = new Value [24];
 
-		if (piMultiFrac.equals (zero))
-		{
-			components[0] = r;
-			components[1] = zero;
-		}
-		else if (piMultiFrac.equals (new FractionValue (1, 6)))
-		{
-			components[0] = sqrt3Over2;
-			components[1] = piOver2.multiply (r);
-		}
-		else if (piMultiFrac.equals (new FractionValue (1, 4)))
-		{
-			components[0] = sqrt2Over2;
-			components[1] = sqrt2Over2;
-		}
-		else if (piMultiFrac.equals (new FractionValue (1, 3)))
-		{
-			components[0] = piOver2.multiply (r);
-			components[1] = sqrt3Over2;
-		}
-		else if (piMultiFrac.equals (piOver2))
-		{
-			components[0] = zero;
-			components[1] = r;
-		}
-		else
-		{
-			components[0] = r.multiply (new FloatValue (Math.cos (theta.getDoubleValue())));
-			components[1] = r.multiply (new FloatValue (Math.sin (theta.getDoubleValue())));
-		}
+	static
+	{
+		Value[] firstQuarter = {FractionValue.ONE, null, ConstantValue.pow (0.5, 3, 0.5), ConstantValue.pow (0.5, 2, 0.5), FractionValue.valueOf (1, 2), null, FractionValue.ZERO};
 
-		switch (quad)
-		{
-			case 1:
-				Value temp = components[0];
-				components[0] = components[1];
-				components[1] = temp;
-				components[0].negate(); 
-				break;
-			case 2: components[0] = components[0].negateCopy(); components[1] = components[1].negateCopy(); break;
-			case 3: 
-				temp = components[0];
-				components[0] = components[1];
-				components[1] = temp;
-				components[1].negate(); 
-				break;
-		}
+		for (int k = 0; k <= 6; k++)
+			if (firstQuarter[k] != null)
+			{
+				EXACT_COS[k] = EXACT_COS[(24 - k) % 24] = firstQuarter[k];
+				EXACT_COS[12 - k] = EXACT_COS[12 + k] = firstQuarter[k].negateCopy();
+			}
+	}
+
+	// multiplies an exact cosine by r, keeping the symbolic form of the cosine if r cannot be combined with it
+	private static Value scale (Value cos, Value r)
+	{
+		Value res = cos.multiply (r);
+		if (res instanceof FloatValue && cos instanceof ConstantValue c)
+			return c.multiply (FloatValue.valueOf (r.getDoubleValue()));
 
-		return new Number (components[0], components[1]);
+		return res;
+	}
+
+	// gets k in [0, 24[ if theta is an exact ConstantValue equal to kπ/12 modulo 2π, -1 otherwise
+	private static int exactTwelfthsOfPi (Value theta)
+	{
+		if (!(theta instanceof ConstantValue c) || c.getOperator() != Operators.POW || c.getArguments()[0] != Math.PI || c.getArguments()[1] != 1)
+			return -1;
+
+		double twelfths = c.getMultiplier() * 12;
+		long k = Math.round (twelfths);
+		if (Math.abs (twelfths - k) > 1e-9)
+			return -1;
+
+		return (int) Math.floorMod (k, 24L);
 	}
 
 	/**
@@ -212,7 +178,7 @@ public class Number extends Point implements Cloneable
 	}
 
 	/**
-	 * Sets all components to their opposite
+	 * Gets the opposite of this number
 	 * 
 	 * @return -a - bi
 	 */
@@ -229,7 +195,12 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number add (Number c)
 	{
-		return new Number (this.getX().add (c.getX()), this.getY().add(c.getY()));
+		ArithmeticContext context = ArithmeticContext.current();
+		if (context == ArithmeticContext.FAST_DOUBLE)
+			return fast (Operators.ADD, this, c);
+
+		Number a = inContext (this, context), b = inContext (c, context);
+		return new Number (a.getX().add (b.getX()), a.getY().add(b.getY()));
 	}
 	
 	/**
@@ -240,7 +211,12 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number subtract (Number c)
 	{
-		return new Number (this.getX().subtract (c.getX()), this.getY().subtract (c.getY()));
+		ArithmeticContext context = ArithmeticContext.current();
+		if (context == ArithmeticContext.FAST_DOUBLE)
+			return fast (Operators.SUB, this, c);
+
+		Number a = inContext (this, context), b = inContext (c, context);
+		return new Number (a.getX().subtract (b.getX()), a.getY().subtract (b.getY()));
 	}
 
 	/**
@@ -251,7 +227,12 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number multiply (Number c)
 	{
-		return new Number (this.getX().multiply(c.getX()).subtract (this.getY().multiply (c.getY())), this.getX().multiply(c.getY()).add (this.getY().multiply (c.getX())));
+		ArithmeticContext context = ArithmeticContext.current();
+		if (context == ArithmeticContext.FAST_DOUBLE)
+			return fast (Operators.MUL, this, c);
+
+		Number a = inContext (this, context), b = inContext (c, context);
+		return new Number (a.getX().multiply(b.getX()).subtract (a.getY().multiply (b.getY())), a.getX().multiply(b.getY()).add (a.getY().multiply (b.getX())));
 	}
 	
 	/**
@@ -261,11 +242,18 @@ public class Number extends Point implements Cloneable
 	 * @return The division result of this and d
 	 * @throws IllegalArgumentException if {@code d} is 0
 	 */
-	public Number divide (Double d)
+	public Number divide (double d)
 	{
 		if (d == 0)
 			throw new IllegalArgumentException ("Math error: Dividing by zero");
-		return new Number (getX().divide (new FloatValue (d)), getY().divide (new FloatValue (d)));
+
+		ArithmeticContext context = ArithmeticContext.current();
+		if (context == ArithmeticContext.FAST_DOUBLE)
+			return new Number (getX().getDoubleValue() / d, getY().getDoubleValue() / d);
+
+		Number a = inContext (this, context);
+		Value divisor = context == ArithmeticContext.EXACT ? exact (FloatValue.valueOf (d)) : FloatValue.valueOf (d);
+		return new Number (a.getX().divide (divisor), a.getY().divide (divisor));
 	}
 	
 	/**
@@ -279,6 +267,23 @@ public class Number extends Point implements Cloneable
 	{
 		if (c.equals (Number.ZERO))
 			throw new IllegalArgumentException ("Math error: Dividing by zero");
+
+		ArithmeticContext context = ArithmeticContext.current();
+		if (context == ArithmeticContext.FAST_DOUBLE)
+			return fast (Operators.DIV, this, c);
+
+		if (context == ArithmeticContext.EXACT)
+		{
+			// (a + bi) / (c + di) = ((ac + bd) + (bc - ad)i) / (c^2 + d^2), without the square root of the length
+			Number a = exact (this), b = exact (c);
+			Value den = b.getX().multiply (b.getX()).add (b.getY().multiply (b.getY()));
+			return new Number
+			(
+				a.getX().multiply (b.getX()).add (a.getY().multiply (b.getY())).divide (den),
+				a.getY().multiply (b.getX()).subtract (a.getX().multiply (b.getY())).divide (den)
+			);
+		}
+
 		return this.multiply(c.conjugate()).divide (Math.pow (c.length(), 2));
 	}
 
@@ -287,12 +292,51 @@ public class Number extends Point implements Cloneable
 	 * 
 	 * <p>If {@code n} is negative, the result is equal to calculating 1 / (this^abs(n))
 	 * 
+	 * <p>Numbers made of {@code FloatValue}s are raised with {@link ComplexMath#pow(double, double, int, double[])}, and numbers made of 
+	 * fractions by repeated squaring, so the result stays exact. The symbolic form of real {@code ConstantValue}s is kept
+	 * 
 	 * @param n The power that this number is raised to
 	 * @return This number raised to the power of n
 	 */
 	public Number pow (int n)
 	{
-		return Number.fromPolar (new FloatValue (Math.pow (length(), n)), argument().multiply (new FractionValue (n, 1)));
+		ArithmeticContext context = ArithmeticContext.current();
+		Number base = inContext (this, context);
+		Value x = base.getX(), y = base.getY();
+
+		if (context == ArithmeticContext.FAST_DOUBLE || isFloat (x) && isFloat (y))
+		{
+			if (y.getDoubleValue() == 0)
+				return Number.real (Math.pow (x.getDoubleValue(), n));
+
+			double[] res = ComplexMath.pow (x.getDoubleValue(), y.getDoubleValue(), n, new double [2]);
+			return new Number (res[0], res[1]);
+		}
+
+		if (x instanceof ConstantValue || y instanceof ConstantValue)
+		{
+			if (isPureReal() && x instanceof ConstantValue c && c.getOperator() == Operators.POW)
+				return Number.real (c.pow (FractionValue.valueOf (n, 1)));
+
+			return Number.fromPolar (FloatValue.valueOf (Math.pow (length(), n)), argument().multiply (FractionValue.valueOf (n, 1)));
+		}
+
+		Number res = Number.real (FractionValue.ONE);
+		for (long k = Math.abs ((long) n); k != 0; k >>= 1)
+		{
+			if ((k & 1) != 0)
+				res = res.multiply (base);
+			if (k > 1)
+				base = base.multiply (base);
+		}
+
+		return n < 0 ? Number.real (FractionValue.ONE).divide (res) : res;
+	}
+
+	// a FloatValue, or a zero that has no exact form to keep
+	private static boolean isFloat (Value v)
+	{
+		return v instanceof FloatValue || v.getDoubleValue() == 0 && (v instanceof FractionValue || v instanceof ConstantValue);
 	}
 
 	/**
@@ -311,14 +355,11 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number pow (Number n)
 	{
+		if (ArithmeticContext.current() == ArithmeticContext.FAST_DOUBLE)
+			return fast (Operators.POW, this, n);
+
 		if (n.isPureReal())
-			if (n.getX().getDoubleValue() - (int) n.getX().getDoubleValue() == 0)
-				return pow ((int) n.getX().getDoubleValue());
-			else
-			{
-				FractionValue pow = new FloatValue(n.getX().getDoubleValue()).getFraction();
-				return pow(pow.getNumerator()).nthRoot(pow.getDenomenator()).get (0);
-			}
+			return pow (n.getX().getDoubleValue());
 		else
 			return Number.fromPolar
 			(
@@ -327,6 +368,26 @@ public class Number extends Point implements Cloneable
 			);
 	}
 
+	// the whole powers by pow (int), the other ones as the root of a power, and the exponents beyond the range of int, which have no
+	// fraction, with doubles
+	private Number pow (double d)
+	{
+		if (Math.abs (d) <= Integer.MAX_VALUE)
+		{
+			if (d == Math.rint (d))
+				return pow ((int) d);
+
+			FractionValue pow = FloatValue.valueOf (d).getFraction();
+			return pow.getDenomenator() == 1 ? pow (pow.getNumerator()) : pow (pow.getNumerator()).principalRoot (pow.getDenomenator());
+		}
+
+		if (isPureReal())
+			return Number.real (Math.pow (getX().getDoubleValue(), d));
+
+		double[] res = ComplexMath.pow (getX().getDoubleValue(), getY().getDoubleValue(), d, 0, new double [2]);
+		return new Number (res[0], res[1]);
+	}
+
 	/**
 	 * Returns all the nth roots of this number using complex numbers
 	 * 
@@ -334,69 +395,150 @@ public class Number extends Point implements Cloneable
 	 * 
 	 * @param n The order of the root
 	 * @return {@code ArrayList} containing the nth roots of the number
+	 * @see #principalRoot(int)
+	 * @see #roots(int)
 	 */
 	public ArrayList<Number> nthRoot (int n)
 	{
 		ArrayList<Number> roots = new ArrayList<>();
-		boolean isNegative = false;
+		for (Number root : roots (n))
+			roots.add (root);
 
-		if (n < 0)
-		{
-			isNegative = true;
-			n = - n;
-		}
-		
-		if (n == 1)
-		{
-			if (isNegative)
-				roots.add (Number.ONE.divide (this));
-			else
-				roots.add (clone());
-			return roots;
-		}
+		return roots;
+	}
 
-		Value r = null;
-		Double length = length();
+	/**
+	 * Gets the principal nth root of this number, i.e., the first of {@link #nthRoot(int)}, whose argument is the one of this number
+	 * divided by n, without computing the other roots
+	 * 
+	 * @param n The order of the root, negative values giving 1 / (principalRoot(this))
+	 * @return The principal nth root
+	 * @throws IllegalArgumentException if n is 0
+	 */
+	public Number principalRoot (int n)
+	{
+		return root (n, 0);
+	}
 
-		if (length == 0)
-			roots.add (Number.ZERO);
-		else
+	/**
+	 * Gets the nth roots of this number, in the order of {@link #nthRoot(int)}, each one being computed when the iteration reaches it
+	 * 
+	 * @param n The order of the roots, negative values giving the roots of 1 / this
+	 * @return The n roots, or 0 once if this number is 0
+	 * @throws IllegalArgumentException if n is 0
+	 */
+	public Iterable<Number> roots (int n)
+	{
+		if (n == 0)
+			throw new IllegalArgumentException ("The order of the root cannot be 0");
+
+		int count = length() == 0 && ArithmeticContext.current() != ArithmeticContext.FAST_DOUBLE ? 1 : Math.abs (n);
+		return () -> new Iterator<Number>()
 		{
-			double x = Math.exp (1.0 / n * Math.log (length));
-			if (x - (int) x != 0)
-				r = ConstantValue.pow (1, length, 0.5);
-			else
-				r = new FloatValue (x);
-			for (int i = 0; i < n; i++)
+			private int k;
+
+			@Override
+			public boolean hasNext ()
 			{
-				Number root = Number.fromPolar (r.clone(), ConstantValue.PI.multiply(new FloatValue (2.0)).multiply(new FractionValue (i, 1)).add(argument()).divide (new FractionValue (n, 1)));
-				if (isNegative)
-					root = Number.ONE.divide (root);
+				return k < count;
+			}
+
+			@Override
+			public Number next ()
+			{
+				if (k >= count)
+					throw new NoSuchElementException();
 
-				roots.add (root);
+				return root (n, k++);
 			}
+		};
+	}
+
+	// the kth nth root, |this|^(1/n) * e^(i * (arg + 2kπ) / n)
+	private Number root (int n, int k)
+	{
+		if (n == 0)
+			throw new IllegalArgumentException ("The order of the root cannot be 0");
+
+		if (ArithmeticContext.current() == ArithmeticContext.FAST_DOUBLE)
+		{
+			double[] root = ComplexMath.root (getX().getDoubleValue(), getY().getDoubleValue(), n, k, new double [2]);
+			return new Number (root[0], root[1]);
 		}
 
-		return roots;
+		int order = Math.abs (n);
+		if (order == 1)
+			return n < 0 ? Number.ONE.divide (this) : this;
+
+		double length = length();
+		if (length == 0)
+			return Number.ZERO;
+
+		double x = Math.exp (1.0 / order * Math.log (length));
+		Value r = x - (int) x != 0 ? ConstantValue.pow (1, length, 1.0 / order) : FloatValue.valueOf (x);
+
+		Value theta = argument();
+		if (k != 0)
+			theta = ConstantValue.PI.multiply(FloatValue.valueOf (2.0)).multiply(FractionValue.valueOf (k, 1)).add (theta);
+
+		Number root = Number.fromPolar (r, theta.divide (FractionValue.valueOf (order, 1)));
+		return n < 0 ? Number.ONE.divide (root) : root;
 	}
 
 	/**
-	 * Calculates the factorial of the closest long
+	 * Calculates the factorial of this number, i.e., Γ(this + 1)
+	 * 
+	 * <p>The factorials of the integers are read from the tables of {@link Gamma}. They are exact up to 20!, and for all the integers in
+	 * {@code ArithmeticContext.EXACT}, otherwise they are {@code double}s, infinite past 170!. The other numbers, including the complex
+	 * ones, use the Lanczos approximation of Γ
 	 * 
 	 * @return factorial of this number
 	 * 
-	 * @throws IllegalArgumentException if this number is complex or its real component is negative
+	 * @throws IllegalArgumentException if this number is a negative integer
+	 * @see Gamma
 	 */
 	public Number factorial ()
 	{
-		if (!isPureReal() || getX().compare (FractionValue.ZERO) == -1)
-			throw new IllegalArgumentException ("Factorial for imaginary numbers and negative numbers is not defined");
+		ArithmeticContext context = ArithmeticContext.current();
+		double x = getX().getDoubleValue();
+
+		if (!isPureReal() || x != Math.rint (x) || context == ArithmeticContext.FAST_DOUBLE)
+			return fast (Operators.FAC, this, null);
+
+		if (x < 0)
+			throw new IllegalArgumentException ("Factorial for negative integers is not defined");
 
-		long fact = 1, val = Math.round (getX().getDoubleValue());
-		for (long i = 2; i <= val; i++)
-			fact *= i;
+		if (x <= Gamma.MAX_LONG_FACTORIAL)
+			return Number.real (RationalValue.valueOf (Gamma.longFactorial ((int) x)).shrink());
 
-		return Number.real ((double) fact);
+		if (context == ArithmeticContext.EXACT && x <= Integer.MAX_VALUE)
+			return Number.real (RationalValue.valueOf (Gamma.factorial ((int) x), BigInteger.ONE));
+
+		return Number.real (Gamma.doubleFactorial ((int) Math.min (x, Integer.MAX_VALUE)));
+	}
+
+	/**
+	 * Calculates Γ(this), which is equal to (this - 1)! for the positive integers
+	 * 
+	 * @return Γ(this)
+	 * @throws IllegalArgumentException if this number is 0 or a negative integer, where Γ has poles
+	 * @see #factorial()
+	 */
+	public Number gamma ()
+	{
+		return subtract (Number.ONE).factorial();
+	}
+
+	/**
+	 * Calculates the logarithm of Γ(this), which stays finite far past the overflow of Γ. For the positive real numbers, it is the real
+	 * logarithm, and for the others, the logarithm given by {@link Gamma#lnGamma(double, double, double[])}
+	 * 
+	 * @return ln Γ(this)
+	 */
+	public Number lnGamma ()
+	{
+		double[] res = Gamma.lnGamma (getX().getDoubleValue(), getY().getDoubleValue(), new double [2]);
+		return new Number (res[0], res[1]);
 	}
 
 	/**
@@ -405,6 +547,9 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number ln ()
 	{
+		if (ArithmeticContext.current() == ArithmeticContext.FAST_DOUBLE)
+			return fast (Operators.LN, null, this);
+
 		return new Number (ConstantValue.ln (1, this.length()), this.argument());
 	}
 
@@ -414,7 +559,7 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number cos ()
 	{
-		return new Number (Math.cos (getX().getDoubleValue()) * Math.cosh (getY().getDoubleValue()), Math.sin (getX().getDoubleValue()) * Math.sinh (getY().getDoubleValue()));
+		return fast (Operators.COS, null, this);
 	}
 	
 	/**
@@ -423,7 +568,16 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number sin ()
 	{
-		return new Number (Math.sin (getX().getDoubleValue()) * Math.cosh (getY().getDoubleValue()), - Math.cos (getX().getDoubleValue()) * Math.sinh (getY().getDoubleValue()));
+		return fast (Operators.SIN, null, this);
+	}
+
+	/**
+	 * Gets the tangent with this number as its argument
+	 * @return tan (this)
+	 */
+	public Number tan ()
+	{
+		return fast (Operators.TAN, null, this);
 	}
 
 	/**
@@ -432,7 +586,7 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number cosh ()
 	{
-		return new Number (Math.cosh (getX().getDoubleValue()) * Math.cos (getY().getDoubleValue()), Math.sinh (getX().getDoubleValue()) * Math.sin (getY().getDoubleValue()));
+		return fast (Operators.COSH, null, this);
 	}
 	
 	/**
@@ -441,7 +595,16 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number sinh ()
 	{
-		return new Number (Math.sinh (getX().getDoubleValue()) * Math.cos (getY().getDoubleValue()), Math.cosh (getX().getDoubleValue()) * Math.sin (getY().getDoubleValue()));
+		return fast (Operators.SINH, null, this);
+	}
+
+	/**
+	 * Gets the hyperbolic tangent with this number as its argument
+	 * @return tanh (this)
+	 */
+	public Number tanh ()
+	{
+		return fast (Operators.TANH, null, this);
 	}
 	
 	/**
@@ -450,22 +613,7 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number acos ()
 	{
-		return Number.PI.multiply (Number.real (new FractionValue (1, 2))) // 1/2 * π 
-			.add
-			(
-				Number.I.multiply
-				(
-					this.multiply (Number.I) // iz
-					.add
-					(
-						// Number.ONE.subtract (this.pow (Number.real (2.0))) // 1 - z^2
-						// .pow (Number.real (0.5)) // ^(1/2)
-						Number.ONE.subtract (this.pow (2)) // 1 - z^2
-						.nthRoot(2).get(0) // ^(1/2)
-					)
-					.ln()
-				)
-			);
+		return fast (Operators.ACOS, null, this);
 	}
 	
 	/**
@@ -474,19 +622,16 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number asin ()
 	{
-		return Number.I.conjugate() // -i
-			.multiply 
-			(
-				this.multiply (Number.I) // iz
-				.add
-				(
-					// Number.ONE.subtract (this.pow (Number.real (2.0))) // 1 - z^2
-					// .pow (Number.real (0.5)) // ^(1/2)
-					Number.ONE.subtract (this.pow (2)) // 1 - z^2
-					.nthRoot(2).get (0) // ^(1/2)
-				)
-				.ln()
-			);
+		return fast (Operators.ASIN, null, this);
+	}
+
+	/**
+	 * Gets the inverse tangent with this number as its argument
+	 * @return atan (this), i.e., tan-1 (this)
+	 */
+	public Number atan ()
+	{
+		return fast (Operators.ATAN, null, this);
 	}
 
 	/**
@@ -495,7 +640,7 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number acosh ()
 	{
-		return new Number (Math.cosh (getX().getDoubleValue()) * Math.cos (getY().getDoubleValue()), Math.sinh (getX().getDoubleValue()) * Math.sin (getY().getDoubleValue()));
+		return fast (Operators.ACH, null, this);
 	}
 	
 	/**
@@ -504,7 +649,16 @@ public class Number extends Point implements Cloneable
 	 */
 	public Number asinh ()
 	{
-		return new Number (Math.sinh (getX().getDoubleValue()) * Math.cos (getY().getDoubleValue()), Math.cosh (getX().getDoubleValue()) * Math.sin (getY().getDoubleValue()));
+		return fast (Operators.ASH, null, this);
+	}
+
+	/**
+	 * Gets the inverse hyperbolic tangent with this number as its argument
+	 * @return atanh (this), i.e., tanh-1 (this)
+	 */
+	public Number atanh ()
+	{
+		return fast (Operators.ATH, null, this);
 	}
 
 	/**
@@ -534,6 +688,17 @@ public class Number extends Point implements Cloneable
 		return false;
 	}
 
+	/**
+	 * Gets a hash code combining those of both parts, equal to the one of the real part for the pure reals, like {@link #equals(Object)}.
+	 * It is subject to the same bucket boundaries as {@link Value#hashCode()}
+	 */
+	@Override
+	public int hashCode ()
+	{
+		// the bucket of 0 hashes to 0
+		return getX().hashCode() + 31 * getY().hashCode();
+	}
+
 	/**
 	 * Checks if the number is a pure real, i.e., its imaginary part is 0
 	 * 
@@ -567,79 +732,302 @@ public class Number extends Point implements Cloneable
 	/**
 	 * Gets the value from a {@code Node} if it represents a {@code Number}
 	 * 
+	 * <p>The tree is only read, so the same tree can be evaluated by several threads at the same time, as long as none of them modifies it,
+	 * e.g. after {@link Node#freeze()}
+	 * 
 	 * @param eq The {@code Node} to get its value
 	 * @param variables The mapping between all the potential variables in the tree to a value
 	 * @return The numerical value of the tree
 	 * @throws IllegalArgumentException if {@code variables} is null and there exist variables in the tree, or if no mapping between a variable in the tree to a {@code Number} is present in {@code variables}
+	 * @see ArithmeticContext
 	 */
 	public static Number valueOf (Node eq, HashMap<String, Number> variables)
 	{
-		Number leftRes = null, rightRes = null;
+		ArithmeticContext context = ArithmeticContext.current();
+		if (context == ArithmeticContext.FAST_DOUBLE)
+			return valueOf (eq, variables, Accuracy.FAITHFUL);
 
-		if (eq.getLeft() != null)
-			leftRes = valueOf (eq.getLeft(), variables);
+		return eq.accept
+		(
+			(node, leftRes, rightRes) ->
+			{
+				if (node instanceof VariableNode v)
+					return inContext (variable (v, variables), context);
+				// else if (node instanceof MatrixNode)
+				// 	throw new IllegalArgumentException ("The provided node contains a matrix. Use appropriate method");
+				else if (node instanceof NumberNode n)
+					return inContext (n.getValue(), context);
+				else if (node instanceof OperatorNode op)
+					return apply (op.getOperator(), leftRes, rightRes);
 
-		if (eq.getRight() != null)
-			rightRes = valueOf (eq.getRight(), variables);
+				return null;
+			}
+		);
+	}
 
-		if (eq instanceof VariableNode v)
-		{
-			if (variables == null || variables.get (v.getName()) == null)
-				throw new IllegalArgumentException ("The provided mapping of the variables to values is incomplete");
-			
-			return variables.get (v.getName());
-		}
-		// else if (eq instanceof MatrixNode)
-		// 	throw new IllegalArgumentException ("The provided node contains a matrix. Use appropriate method");
-		else if (eq instanceof NumberNode n)
-			return n.getValue();
-		else if (eq instanceof OperatorNode op)
-		{
-			switch (op.getOperator())
+	/**
+	 * Gets the value from a {@code Node} computed in the given arithmetic context, whatever the context bound to the current thread
+	 * 
+	 * @param eq The {@code Node} to get its value
+	 * @param variables The mapping between all the potential variables in the tree to a value
+	 * @param context The arithmetic of the computation
+	 * @return The numerical value of the tree
+	 * @throws IllegalArgumentException if the variables are missing as in {@link #valueOf(Node, HashMap)}
+	 */
+	public static Number valueOf (Node eq, HashMap<String, Number> variables, ArithmeticContext context)
+	{
+		return context.call (() -> valueOf (eq, variables));
+	}
+
+	private static Number variable (VariableNode v, HashMap<String, Number> variables)
+	{
+		if (variables == null || variables.get (v.getName()) == null)
+			throw new IllegalArgumentException ("The provided mapping of the variables to values is incomplete");
+
+		return variables.get (v.getName());
+	}
+
+	/**
+	 * Gets the value from a {@code Node} computed with {@code double}s, as in {@link ArithmeticContext#FAST_DOUBLE}, the elementary
+	 * functions being computed with the given accuracy
+	 * 
+	 * @param eq The {@code Node} to get its value
+	 * @param variables The mapping between all the potential variables in the tree to a value
+	 * @param accuracy The accuracy of the elementary functions
+	 * @return The numerical value of the tree
+	 * @throws IllegalArgumentException if the variables are missing as in {@link #valueOf(Node, HashMap)}
+	 */
+	public static Number valueOf (Node eq, HashMap<String, Number> variables, Accuracy accuracy)
+	{
+		// folds the tree on pairs of doubles, the result of an operator being written over the array of one of its operands
+		double[] res = eq.<double[]>accept
+		(
+			(node, leftRes, rightRes) ->
 			{
-				case ADD: return leftRes.add (rightRes);
-				case SUB: return leftRes.subtract (rightRes);
-				case MUL: return leftRes.multiply (rightRes);
-				case DIV: return leftRes.divide (rightRes);
-				case POW: 
-				if (!rightRes.isPureReal())
-					return null;
-				else
+				if (node instanceof VariableNode v)
 				{
-					FractionValue power = new FloatValue(rightRes.getX().getDoubleValue()).getFraction();
-					if (power.getDenomenator() == 1)
-						leftRes.pow ((int) rightRes.getX().getDoubleValue());
-					else
-						leftRes.pow(power.getNumerator()).nthRoot(power.getDenomenator()).get (0);
+					Number n = variable (v, variables);
+					return new double[] {n.getX().getDoubleValue(), n.getY().getDoubleValue()};
+				}
+				else if (node instanceof NumberNode n)
+					return new double[] {n.getValue().getX().getDoubleValue(), n.getValue().getY().getDoubleValue()};
+				else if (node instanceof OperatorNode op)
+				{
+					double[] out = leftRes != null ? leftRes : rightRes;
+					return ComplexMath.apply
+					(
+						op.getOperator(),
+						leftRes == null ? 0 : leftRes[0], leftRes == null ? 0 : leftRes[1],
+						rightRes == null ? 0 : rightRes[0], rightRes == null ? 0 : rightRes[1],
+						accuracy,
+						out == null ? new double [2] : out
+					);
 				}
-				case FAC: return leftRes.factorial();
-				case LN: return rightRes.ln();
-				case EXP: return Number.fromPolar (ConstantValue.exp (1, rightRes.getX().getDoubleValue()), rightRes.getY());
-				case ABS: return Number.real (leftRes.length());
-				case SIN: return rightRes.sin();
-				case COS: return rightRes.cos();
-				case TAN: return rightRes.sin().divide (rightRes.cos());
-				case ASIN: return rightRes.asin();
-				case ACOS: return rightRes.acos();
-				// case ATAN: return rightRes.divide(rightRes.pow(Number.real (2.0)).add (Number.ONE).pow (Number.real (new FractionValue (1, 2)))).asin();
-				case ATAN: return rightRes.divide(rightRes.pow(2).add (Number.ONE).nthRoot(2).get (0)).asin();
-				case SINH: return rightRes.sinh();
-				case COSH: return rightRes.cosh();
-				case TANH: return rightRes.sinh().divide (rightRes.cosh());
-				case ASH: return rightRes.asinh();
-				case ACH: return rightRes.acosh();
-				case ATH: return Number.real (0.5).multiply(Number.ONE.add(rightRes).divide(Number.ONE.subtract (rightRes)).ln());
-				default: return null;
+
+				return null;
+			}
+		);
+
+		return res == null ? null : new Number (res[0], res[1]);
+	}
+
+	/**
+	 * Gets the value of a tree computed with {@code BigDecimalValue}s, every operation being rounded to the precision of {@code context}
+	 * 
+	 * <p>The numbers of the tree and the values of the variables are converted with {@link BigDecimalValue#valueOf(Value, MathContext)}, 
+	 * and the components of the result are {@code BigDecimalValue}s
+	 * 
+	 * @param eq The {@code Node} to get its value
+	 * @param variables The mapping between all the potential variables in the tree to a value
+	 * @param context The precision of the computation, which cannot be unlimited
+	 * @return The numerical value of the tree
+	 * @throws IllegalArgumentException if the precision is unlimited, or if the variables are missing as in {@link #valueOf(Node, HashMap)}
+	 * @throws ArithmeticException if a result is not finite, e.g. ln(0)
+	 */
+	public static Number valueOf (Node eq, HashMap<String, Number> variables, MathContext context)
+	{
+		if (context.getPrecision() == 0)
+			throw new IllegalArgumentException ("The precision must be limited to compute irrational values");
+
+		BigDecimal[] res = eq.<BigDecimal[]>accept
+		(
+			(node, leftRes, rightRes) ->
+			{
+				if (node instanceof VariableNode v)
+					return toBigDecimals (variable (v, variables), context);
+				else if (node instanceof NumberNode n)
+					return toBigDecimals (n.getValue(), context);
+				else if (node instanceof OperatorNode op)
+					return BigMath.apply (op.getOperator(), leftRes, rightRes, context);
+
+				return null;
 			}
+		);
+
+		if (res == null)
+			return null;
+
+		return new Number (BigDecimalValue.valueOf (res[0], context), BigDecimalValue.valueOf (res[1], context));
+	}
+
+	private static BigDecimal[] toBigDecimals (Number n, MathContext context)
+	{
+		return new BigDecimal[] {BigDecimalValue.toBigDecimal (n.getX(), context), BigDecimalValue.toBigDecimal (n.getY(), context)};
+	}
+
+	/**
+	 * Applies an operator to already computed operands, as {@link #valueOf(Node, HashMap)} does for each {@code OperatorNode}
+	 * 
+	 * @param operator The operator to apply
+	 * @param leftRes The value of the left operand, {@code null} for operators that only take a right operand
+	 * @param rightRes The value of the right operand, {@code null} for {@code FAC}
+	 * @return The result of the operation, or {@code null} if it cannot be computed
+	 */
+	public static Number apply (Operators operator, Number leftRes, Number rightRes)
+	{
+		if (ArithmeticContext.current() == ArithmeticContext.FAST_DOUBLE)
+			return fast (operator, leftRes, rightRes);
+
+		switch (operator)
+		{
+			case ADD: return leftRes.add (rightRes);
+			case SUB: return leftRes.subtract (rightRes);
+			case MUL: return leftRes.multiply (rightRes);
+			case DIV: return leftRes.divide (rightRes);
+			case POW: 
+			if (!rightRes.isPureReal())
+				return null;
+			else
+				return leftRes.pow (rightRes.getX().getDoubleValue());
+			case FAC: return leftRes.factorial();
+			case LN: return rightRes.ln();
+			case EXP: return Number.fromPolar (ConstantValue.exp (1, rightRes.getX().getDoubleValue()), rightRes.getY());
+			case ABS: return Number.real (rightRes.length());
+			case SIN: return rightRes.sin();
+			case COS: return rightRes.cos();
+			case TAN: return rightRes.tan();
+			case ASIN: return rightRes.asin();
+			case ACOS: return rightRes.acos();
+			case ATAN: return rightRes.atan();
+			case SINH: return rightRes.sinh();
+			case COSH: return rightRes.cosh();
+			case TANH: return rightRes.tanh();
+			case ASH: return rightRes.asinh();
+			case ACH: return rightRes.acosh();
+			case ATH: return rightRes.atanh();
+			default: return null;
 		}
+	}
+
+	// applies an operator on the double values of the operands, for FAST_DOUBLE
+	private static Number fast (Operators operator, Number l, Number r)
+	{
+		double[] res = ComplexMath.apply
+		(
+			operator,
+			l == null ? 0 : l.getX().getDoubleValue(), l == null ? 0 : l.getY().getDoubleValue(),
+			r == null ? 0 : r.getX().getDoubleValue(), r == null ? 0 : r.getY().getDoubleValue(),
+			new double [2]
+		);
+
+		return res == null ? null : new Number (res[0], res[1]);
+	}
+
+	private static Number inContext (Number n, ArithmeticContext context)
+	{
+		return context == ArithmeticContext.EXACT ? exact (n) : n;
+	}
+
+	// reads the FloatValue components that are short decimals as fractions, for EXACT
+	private static Number exact (Number n)
+	{
+		Value x = exact (n.getX()), y = exact (n.getY());
+		return x == n.getX() && y == n.getY() ? n : new Number (x, y);
+	}
+
+	private static Value exact (Value v)
+	{
+		if (!(v instanceof FloatValue))
+			return v;
+
+		double d = v.getDoubleValue();
+		if (d == (int) d)
+			return FractionValue.valueOf ((int) d, 1);
+
+		BigDecimal decimal = BigDecimal.valueOf (d).stripTrailingZeros();
+		if (decimal.scale() > 9 || decimal.precision() > 18)
+			return v;
+
+		// whole numbers beyond the range of int, e.g. 1e10, have a negative scale
+		if (decimal.scale() <= 0)
+			return RationalValue.valueOf (decimal.toBigIntegerExact(), BigInteger.ONE).shrink();
+
+		return RationalValue.valueOf (decimal.unscaledValue().longValue(), BigInteger.TEN.pow (decimal.scale()).longValue()).shrink();
+	}
+
+	/**
+	 * Gets the real part of the number
+	 */
+	public Value getX ()
+	{
+		return this.x;
+	}
+
+	/**
+	 * Gets the imaginary part of the number
+	 */
+	public Value getY ()
+	{
+		return this.y;
+	}
 
-		return null;
+	@Override
+	public double distance (Graphable g)
+	{
+		return new Point (x, y).distance (g);
 	}
 
+	@Override
+	public double length ()
+	{
+		return Math.sqrt (x.pow (FractionValue.valueOf (2, 1)).add (y.pow (FractionValue.valueOf (2, 1))).getDoubleValue());
+	}
+
+	@Override
+	public Value argument ()
+	{
+		return new Point (x, y).argument();
+	}
+
+	/**
+	 * Gets the number whose real part is {@code x} and imaginary part is the one of this number
+	 * 
+	 * @param x The real part of the result
+	 * @return A new {@code Number}
+	 */
+	public Number withX (Value x)
+	{
+		return new Number (x, getY());
+	}
+
+	/**
+	 * Gets the number whose imaginary part is {@code y} and real part is the one of this number
+	 * 
+	 * @param y The imaginary part of the result
+	 * @return A new {@code Number}
+	 */
+	public Number withY (Value y)
+	{
+		return new Number (getX(), y);
+	}
+
+	/**
+	 * Returns this instance, as a {@code Number} cannot be modified
+	 */
 	@Override
 	public Number clone ()
 	{
-		return new Number (getX().clone(), getY().clone());
+		return this;
 	}
 
 	@Override
@@ -656,7 +1044,7 @@ public class Number extends Point implements Cloneable
 			if (getY().equals (FractionValue.ZERO))
 				s = FractionValue.ZERO.toString();
 			else 
-				s = y;
+				s = (getY().compare (FractionValue.ZERO) == -1 ? "-" : "") + y;
 		else
 			if (getY().equals (FractionValue.ZERO))
 				s = x;
@@ -0,0 +1,220 @@
+package com.AdvancedMath.Numbers;
+
+import java.util.HashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Map whose keys are {@code Number}s compared with the tolerance of {@link Number#equals(Object)}, e.g. to memoise the values of a
+ * function, to store the points of a curve or to remove the duplicates from computed roots. A {@code HashMap<Number, V>} misses the
+ * keys that are equal to the one looked up but were rounded differently, when they are on the other side of a bucket boundary
+ *
+ * <p>Each key is stored in the cell of the buckets of its real and imaginary parts, see {@link Value#hashCode()}. A lookup probes
+ * the cell of the key and its 8 neighbours, which contain every key equal to it, so it costs a constant number of hash lookups.
+ * When several stored keys are equal to the one looked up, as the tolerance is not transitive, the one of its own cell is found first
+ *
+ * <p>A {@code NumberIndex} is not thread-safe
+ *
+ * @param <V> The type of the values
+ */
+public class NumberIndex<V>
+{
+	private final HashMap<Long, Entry<V>> cells = new HashMap<>();
+	private int size;
+
+	private static final class Entry<V>
+	{
+		private final Number key;
+		private V value;
+		private Entry<V> next;
+
+		private Entry (Number key, V value, Entry<V> next)
+		{
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+	}
+
+	private static long cell (long re, long im)
+	{
+		return re * 0x9E3779B97F4A7C15L + im;
+	}
+
+	private static long cell (Number key)
+	{
+		return cell (Value.bucket (key.getX().getDoubleValue()), Value.bucket (key.getY().getDoubleValue()));
+	}
+
+	// the stored entry whose key is equal to key, looking in its own cell first
+	private Entry<V> find (Number key)
+	{
+		long re = Value.bucket (key.getX().getDoubleValue()), im = Value.bucket (key.getY().getDoubleValue());
+
+		Entry<V> e = find (cell (re, im), key);
+		for (int i = -1; e == null && i <= 1; i++)
+			for (int j = -1; e == null && j <= 1; j++)
+				if (i != 0 || j != 0)
+					e = find (cell (re + i, im + j), key);
+
+		return e;
+	}
+
+	private Entry<V> find (long cell, Number key)
+	{
+		for (Entry<V> e = cells.get (cell); e != null; e = e.next)
+			if (e.key.equals (key))
+				return e;
+
+		return null;
+	}
+
+	/**
+	 * Gets the value of the key equal to {@code key}
+	 *
+	 * @param key The key to look up
+	 * @return The value, or {@code null} if no key is equal to {@code key}
+	 */
+	public V get (Number key)
+	{
+		Entry<V> e = find (key);
+		return e == null ? null : e.value;
+	}
+
+	/**
+	 * Gets the stored key equal to {@code key}, e.g. to replace the roots that differ by a rounding error by a single one
+	 *
+	 * @param key The key to look up
+	 * @return The stored key, or {@code null} if no key is equal to {@code key}
+	 */
+	public Number getKey (Number key)
+	{
+		Entry<V> e = find (key);
+		return e == null ? null : e.key;
+	}
+
+	public boolean containsKey (Number key)
+	{
+		return find (key) != null;
+	}
+
+	/**
+	 * Associates {@code value} with {@code key}. If a key equal to {@code key} is already stored, its value is replaced and the
+	 * stored key is kept
+	 *
+	 * @param key The key
+	 * @param value The value
+	 * @return The previous value, or {@code null} if no key was equal to {@code key}
+	 */
+	public V put (Number key, V value)
+	{
+		Entry<V> e = find (key);
+		if (e != null)
+		{
+			V previous = e.value;
+			e.value = value;
+			return previous;
+		}
+
+		add (key, value);
+		return null;
+	}
+
+	private void add (Number key, V value)
+	{
+		long cell = cell (key);
+		cells.put (cell, new Entry<> (key, value, cells.get (cell)));
+		size++;
+	}
+
+	/**
+	 * Associates {@code value} with {@code key} if no key equal to {@code key} is stored
+	 *
+	 * @return The current value of the key equal to {@code key}, or {@code null} if value was added
+	 */
+	public V putIfAbsent (Number key, V value)
+	{
+		Entry<V> e = find (key);
+		if (e != null)
+			return e.value;
+
+		add (key, value);
+		return null;
+	}
+
+	/**
+	 * Gets the value of the key equal to {@code key}, computing and storing it if there is none, e.g. to memoise a function
+	 *
+	 * @param key The key
+	 * @param mapping The function computing the value from {@code key}
+	 * @return The value of the key equal to {@code key}
+	 */
+	public V computeIfAbsent (Number key, Function<Number, V> mapping)
+	{
+		Entry<V> e = find (key);
+		if (e != null)
+			return e.value;
+
+		V value = mapping.apply (key);
+		add (key, value);
+		return value;
+	}
+
+	/**
+	 * Removes the key equal to {@code key}
+	 *
+	 * @return The value of the removed key, or {@code null} if no key was equal to {@code key}
+	 */
+	public V remove (Number key)
+	{
+		Entry<V> e = find (key);
+		if (e == null)
+			return null;
+
+		long cell = cell (e.key);
+		Entry<V> first = cells.get (cell);
+		if (first == e)
+		{
+			if (e.next == null)
+				cells.remove (cell);
+			else
+				cells.put (cell, e.next);
+		}
+		else
+		{
+			Entry<V> previous = first;
+			while (previous.next != e)
+				previous = previous.next;
+			previous.next = e.next;
+		}
+
+		size--;
+		return e.value;
+	}
+
+	public int size ()
+	{
+		return size;
+	}
+
+	public boolean isEmpty ()
+	{
+		return size == 0;
+	}
+
+	public void clear ()
+	{
+		cells.clear();
+		size = 0;
+	}
+
+	/**
+	 * Calls {@code action} on each key and its value, in no particular order
+	 */
+	public void forEach (BiConsumer<Number, V> action)
+	{
+		for (Entry<V> first : cells.values())
+			for (Entry<V> e = first; e != null; e = e.next)
+				action.accept (e.key, e.value);
+	}
+}
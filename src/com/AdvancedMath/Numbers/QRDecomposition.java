@@ -0,0 +1,218 @@
+package com.AdvancedMath.Numbers;
+
+/**
+ * QR decomposition of a {@code DoubleMatrix} of m rows and n columns, m &ge; n, by Householder reflections, A = Q x R, where Q has
+ * orthonormal columns and R is upper triangular. It solves the systems A x X = B in the least squares sense, i.e., X minimises
+ * ||A x X - B||, without forming the normal equations transpose (A) x A, whose condition number is the square of that of A
+ *
+ * <p>The matrix is rank deficient when an element of the diagonal of R is below m * 2^-52 times the largest one
+ *
+ * @see DoubleMatrix#qr()
+ */
+public final class QRDecomposition
+{
+	private static final double EPSILON = Math.ulp (1.0);
+
+	private final int m, n;
+	// the Householder vectors on and below the diagonal, and R above it
+	private final double[] qr;
+	private final double[] rDiagonal;
+
+	/**
+	 * Decomposes {@code a}, in O(m n^2)
+	 *
+	 * @param a The matrix to decompose
+	 * @throws IllegalArgumentException if a has fewer rows than columns
+	 */
+	public QRDecomposition (DoubleMatrix a)
+	{
+		m = a.getRowCount();
+		n = a.getColCount();
+		if (m < n)
+			throw new IllegalArgumentException ("The matrix must have at least as many rows as columns");
+
+		qr = a.getData().clone();
+		rDiagonal = new double [n];
+		double[] s = new double [n];
+
+		for (int k = 0; k < n; k++)
+		{
+			double norm = columnNorm (k);
+			if (norm != 0)
+			{
+				// the reflection sends the column to -sign (a_kk) ||column|| e_k, without a cancellation
+				if (qr[k * n + k] < 0)
+					norm = - norm;
+				for (int i = k; i < m; i++)
+					qr[i * n + k] /= norm;
+				qr[k * n + k] += 1;
+
+				// the other columns are reflected row by row, as the elements of a column are n apart
+				for (int j = k + 1; j < n; j++)
+					s[j] = 0;
+				for (int i = k; i < m; i++)
+				{
+					double v = qr[i * n + k];
+					for (int j = k + 1; j < n; j++)
+						s[j] += v * qr[i * n + j];
+				}
+				for (int j = k + 1; j < n; j++)
+					s[j] = - s[j] / qr[k * n + k];
+				for (int i = k; i < m; i++)
+				{
+					double v = qr[i * n + k];
+					for (int j = k + 1; j < n; j++)
+						qr[i * n + j] += s[j] * v;
+				}
+			}
+			rDiagonal[k] = - norm;
+		}
+	}
+
+	// the 2-norm of column k from row k, scaled by its largest element so that the squares neither overflow nor underflow
+	private double columnNorm (int k)
+	{
+		double max = 0;
+		for (int i = k; i < m; i++)
+			max = Math.max (max, Math.abs (qr[i * n + k]));
+		if (max == 0)
+			return 0;
+
+		double sum = 0;
+		for (int i = k; i < m; i++)
+		{
+			double d = qr[i * n + k] / max;
+			sum += d * d;
+		}
+
+		return max * Math.sqrt (sum);
+	}
+
+	/**
+	 * Checks if the columns of the matrix are linearly independent, to the precision of {@code double}
+	 *
+	 * @return {@code false} if an element of the diagonal of R is below m * 2^-52 times the largest one
+	 */
+	public boolean isFullRank ()
+	{
+		double max = 0;
+		for (double d : rDiagonal)
+			max = Math.max (max, Math.abs (d));
+
+		for (double d : rDiagonal)
+			if (Math.abs (d) <= m * EPSILON * max)
+				return false;
+
+		return max != 0;
+	}
+
+	/**
+	 * Gets the upper triangular factor R, of n rows and n columns
+	 */
+	public DoubleMatrix getR ()
+	{
+		DoubleMatrix r = new DoubleMatrix (n, n);
+		for (int i = 0; i < n; i++)
+		{
+			r.setValueAt (i, i, rDiagonal[i]);
+			for (int j = i + 1; j < n; j++)
+				r.setValueAt (i, j, qr[i * n + j]);
+		}
+
+		return r;
+	}
+
+	/**
+	 * Gets the factor Q, of m rows and n orthonormal columns
+	 */
+	public DoubleMatrix getQ ()
+	{
+		double[] q = new double [m * n];
+		for (int i = 0; i < n; i++)
+			q[i * n + i] = 1;
+
+		// Q = H_0 x H_1 x ... x H_n-1 x the first n columns of I, the last reflection applied first
+		for (int k = n - 1; k >= 0; k--)
+			reflect (k, q, n);
+
+		return DoubleMatrix.wrap (m, n, q);
+	}
+
+	// applies the reflection k to the columns of x, of m rows and cols columns
+	private void reflect (int k, double[] x, int cols)
+	{
+		double d = qr[k * n + k];
+		if (d == 0)
+			return;
+
+		double[] s = new double [cols];
+		for (int i = k; i < m; i++)
+		{
+			double v = qr[i * n + k];
+			for (int j = 0; j < cols; j++)
+				s[j] += v * x[i * cols + j];
+		}
+		for (int j = 0; j < cols; j++)
+			s[j] = - s[j] / d;
+		for (int i = k; i < m; i++)
+		{
+			double v = qr[i * n + k];
+			for (int j = 0; j < cols; j++)
+				x[i * cols + j] += s[j] * v;
+		}
+	}
+
+	/**
+	 * Solves A x X = B in the least squares sense, or exactly if A is square
+	 *
+	 * @param b The right hand side, with as many rows as A
+	 * @return X, of n rows and as many columns as b
+	 * @throws IllegalArgumentException if b doesn't have as many rows as A, or if A is rank deficient
+	 * @see #isFullRank()
+	 */
+	public DoubleMatrix solve (DoubleMatrix b)
+	{
+		if (b.getRowCount() != m)
+			throw new IllegalArgumentException ("The right hand side must have as many rows as the matrix");
+		if (!isFullRank())
+			throw new IllegalArgumentException ("Math error: The matrix is rank deficient");
+
+		int cols = b.getColCount();
+		double[] y = b.getData().clone();
+
+		// transpose (Q) x B, then R x X = the first n rows
+		for (int k = 0; k < n; k++)
+			reflect (k, y, cols);
+
+		double[] x = new double [n * cols];
+		System.arraycopy (y, 0, x, 0, n * cols);
+		for (int k = n - 1; k >= 0; k--)
+		{
+			for (int j = 0; j < cols; j++)
+				x[k * cols + j] /= rDiagonal[k];
+
+			for (int i = 0; i < k; i++)
+			{
+				double f = qr[i * n + k];
+				if (f != 0)
+					for (int j = 0; j < cols; j++)
+						x[i * cols + j] -= f * x[k * cols + j];
+			}
+		}
+
+		return DoubleMatrix.wrap (n, cols, x);
+	}
+
+	/**
+	 * Computes the inverse of a square matrix, by solving A x X = I
+	 *
+	 * @throws IllegalArgumentException if the matrix is not square or is rank deficient
+	 */
+	public DoubleMatrix inverse ()
+	{
+		if (m != n)
+			throw new IllegalArgumentException ("Only square matrices can be inverted");
+
+		return solve (DoubleMatrix.identity (n));
+	}
+}
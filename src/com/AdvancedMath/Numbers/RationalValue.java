@@ -0,0 +1,357 @@
+package com.AdvancedMath.Numbers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import com.AdvancedMath.Functionalities.Operations;
+
+/**
+ * Class that represents an exact fraction of any size. The numerator and the denominator are held in {@code long}s while they fit,
+ * and in {@code BigInteger}s once an operation overflows. The fraction is always irreducible, with a positive denominator
+ *
+ * @see FractionValue
+ */
+public final class RationalValue extends Value
+{
+	public static final RationalValue ZERO = new RationalValue (0, 1), ONE = new RationalValue (1, 1);
+
+	// used while both parts fit in a long
+	private final long num, denom;
+	// null while both parts fit in a long
+	private final BigInteger bigNum, bigDenom;
+
+	private RationalValue (long num, long denom)
+	{
+		this.num = num;
+		this.denom = denom;
+		this.bigNum = this.bigDenom = null;
+	}
+
+	private RationalValue (BigInteger num, BigInteger denom)
+	{
+		this.num = this.denom = 0;
+		this.bigNum = num;
+		this.bigDenom = denom;
+	}
+
+	/**
+	 * Gets the irreducible fraction num/denom
+	 *
+	 * @param num The numerator
+	 * @param denom The denominator
+	 * @return The {@code RationalValue} equal to num/denom
+	 * @throws IllegalArgumentException if the denominator is 0
+	 */
+	public static RationalValue valueOf (long num, long denom)
+	{
+		if (denom == 0)
+			throw new IllegalArgumentException ("Denominator cannot be 0");
+
+		if (num == 0)
+			return ZERO;
+
+		// the gcd is only negative when both parts are Long.MIN_VALUE
+		long gcd = Operations.gcd (num, denom);
+		if (gcd < 0)
+			return valueOf (BigInteger.valueOf (num), BigInteger.valueOf (denom));
+
+		num /= gcd;
+		denom /= gcd;
+
+		if (denom < 0)
+		{
+			if (num == Long.MIN_VALUE || denom == Long.MIN_VALUE)
+				return valueOf (BigInteger.valueOf (num), BigInteger.valueOf (denom));
+
+			num = - num;
+			denom = - denom;
+		}
+
+		return num == 1 && denom == 1 ? ONE : new RationalValue (num, denom);
+	}
+
+	/**
+	 * Gets the integer n as a fraction
+	 */
+	public static RationalValue valueOf (long n)
+	{
+		return valueOf (n, 1);
+	}
+
+	/**
+	 * Gets the irreducible fraction num/denom. The result uses {@code long}s if they can hold it
+	 *
+	 * @param num The numerator
+	 * @param denom The denominator
+	 * @return The {@code RationalValue} equal to num/denom
+	 * @throws IllegalArgumentException if the denominator is 0
+	 */
+	public static RationalValue valueOf (BigInteger num, BigInteger denom)
+	{
+		if (denom.signum() == 0)
+			throw new IllegalArgumentException ("Denominator cannot be 0");
+
+		BigInteger gcd = num.gcd (denom);
+		if (denom.signum() < 0)
+			gcd = gcd.negate();
+
+		if (!gcd.equals (BigInteger.ONE))
+		{
+			num = num.divide (gcd);
+			denom = denom.divide (gcd);
+		}
+
+		if (num.bitLength() < Long.SIZE && denom.bitLength() < Long.SIZE)
+			return valueOf (num.longValue(), denom.longValue());
+
+		return new RationalValue (num, denom);
+	}
+
+	/**
+	 * Gets the exact {@code RationalValue} of a {@code FractionValue} or a {@code RationalValue}
+	 *
+	 * @param v The value to convert
+	 * @return The equal {@code RationalValue}, or {@code null} if {@code v} is neither a {@code FractionValue} nor a {@code RationalValue}
+	 */
+	public static RationalValue fromValue (Value v)
+	{
+		if (v instanceof RationalValue r)
+			return r;
+
+		if (v instanceof FractionValue f)
+			return valueOf (f.getNumerator(), f.getDenomenator());
+
+		return null;
+	}
+
+	private boolean isBig ()
+	{
+		return bigNum != null;
+	}
+
+	public BigInteger getNumerator ()
+	{
+		return isBig() ? bigNum : BigInteger.valueOf (num);
+	}
+
+	public BigInteger getDenominator ()
+	{
+		return isBig() ? bigDenom : BigInteger.valueOf (denom);
+	}
+
+	/**
+	 * Checks if the numerator and the denominator are held in {@code long}s
+	 *
+	 * @return {@code true} if both parts fit in a {@code long}, {@code false} if they are held in {@code BigInteger}s
+	 */
+	public boolean fitsInLong ()
+	{
+		return !isBig();
+	}
+
+	public boolean isInteger ()
+	{
+		return isBig() ? bigDenom.equals (BigInteger.ONE) : denom == 1;
+	}
+
+	public int signum ()
+	{
+		return isBig() ? bigNum.signum() : Long.signum (num);
+	}
+
+	/**
+	 * Gets the {@code FractionValue} equal to this value if its parts fit in an {@code int}, or this value otherwise
+	 *
+	 * @return The smallest representation of this fraction
+	 */
+	public Value shrink ()
+	{
+		if (!isBig() && num == (int) num && denom == (int) denom)
+			return FractionValue.valueOf ((int) num, (int) denom);
+
+		return this;
+	}
+
+	/**
+	 * @return A {@code RationalValue} equal to this + v if {@code v} is a fraction, a {@code FloatValue} otherwise
+	 */
+	@Override
+	public Value add (Value v)
+	{
+		RationalValue r = fromValue (v);
+		if (r == null)
+			return FloatValue.valueOf (getDoubleValue() + v.getDoubleValue());
+
+		if (!isBig() && !r.isBig())
+		{
+			try
+			{
+				// a/b + c/d = (a*(d/g) + c*(b/g)) / (b*(d/g)) with g = gcd(b, d), which keeps the intermediate products small
+				long g = Operations.gcd (denom, r.denom), thisScale = r.denom / g, rScale = denom / g;
+				return valueOf (Math.addExact (Math.multiplyExact (num, thisScale), Math.multiplyExact (r.num, rScale)), Math.multiplyExact (denom, thisScale));
+			}
+			catch (ArithmeticException e) {}
+		}
+
+		return valueOf (getNumerator().multiply (r.getDenominator()).add (r.getNumerator().multiply (getDenominator())), getDenominator().multiply (r.getDenominator()));
+	}
+
+	/**
+	 * @return A {@code RationalValue} equal to this - v if {@code v} is a fraction, a {@code FloatValue} otherwise
+	 */
+	@Override
+	public Value subtract (Value v)
+	{
+		RationalValue r = fromValue (v);
+		if (r == null)
+			return FloatValue.valueOf (getDoubleValue() - v.getDoubleValue());
+
+		return add (r.negateCopy());
+	}
+
+	/**
+	 * @return A {@code RationalValue} equal to this * v if {@code v} is a fraction, a {@code FloatValue} otherwise
+	 */
+	@Override
+	public Value multiply (Value v)
+	{
+		RationalValue r = fromValue (v);
+		if (r == null)
+			return FloatValue.valueOf (getDoubleValue() * v.getDoubleValue());
+
+		if (!isBig() && !r.isBig())
+		{
+			try
+			{
+				// cross reduce first, so the result is already irreducible
+				long g1 = Operations.gcd (num, r.denom), g2 = Operations.gcd (r.num, denom);
+				if (g1 > 0 && g2 > 0)
+					return valueOf (Math.multiplyExact (num / g1, r.num / g2), Math.multiplyExact (denom / g2, r.denom / g1));
+			}
+			catch (ArithmeticException e) {}
+		}
+
+		return valueOf (getNumerator().multiply (r.getNumerator()), getDenominator().multiply (r.getDenominator()));
+	}
+
+	/**
+	 * @return A {@code RationalValue} equal to this / v if {@code v} is a fraction, a {@code FloatValue} otherwise
+	 * @throws ArithmeticException if {@code v} is 0
+	 */
+	@Override
+	public Value divide (Value v)
+	{
+		RationalValue r = fromValue (v);
+		if (r == null)
+			return FloatValue.valueOf (getDoubleValue() / v.getDoubleValue());
+
+		return multiply (r.inverse());
+	}
+
+	/**
+	 * Gets 1 / this
+	 *
+	 * @return The inverse of this fraction
+	 * @throws ArithmeticException if this value is 0
+	 */
+	public RationalValue inverse ()
+	{
+		if (signum() == 0)
+			throw new ArithmeticException ("Cannot divide by zero");
+
+		if (!isBig())
+			return valueOf (denom, num);
+
+		return valueOf (bigDenom, bigNum);
+	}
+
+	/**
+	 * Raises this value to the power of {@code v}. The result is exact if {@code v} is an integer
+	 *
+	 * @return A {@code RationalValue} if {@code v} is an integer, a {@code FloatValue} otherwise
+	 */
+	@Override
+	public Value pow (Value v)
+	{
+		RationalValue r = fromValue (v);
+		double d = v.getDoubleValue();
+
+		if (r != null && r.isInteger() && r.fitsInLong() && Math.abs (r.num) <= Integer.MAX_VALUE)
+			return pow ((int) r.num);
+
+		if (r == null && d == Math.rint (d) && Math.abs (d) <= Integer.MAX_VALUE)
+			return pow ((int) d);
+
+		return FloatValue.valueOf (Math.pow (getDoubleValue(), d));
+	}
+
+	/**
+	 * Raises this value to an integer power
+	 *
+	 * @param n The exponent
+	 * @return this^n
+	 * @throws ArithmeticException if this value is 0 and n is negative
+	 */
+	public RationalValue pow (int n)
+	{
+		// - Integer.MIN_VALUE overflows back to itself
+		if (n == Integer.MIN_VALUE)
+			return (RationalValue) inverse().pow (Integer.MAX_VALUE).multiply (inverse());
+		if (n < 0)
+			return inverse().pow (- n);
+
+		// an irreducible fraction stays irreducible when raised to a power
+		BigInteger numPow = getNumerator().pow (n), denomPow = getDenominator().pow (n);
+		if (numPow.bitLength() < Long.SIZE && denomPow.bitLength() < Long.SIZE)
+			return new RationalValue (numPow.longValue(), denomPow.longValue());
+
+		return new RationalValue (numPow, denomPow);
+	}
+
+	@Override
+	public int compare (Value v)
+	{
+		RationalValue r = fromValue (v);
+		if (r == null)
+			return super.compare (v);
+
+		if (!isBig() && !r.isBig())
+		{
+			try
+			{
+				return Long.signum (Long.compare (Math.multiplyExact (num, r.denom), Math.multiplyExact (r.num, denom)));
+			}
+			catch (ArithmeticException e) {}
+		}
+
+		return getNumerator().multiply (r.getDenominator()).compareTo (r.getNumerator().multiply (getDenominator()));
+	}
+
+	@Override
+	public double getDoubleValue ()
+	{
+		if (!isBig())
+			return (double) num / denom;
+
+		return new BigDecimal (bigNum).divide (new BigDecimal (bigDenom), MathContext.DECIMAL64).doubleValue();
+	}
+
+	@Override
+	public RationalValue negateCopy ()
+	{
+		if (!isBig() && num != Long.MIN_VALUE)
+			return new RationalValue (- num, denom);
+
+		return valueOf (getNumerator().negate(), getDenominator());
+	}
+
+	@Override
+	public String toString ()
+	{
+		if (isInteger())
+			return getNumerator().toString();
+
+		return isBig() ? bigNum + "/" + bigDenom : num + "/" + denom;
+	}
+}
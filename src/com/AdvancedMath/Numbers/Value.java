@@ -1,12 +1,12 @@
 package com.AdvancedMath.Numbers;
 
+/**
+ * Class that represents a real value. The values of this package are immutable, final classes with final fields: the operations
+ * return new values, so the values, and the {@code Number}s and frozen trees that hold them, can be shared between threads without
+ * copying nor locking
+ */
 public abstract class Value implements Cloneable
 {
-	/**
-	 * Sets the value to the opposite of the current one. If the current value is positive, it becomes negative and vice versa.
-	 */
-	public abstract void negate ();
-
 	/**
 	 * Returns the opposite value of the current one without modifying the original.
 	 * 
@@ -18,8 +18,15 @@ public abstract class Value implements Cloneable
 	public abstract Value multiply (Value v);
 	public abstract Value divide (Value v);
 	public abstract Value pow (Value v);
+
+	/**
+	 * Returns this instance, as a {@code Value} cannot be modified
+	 */
 	@Override
-	public abstract Value clone ();
+	public Value clone ()
+	{
+		return this;
+	}
 
 	/**
 	 * Gets the {@code double} that this {@code Value} represents
@@ -45,9 +52,10 @@ public abstract class Value implements Cloneable
 		if (this == v)
 			return 0;
 
-		if (this.getDoubleValue() > v.getDoubleValue())
+		double a = this.getDoubleValue(), b = v.getDoubleValue();
+		if (a > b)
 			return 1;
-		else if (this.getDoubleValue() < v.getDoubleValue())
+		else if (a < b)
 			return -1;
 		return 0;
 	}
@@ -72,7 +80,33 @@ public abstract class Value implements Cloneable
 		if (this == o)
 			return true;
 
-		return this.getDoubleValue() == v.getDoubleValue() || Math.abs ((this.getDoubleValue() - v.getDoubleValue()) / this.getDoubleValue()) * 100 < 0.00001;
+		double a = this.getDoubleValue(), b = v.getDoubleValue();
+		return a == b || Math.abs ((a - b) / a) * 100 < 0.00001;
+	}
+
+	/**
+	 * Gets a hash code that is compatible with the tolerance of {@link #equals(Object)} for most values: the {@code double} value
+	 * is quantised in buckets about 5e-7 wide relative to it, so two equal values are in the same bucket or in adjacent ones.
+	 * Two equal values on each side of a bucket boundary have different hash codes, so the {@code Value}s and {@code Number}s that
+	 * are computed rather than copied should be looked up in a {@link NumberIndex}, which also probes the neighbouring buckets
+	 * 
+	 * @return The hash code of the bucket of this value
+	 */
+	@Override
+	public int hashCode ()
+	{
+		return Long.hashCode (bucket (getDoubleValue()));
+	}
+
+	/**
+	 * Gets the bucket of d, the value of its sign, exponent and 21 highest bits of mantissa. A bucket is 2^-21 wide relative to the
+	 * power of 2 below d, which is more than twice the relative tolerance of equals, and consecutive buckets have consecutive numbers,
+	 * including across the powers of 2
+	 */
+	static long bucket (double d)
+	{
+		// -0.0 is equal to 0.0
+		return Double.doubleToLongBits (d == 0 ? 0.0 : d) >> 31;
 	}
 
 	/**
@@ -83,11 +117,11 @@ public abstract class Value implements Cloneable
 	 */
 	protected String formatNumber (double d)
 	{
+		// the decimal part is 0 only when it is written .0, possibly followed by an exponent, e.g. 1.0E20
 		String nb = String.valueOf (d);
-		if (nb.indexOf (".") > -1)
-			if (Long.valueOf (nb.split("\\.")[1]) == 0)
-				nb = nb.split("\\.")[0];
+		if (nb.endsWith (".0"))
+			return nb.substring (0, nb.length() - 2);
 
-		return nb;
+		return nb.replace (".0E", "E");
 	}
 }